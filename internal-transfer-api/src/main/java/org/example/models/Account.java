@@ -12,8 +12,6 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @NoArgsConstructor
 public class Account {
-    private Long id;
-
     private Long accountId;
 
     private BigDecimal balance;
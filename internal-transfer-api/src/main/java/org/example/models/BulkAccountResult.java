@@ -0,0 +1,35 @@
+package org.example.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class BulkAccountResult {
+    private long created;
+
+    /**
+     * Items that were not created, in input order.
+     */
+    private List<Failure> failures = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Failure {
+        /**
+         * Zero-based position of the item in the input.
+         */
+        private long index;
+
+        private Long accountId;
+
+        private String code;
+
+        private String message;
+    }
+}
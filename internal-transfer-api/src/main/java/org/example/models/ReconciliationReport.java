@@ -0,0 +1,61 @@
+package org.example.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ReconciliationReport {
+    private long accountsChecked;
+
+    /**
+     * Number of account id ranges the accounts were split into and verified in parallel.
+     */
+    private int ranges;
+
+    /**
+     * Sum of every account's balance, stripes included.
+     */
+    private BigDecimal totalBalance = BigDecimal.ZERO;
+
+    /**
+     * Sum of every account's initial balance, which {@link #totalBalance} must equal.
+     */
+    private BigDecimal totalInitialBalance = BigDecimal.ZERO;
+
+    /**
+     * Number of accounts whose balance does not match their transactions, including any
+     * left out of {@link #mismatches}.
+     */
+    private long mismatchCount;
+
+    /**
+     * Mismatched accounts in ascending account id order, up to the configured number.
+     */
+    private List<Mismatch> mismatches = new ArrayList<>();
+
+    private long elapsedMillis;
+
+    public boolean isConsistent() {
+        return mismatchCount == 0 && totalBalance.compareTo(totalInitialBalance) == 0;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Mismatch {
+        private long accountId;
+
+        private BigDecimal balance;
+
+        /**
+         * Initial balance plus successful transfers received minus successful transfers sent.
+         */
+        private BigDecimal expectedBalance;
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.models;
+
+import java.util.function.Consumer;
+
+/**
+ * An account statement that is read as it is consumed, oldest transfer first.
+ */
+@FunctionalInterface
+public interface Statement {
+    void forEachLine(Consumer<StatementLine> action);
+}
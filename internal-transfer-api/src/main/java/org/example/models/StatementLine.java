@@ -0,0 +1,22 @@
+package org.example.models;
+
+import org.example.entities.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One transfer on an account statement.
+ *
+ * @param runningBalance net amount the account gained through the successful transfers of the
+ *                       statement up to and including this one
+ */
+public record StatementLine(long id,
+                            Long transferId,
+                            LocalDateTime timestamp,
+                            long sourceAccountId,
+                            long destinationAccountId,
+                            BigDecimal amount,
+                            TransactionStatus status,
+                            BigDecimal runningBalance) {
+}
@@ -4,7 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.resource.transaction.spi.TransactionStatus;
+import org.example.entities.TransactionStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -17,6 +17,8 @@ public class Transaction {
 
     private Long id;
 
+    private Long transferId;
+
     private Long sourceAccountId;
 
     private Long destinationAccountId;
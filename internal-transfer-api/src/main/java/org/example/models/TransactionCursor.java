@@ -0,0 +1,14 @@
+package org.example.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position in an account's transaction history, which is ordered newest first by
+ * {@code (timestamp, id)}. A page continues with the transactions strictly before it.
+ */
+public record TransactionCursor(LocalDateTime timestamp, long id) {
+
+    public static TransactionCursor of(Transaction transaction) {
+        return new TransactionCursor(transaction.getTimestamp(), transaction.getId());
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionHistoryPage {
+    /**
+     * Transactions sent or received by the account, newest first.
+     */
+    private List<Transaction> transactions;
+
+    /**
+     * Where the next page starts, or null if this is the last page.
+     */
+    private TransactionCursor nextCursor;
+}
@@ -0,0 +1,39 @@
+package org.example.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What became of one transfer applied as part of a group.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransferOutcome {
+    private boolean applied;
+
+    /**
+     * Error code of a rejected transfer, or {@code null} if it was applied or failed for a
+     * reason other than the transfer itself.
+     */
+    private String code;
+
+    private String message;
+
+    public static TransferOutcome applied() {
+        return new TransferOutcome(true, null, null);
+    }
+
+    public static TransferOutcome rejected(String code, String message) {
+        return new TransferOutcome(false, code, message);
+    }
+
+    public static TransferOutcome failed(String message) {
+        return new TransferOutcome(false, null, message);
+    }
+
+    public boolean isRejected() {
+        return code != null;
+    }
+}
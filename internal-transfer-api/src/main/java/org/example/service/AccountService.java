@@ -2,8 +2,18 @@ package org.example.service;
 
 import org.example.models.Account;
 
+import java.time.Duration;
+
 public interface AccountService {
     void createAccount(Account account);
 
     Account getAccountByAccountNumber(Long accountId);
+
+    /**
+     * Like {@link #getAccountByAccountNumber(Long)}, but accepts a cached balance up to
+     * {@code maxStaleness} old. {@code null} uses the configured default.
+     */
+    Account getAccountByAccountNumber(Long accountId, Duration maxStaleness);
+
+    void markAccountHot(Long accountId, int stripes);
 }
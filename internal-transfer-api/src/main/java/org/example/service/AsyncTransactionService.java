@@ -0,0 +1,17 @@
+package org.example.service;
+
+import org.example.models.Transaction;
+
+public interface AsyncTransactionService {
+    /**
+     * Durably queues the transfer and returns without applying it.
+     *
+     * @return the transfer id to poll {@link #getTransaction} with
+     */
+    long submit(Transaction transaction);
+
+    /**
+     * @return the queued transfer with its current status
+     */
+    Transaction getTransaction(Long transferId);
+}
@@ -0,0 +1,16 @@
+package org.example.service;
+
+import org.example.models.Account;
+import org.example.models.BulkAccountResult;
+
+import java.util.Iterator;
+
+public interface BulkAccountService {
+    /**
+     * Creates the accounts as they are read from {@code accounts}, committing them in chunks.
+     * An account that is invalid or already exists is reported without affecting the others.
+     * If the iterator throws {@code InvalidBulkInputException}, the accounts read before it
+     * are still created and the rest of the input is ignored.
+     */
+    BulkAccountResult createAccounts(Iterator<Account> accounts);
+}
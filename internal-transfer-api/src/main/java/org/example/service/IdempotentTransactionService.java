@@ -0,0 +1,11 @@
+package org.example.service;
+
+import org.example.models.Transaction;
+
+public interface IdempotentTransactionService {
+    /**
+     * Applies the transfer unless a transfer already completed under {@code idempotencyKey},
+     * in which case it returns as if it had just been applied.
+     */
+    void transferAmount(Transaction transaction, String idempotencyKey);
+}
@@ -0,0 +1,11 @@
+package org.example.service;
+
+import org.example.models.ReconciliationReport;
+
+public interface ReconciliationService {
+    /**
+     * Checks every account's balance against its initial balance and its successful
+     * transactions, and the sum of all balances against the sum of initial balances.
+     */
+    ReconciliationReport reconcile();
+}
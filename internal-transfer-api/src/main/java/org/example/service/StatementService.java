@@ -0,0 +1,15 @@
+package org.example.service;
+
+import org.example.models.Statement;
+
+import java.time.LocalDateTime;
+
+public interface StatementService {
+    /**
+     * Checks the account exists; the statement itself is only read when it is consumed.
+     *
+     * @param from earliest timestamp to include, or null for no lower bound
+     * @param to   timestamp to stop before, or null for no upper bound
+     */
+    Statement getStatement(Long accountId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,15 @@
+package org.example.service;
+
+import org.example.models.TransactionCursor;
+import org.example.models.TransactionHistoryPage;
+
+import java.time.LocalDateTime;
+
+public interface TransactionHistoryService {
+    /**
+     * @param from   earliest timestamp to include, or null for no lower bound
+     * @param to     timestamp to stop before, or null for no upper bound
+     * @param cursor where the previous page ended, or null for the first page
+     */
+    TransactionHistoryPage getTransactions(Long accountId, LocalDateTime from, LocalDateTime to, TransactionCursor cursor, int limit);
+}
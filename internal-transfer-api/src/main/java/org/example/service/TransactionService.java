@@ -1,7 +1,25 @@
 package org.example.service;
 
 import org.example.models.Transaction;
+import org.example.models.TransferOutcome;
+
+import java.util.List;
 
 public interface TransactionService {
     void transferAmount(Transaction transaction);
+
+    void transferBatch(List<Transaction> transactions);
+
+    /**
+     * Applies independent transfers in the given order, each checked as if it were applied on
+     * its own, so no transfer can spend money that a later one pays in. A rejected transfer
+     * is skipped and the others still apply.
+     * <p>
+     * Unlike {@link #transferBatch}, nothing is netted and the transfers do not succeed or
+     * fail together. Where the transfers share one database transaction, a failure other
+     * than a rejection is thrown and undoes all of them.
+     *
+     * @return one outcome per transfer, in the given order
+     */
+    List<TransferOutcome> transferEach(List<Transaction> transactions);
 }
@@ -0,0 +1,53 @@
+package org.example.benchmarks;
+
+import org.example.models.Account;
+import org.example.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code AccountServiceImpl.getAccountByAccountNumber}, straight from the database and
+ * through the balance cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountLookupBenchmark {
+    private static final Duration MAX_STALENESS = Duration.ofMinutes(1);
+
+    private AccountService accountService;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        accountService = application.getBean(AccountService.class);
+    }
+
+    @Benchmark
+    public Account databaseRead() {
+        return accountService.getAccountByAccountNumber(randomAccountId());
+    }
+
+    @Benchmark
+    public Account cachedRead() {
+        return accountService.getAccountByAccountNumber(randomAccountId(), MAX_STALENESS);
+    }
+
+    private static long randomAccountId() {
+        return ThreadLocalRandom.current().nextLong(1, ApplicationState.ACCOUNTS + 1);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.benchmarks;
+
+import org.example.InternalTransferApplication;
+import org.example.entities.AccountEntity;
+import org.example.repositories.AccountRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The full application context against an in-memory H2 database, seeded with
+ * {@link #ACCOUNTS} accounts numbered from 1.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+    public static final int ACCOUNTS = 1_000;
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000000.00");
+
+    ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        SpringApplication application = new SpringApplication(InternalTransferApplication.class);
+        application.setAdditionalProfiles("benchmark");
+        context = application.run();
+
+        List<AccountEntity> accounts = new ArrayList<>(ACCOUNTS);
+        for (long accountId = 1; accountId <= ACCOUNTS; accountId++) {
+            accounts.add(new AccountEntity().setAccountId(accountId).setBalance(INITIAL_BALANCE));
+        }
+        context.getBean(AccountRepository.class).saveAll(accounts);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
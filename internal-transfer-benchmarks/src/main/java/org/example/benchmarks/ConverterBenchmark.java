@@ -0,0 +1,51 @@
+package org.example.benchmarks;
+
+import org.example.converters.AccountToAccountResponseConverter;
+import org.example.converters.TransactionRequestToTransactionConverter;
+import org.example.model.AccountResponse;
+import org.example.model.TransactionRequest;
+import org.example.models.Account;
+import org.example.models.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+    private final TransactionRequestToTransactionConverter transactionRequestToTransactionConverter = new TransactionRequestToTransactionConverter();
+    private final AccountToAccountResponseConverter accountToAccountResponseConverter = new AccountToAccountResponseConverter();
+
+    private final TransactionRequest transactionRequest = new TransactionRequest()
+            .sourceAccountId(1001L)
+            .destinationAccountId(1002L)
+            .amount(new BigDecimal("100.12345"));
+
+    private final Account account = Account.builder()
+            .accountId(1001L)
+            .balance(new BigDecimal("1000.12345"))
+            .build();
+
+    @Benchmark
+    public Transaction transactionRequestToTransaction() {
+        return transactionRequestToTransactionConverter.convert(transactionRequest);
+    }
+
+    @Benchmark
+    public AccountResponse accountToAccountResponse() {
+        return accountToAccountResponseConverter.convert(account);
+    }
+}
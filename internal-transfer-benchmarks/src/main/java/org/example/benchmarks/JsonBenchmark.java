@@ -0,0 +1,59 @@
+package org.example.benchmarks;
+
+import org.example.model.AccountResponse;
+import org.example.model.TransactionRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request and response bodies of the two busiest endpoints, (de)serialised with the
+ * same Jackson version Spring MVC uses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private final byte[] transactionRequestJson =
+            "{\"source_account_id\":1001,\"destination_account_id\":1002,\"amount\":100.12345}".getBytes(StandardCharsets.UTF_8);
+
+    private final TransactionRequest transactionRequest = new TransactionRequest()
+            .sourceAccountId(1001L)
+            .destinationAccountId(1002L)
+            .amount(new BigDecimal("100.12345"));
+
+    private final AccountResponse accountResponse = new AccountResponse()
+            .accountId(1001L)
+            .balance(new BigDecimal("1000.12345"));
+
+    @Benchmark
+    public TransactionRequest readTransactionRequest() {
+        return jsonMapper.readValue(transactionRequestJson, TransactionRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeTransactionRequest() {
+        return jsonMapper.writeValueAsBytes(transactionRequest);
+    }
+
+    @Benchmark
+    public byte[] writeAccountResponse() {
+        return jsonMapper.writeValueAsBytes(accountResponse);
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.benchmarks;
+
+import org.example.money.MinorUnits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The balance arithmetic of one transfer, with balances as scale-5 {@link BigDecimal}s and as
+ * {@link MinorUnits}: check the source covers the amount, debit it and credit the destination.
+ * Run through {@link BenchmarkRunner}, {@code gc.alloc.rate.norm} shows what each
+ * representation allocates per transfer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+    private static final int ACCOUNTS = 1024;
+    private static final BigDecimal DECIMAL_AMOUNT = new BigDecimal("0.01000");
+    private static final long MINOR_UNITS_AMOUNT = MinorUnits.of(DECIMAL_AMOUNT);
+
+    private final BigDecimal[] decimalBalances = new BigDecimal[ACCOUNTS];
+    private final long[] minorUnitsBalances = new long[ACCOUNTS];
+    private int next;
+
+    public MoneyArithmeticBenchmark() {
+        Arrays.fill(decimalBalances, new BigDecimal("1000000000.00000"));
+        Arrays.fill(minorUnitsBalances, MinorUnits.of(new BigDecimal("1000000000.00000")));
+    }
+
+    @Benchmark
+    public boolean bigDecimal() {
+        int source = next++ & (ACCOUNTS - 1);
+        int destination = (source * 31 + 7) & (ACCOUNTS - 1);
+        if (decimalBalances[source].compareTo(DECIMAL_AMOUNT) < 0) {
+            return false;
+        }
+        decimalBalances[source] = decimalBalances[source].subtract(DECIMAL_AMOUNT);
+        decimalBalances[destination] = decimalBalances[destination].add(DECIMAL_AMOUNT);
+        return true;
+    }
+
+    @Benchmark
+    public boolean minorUnits() {
+        int source = next++ & (ACCOUNTS - 1);
+        int destination = (source * 31 + 7) & (ACCOUNTS - 1);
+        if (minorUnitsBalances[source] < MINOR_UNITS_AMOUNT) {
+            return false;
+        }
+        minorUnitsBalances[source] = MinorUnits.subtract(minorUnitsBalances[source], MINOR_UNITS_AMOUNT);
+        minorUnitsBalances[destination] = MinorUnits.add(minorUnitsBalances[destination], MINOR_UNITS_AMOUNT);
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.benchmarks;
+
+import org.example.InsufficientBalanceException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejecting a transfer for insufficient funds from {@code depth} frames down, with the
+ * stackless {@link InsufficientBalanceException} and with an ordinary exception that fills in
+ * its stack trace. The stack trace is what makes the second one cost more the deeper the call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectionBenchmark {
+
+    @Param({"10", "100"})
+    public int depth;
+
+    private long balance = 100;
+    private long amount = 1_000;
+
+    @Benchmark
+    public String stackless() {
+        try {
+            return debit(depth, false);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String withStackTrace() {
+        try {
+            return debit(depth, true);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private String debit(int remaining, boolean withStackTrace) {
+        if (remaining > 0) {
+            return debit(remaining - 1, withStackTrace);
+        }
+        if (balance < amount) {
+            String message = "Insufficient balance";
+            throw withStackTrace ? new IllegalStateException(message) : new InsufficientBalanceException(message);
+        }
+        return "ok";
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.benchmarks;
+
+import org.example.config.TransferProperties;
+import org.example.models.Transaction;
+import org.example.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TransactionServiceImpl.transferAmount} between random accounts, once per locking mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferBenchmark {
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Param({"SEQUENTIAL", "ORDERED", "CONDITIONAL_UPDATE"})
+    private TransferProperties.LockingMode lockingMode;
+
+    private TransactionService transactionService;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        application.getBean(TransferProperties.class).setLockingMode(lockingMode);
+        transactionService = application.getBean(TransactionService.class);
+    }
+
+    @Benchmark
+    public void transferAmount() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        transactionService.transferAmount(Transaction.builder()
+                .sourceAccountId(random.nextLong(1, ApplicationState.ACCOUNTS + 1))
+                .destinationAccountId(random.nextLong(1, ApplicationState.ACCOUNTS + 1))
+                .amount(AMOUNT)
+                .build());
+    }
+}
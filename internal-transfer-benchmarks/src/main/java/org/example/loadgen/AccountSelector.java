@@ -0,0 +1,19 @@
+package org.example.loadgen;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the account ids transfers are sent between. Ids run from 1 to the number of accounts.
+ */
+public interface AccountSelector {
+
+    long next(ThreadLocalRandom random);
+
+    static AccountSelector uniform(int accounts) {
+        return random -> random.nextLong(1, accounts + 1L);
+    }
+
+    static AccountSelector zipfian(int accounts, double exponent) {
+        return new ZipfianAccountSelector(accounts, exponent);
+    }
+}
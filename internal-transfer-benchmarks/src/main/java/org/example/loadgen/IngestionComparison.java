@@ -0,0 +1,181 @@
+package org.example.loadgen;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.example.grpc.api.TransferRequest;
+import org.example.grpc.api.TransferResult;
+import org.example.grpc.api.TransferServiceGrpc;
+import org.example.money.MinorUnits;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the same transfer load to the embedded application twice: first as one
+ * {@code POST /transactions} per transfer, as {@link LoadGenerator} does, and then over
+ * {@code --streams} gRPC {@code StreamTransfers} calls (4 by default) on one connection.
+ * <p>
+ * Each stream keeps up to {@code --in-flight} transfers (256 by default) sent but not yet
+ * answered, and sends only while flow control allows it. Latency is measured from sending a
+ * transfer to receiving its result.
+ */
+public class IngestionComparison {
+    private static final int DEFAULT_STREAMS = 4;
+    private static final int DEFAULT_IN_FLIGHT = 256;
+
+    public static void main(String[] args) throws Exception {
+        int streams = DEFAULT_STREAMS;
+        int inFlight = DEFAULT_IN_FLIGHT;
+        List<String> loadgenArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--streams=")) {
+                streams = Integer.parseInt(arg.substring("--streams=".length()));
+            } else if (arg.startsWith("--in-flight=")) {
+                inFlight = Integer.parseInt(arg.substring("--in-flight=".length()));
+            } else {
+                loadgenArgs.add(arg);
+            }
+        }
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(loadgenArgs.toArray(String[]::new));
+
+        int grpcPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            grpcPort = socket.getLocalPort();
+        }
+        List<String> applicationArgs = new ArrayList<>(options.applicationArgs());
+        applicationArgs.add("--spring.grpc.server.port=" + grpcPort);
+
+        try (ConfigurableApplicationContext context = LoadGenerator.startApplication(applicationArgs)) {
+            System.out.println("== JSON over HTTP, " + options.concurrency() + " clients");
+            new LoadGenerator(options, LoadGenerator.baseUri(context)).run();
+
+            ManagedChannel channel = ManagedChannelBuilder.forAddress("localhost", grpcPort).usePlaintext().build();
+            try {
+                System.out.println("== gRPC, " + streams + " streams, " + inFlight + " transfers in flight each");
+                new IngestionComparison(options, channel, inFlight).run(streams);
+            } finally {
+                channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private final LoadGeneratorOptions options;
+    private final ManagedChannel channel;
+    private final int inFlight;
+    private final long amount;
+
+    IngestionComparison(LoadGeneratorOptions options, ManagedChannel channel, int inFlight) {
+        this.options = options;
+        this.channel = channel;
+        this.inFlight = inFlight;
+        this.amount = MinorUnits.of(new BigDecimal(options.amount()));
+    }
+
+    void run(int streams) throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+
+        AccountSelector accountSelector = options.accountSelector();
+        List<TransferStream> transferStreams = new ArrayList<>();
+        for (int i = 0; i < streams; i++) {
+            TransferStream stream = new TransferStream(accountSelector, measureFrom, end);
+            TransferServiceGrpc.newStub(channel).streamTransfers(stream);
+            transferStreams.add(stream);
+        }
+
+        LoadReport report = new LoadReport();
+        for (TransferStream stream : transferStreams) {
+            report.add(stream.completion.get(options.duration().toSeconds() + 60, TimeUnit.SECONDS));
+        }
+        report.print(System.out, end - measureFrom);
+    }
+
+    /**
+     * One stream of transfers. Results come back in the order transfers were sent, so the
+     * send time of the oldest unanswered transfer is the one a result belongs to. gRPC runs
+     * the callbacks of a call one at a time, so none of the state needs locking.
+     */
+    private final class TransferStream implements ClientResponseObserver<TransferRequest, TransferResult> {
+        private final AccountSelector accountSelector;
+        private final long measureFrom;
+        private final long end;
+        private final Queue<Long> sentAt = new ArrayDeque<>();
+        private final LoadReport report = new LoadReport();
+        private final CompletableFuture<LoadReport> completion = new CompletableFuture<>();
+        private ClientCallStreamObserver<TransferRequest> requests;
+        private long nextCorrelationId;
+        private boolean completed;
+
+        private TransferStream(AccountSelector accountSelector, long measureFrom, long end) {
+            this.accountSelector = accountSelector;
+            this.measureFrom = measureFrom;
+            this.end = end;
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<TransferRequest> requests) {
+            this.requests = requests;
+            requests.setOnReadyHandler(this::sendWhileReady);
+        }
+
+        private void sendWhileReady() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (!completed && requests.isReady() && sentAt.size() < inFlight) {
+                long now = System.nanoTime();
+                if (now >= end) {
+                    completed = true;
+                    requests.onCompleted();
+                    return;
+                }
+                long sourceAccountId = accountSelector.next(random);
+                long destinationAccountId;
+                do {
+                    destinationAccountId = accountSelector.next(random);
+                } while (destinationAccountId == sourceAccountId);
+
+                sentAt.add(now);
+                requests.onNext(TransferRequest.newBuilder()
+                        .setCorrelationId(nextCorrelationId++)
+                        .setSourceAccountId(sourceAccountId)
+                        .setDestinationAccountId(destinationAccountId)
+                        .setAmount(amount)
+                        .build());
+            }
+        }
+
+        @Override
+        public void onNext(TransferResult result) {
+            long sent = sentAt.remove();
+            if (sent >= measureFrom) {
+                long latency = System.nanoTime() - sent;
+                switch (result.getOutcome()) {
+                    case APPLIED -> report.recordSuccess(latency);
+                    case REJECTED -> report.recordError(result.getErrorCode(), latency);
+                    default -> report.recordError(result.getOutcome().name(), latency);
+                }
+            }
+            sendWhileReady();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            completion.completeExceptionally(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            completion.complete(report);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.loadgen;
+
+import org.example.InternalTransferApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Creates accounts through {@code POST /accounts} and then sends transfers between them
+ * to {@code POST /transactions}, reporting latency percentiles, throughput and errors by
+ * error code.
+ * <p>
+ * With {@code --rate} set, every client sends on a fixed schedule and latency is measured
+ * from when a request was due rather than when it was sent, so a stalled server shows up
+ * in the percentiles instead of silently lowering the request rate.
+ * Without {@code --url} the application is started in-process against H2.
+ */
+public class LoadGenerator {
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    private final LoadGeneratorOptions options;
+    private final URI baseUri;
+    private final HttpClient httpClient;
+
+    LoadGenerator(LoadGeneratorOptions options, URI baseUri) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(args);
+        ConfigurableApplicationContext context = null;
+        URI baseUri;
+        if (options.url() == null) {
+            context = startApplication(options.applicationArgs());
+            baseUri = baseUri(context);
+        } else {
+            baseUri = URI.create(options.url());
+        }
+
+        try {
+            new LoadGenerator(options, baseUri).run();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Starts the application in-process on H2 with the {@code loadgen} profile and any
+     * extra profiles, listening on a random port.
+     */
+    static ConfigurableApplicationContext startApplication(List<String> args, String... profiles) {
+        // devtools would otherwise restart main() with only the application arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        SpringApplication application = new SpringApplication(InternalTransferApplication.class);
+        List<String> activeProfiles = new ArrayList<>(List.of("loadgen"));
+        activeProfiles.addAll(List.of(profiles));
+        application.setAdditionalProfiles(activeProfiles.toArray(String[]::new));
+        return application.run(args.toArray(String[]::new));
+    }
+
+    static URI baseUri(ConfigurableApplicationContext context) {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    void run() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(options.concurrency());
+        try {
+            createAccounts(clients);
+
+            System.out.printf("Sending transfers: %d clients, %s, %s accounts%n", options.concurrency(),
+                    options.rate() > 0 ? options.rate() + " req/s" : "closed loop",
+                    options.distribution() == LoadGeneratorOptions.Distribution.ZIPFIAN
+                            ? "Zipfian (exponent " + options.zipfExponent() + ")" : "uniform");
+            long start = System.nanoTime();
+            long measureFrom = start + options.warmup().toNanos();
+            long end = measureFrom + options.duration().toNanos();
+
+            AccountSelector accountSelector = options.accountSelector();
+            List<Future<LoadReport>> futures = new ArrayList<>();
+            for (int client = 0; client < options.concurrency(); client++) {
+                int clientIndex = client;
+                futures.add(clients.submit(() -> sendTransfers(accountSelector, clientIndex, start, measureFrom, end)));
+            }
+
+            LoadReport report = new LoadReport();
+            for (Future<LoadReport> future : futures) {
+                report.add(future.get());
+            }
+            report.print(System.out, end - measureFrom);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    void createAccounts(ExecutorService clients) throws Exception {
+        AtomicLong nextAccountId = new AtomicLong(1);
+        List<Future<LoadReport>> futures = new ArrayList<>();
+        for (int client = 0; client < options.concurrency(); client++) {
+            futures.add(clients.submit(() -> {
+                LoadReport report = new LoadReport();
+                long accountId;
+                while ((accountId = nextAccountId.getAndIncrement()) <= options.accounts()) {
+                    send(report, "/accounts", "{\"account_id\":" + accountId
+                            + ",\"initial_balance\":\"" + options.initialBalance() + "\"}", System.nanoTime());
+                }
+                return report;
+            }));
+        }
+
+        LoadReport report = new LoadReport();
+        long start = System.nanoTime();
+        for (Future<LoadReport> future : futures) {
+            report.add(future.get());
+        }
+        System.out.println("Account creation:");
+        report.print(System.out, System.nanoTime() - start);
+    }
+
+    private LoadReport sendTransfers(AccountSelector accountSelector, int clientIndex, long start, long measureFrom, long end) {
+        LoadReport report = new LoadReport();
+        LoadReport warmupReport = new LoadReport();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long intervalNanos = options.rate() > 0 ? TimeUnit.SECONDS.toNanos(options.concurrency()) / options.rate() : 0;
+        long due = start + intervalNanos * clientIndex / options.concurrency();
+
+        while (due < end && !Thread.currentThread().isInterrupted()) {
+            if (intervalNanos > 0) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                due = System.nanoTime();
+            }
+
+            long sourceAccountId = accountSelector.next(random);
+            long destinationAccountId;
+            do {
+                destinationAccountId = accountSelector.next(random);
+            } while (destinationAccountId == sourceAccountId);
+
+            send(due >= measureFrom ? report : warmupReport, "/transactions",
+                    "{\"source_account_id\":" + sourceAccountId + ",\"destination_account_id\":" + destinationAccountId
+                            + ",\"amount\":" + options.amount() + "}", due);
+            due += intervalNanos;
+        }
+        return report;
+    }
+
+    private void send(LoadReport report, String path, String body, long due) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long latency = System.nanoTime() - due;
+            if (response.statusCode() / 100 == 2) {
+                report.recordSuccess(latency);
+            } else {
+                report.recordError(errorCode(response), latency);
+            }
+        } catch (IOException e) {
+            report.recordError(e.getClass().getSimpleName(), System.nanoTime() - due);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String errorCode(HttpResponse<String> response) {
+        try {
+            JsonNode code = JSON_MAPPER.readTree(response.body()).get("code");
+            if (code != null && code.isString()) {
+                return code.asString();
+            }
+        } catch (RuntimeException e) {
+            // not an ErrorResponse body
+        }
+        return "HTTP " + response.statusCode();
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.loadgen;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options of {@link LoadGenerator}, given as {@code --name=value}. Options
+ * starting with {@code --transfer.} or {@code --spring.} are passed on to the embedded
+ * application.
+ *
+ * @param url                base URL of a running instance; if absent the application is started in-process on H2
+ * @param accounts           number of accounts created before the run
+ * @param initialBalance     balance of every created account
+ * @param concurrency        number of concurrent clients
+ * @param rate               total transfers per second across all clients; 0 sends as fast as responses come back
+ * @param warmup             time spent sending load before latencies are recorded
+ * @param duration           time latencies are recorded for
+ * @param distribution       how source and destination accounts are picked
+ * @param zipfExponent       skew of the Zipfian distribution; higher is more skewed
+ * @param amount             amount of every transfer
+ * @param applicationArgs    arguments passed on to the embedded application
+ */
+public record LoadGeneratorOptions(String url, int accounts, String initialBalance, int concurrency, int rate,
+                                   Duration warmup, Duration duration, Distribution distribution,
+                                   double zipfExponent, String amount, List<String> applicationArgs) {
+
+    public enum Distribution {
+        UNIFORM,
+        ZIPFIAN
+    }
+
+    public static LoadGeneratorOptions parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            if (arg.startsWith("--transfer.") || arg.startsWith("--spring.")) {
+                applicationArgs.add(arg);
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadGeneratorOptions parsed = new LoadGeneratorOptions(
+                options.remove("url"),
+                Integer.parseInt(options.getOrDefault("accounts", "1000")),
+                options.getOrDefault("initial-balance", "1000000.00"),
+                Integer.parseInt(options.getOrDefault("concurrency", "16")),
+                Integer.parseInt(options.getOrDefault("rate", "0")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))),
+                Distribution.valueOf(options.getOrDefault("distribution", "zipfian").toUpperCase()),
+                Double.parseDouble(options.getOrDefault("zipf-exponent", "1.0")),
+                options.getOrDefault("amount", "1.00"),
+                applicationArgs);
+
+        List.of("accounts", "initial-balance", "concurrency", "rate", "warmup", "duration", "distribution",
+                "zipf-exponent", "amount").forEach(options::remove);
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        if (parsed.accounts < 2) {
+            throw new IllegalArgumentException("At least two accounts are required");
+        }
+        return parsed;
+    }
+
+    public AccountSelector accountSelector() {
+        return distribution == Distribution.ZIPFIAN
+                ? AccountSelector.zipfian(accounts, zipfExponent)
+                : AccountSelector.uniform(accounts);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.constants.ErrorConstants.ACCOUNT_ALREADY_EXISTS_CODE;
+import static org.example.constants.ErrorConstants.ACCOUNT_INSUFFICIENT_BALANCE_CODE;
+import static org.example.constants.ErrorConstants.ACCOUNT_NOT_FOUND_CODE;
+
+/**
+ * Latencies and outcomes recorded by one client thread. Reports from all clients are merged
+ * with {@link #add} once the run is over.
+ */
+class LoadReport {
+    private static final Map<String, String> ERROR_DESCRIPTIONS = Map.of(
+            ACCOUNT_NOT_FOUND_CODE, "account not found",
+            ACCOUNT_ALREADY_EXISTS_CODE, "account already exists",
+            ACCOUNT_INSUFFICIENT_BALANCE_CODE, "insufficient balance");
+
+    private final Histogram latencies = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+    private final Map<String, Long> errors = new TreeMap<>();
+    private long successes;
+
+    void recordSuccess(long latencyNanos) {
+        latencies.recordValue(Math.min(latencyNanos, latencies.getHighestTrackableValue()));
+        successes++;
+    }
+
+    void recordError(String error, long latencyNanos) {
+        latencies.recordValue(Math.min(latencyNanos, latencies.getHighestTrackableValue()));
+        errors.merge(error, 1L, Long::sum);
+    }
+
+    void add(LoadReport other) {
+        latencies.add(other.latencies);
+        other.errors.forEach((error, count) -> errors.merge(error, count, Long::sum));
+        successes += other.successes;
+    }
+
+    void print(PrintStream out, long elapsedNanos) {
+        long requests = latencies.getTotalCount();
+        double seconds = elapsedNanos / 1e9;
+        out.printf("Requests:   %d in %.1f s (%.1f/s), %d succeeded, %d failed%n",
+                requests, seconds, requests / seconds, successes, requests - successes);
+        out.printf("Latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f p99.99=%.2f max=%.2f%n",
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getValueAtPercentile(99.99)), millis(latencies.getMaxValue()));
+        if (!errors.isEmpty()) {
+            out.println("Errors:");
+            errors.forEach((error, count) -> out.printf("  %-8s %-24s %d%n",
+                    error, ERROR_DESCRIPTIONS.getOrDefault(error, ""), count));
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.loadgen;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time to first transfer of the application extracted by the server module's
+ * {@code fast-startup} build: from launching the JVM until {@code POST /transactions} first
+ * succeeds, after creating the two accounts it moves money between.
+ * <p>
+ * Each run starts a fresh JVM against an in-memory H2 database, first as the application
+ * starts by default (schema updated by Hibernate, beans found by classpath scanning) and then
+ * with the production profile, AOT-processed bean definitions and the CDS archive. The median
+ * of {@code --runs} launches of each is reported.
+ */
+public class StartupTimeComparison {
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private final Path application;
+    private final String classpath;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    StartupTimeComparison(Path application) throws Exception {
+        this.application = application;
+        Path h2 = Path.of(Class.forName("org.h2.Driver").getProtectionDomain().getCodeSource().getLocation().toURI());
+        this.classpath = "application.jar" + System.getProperty("path.separator") + h2;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path application = Path.of("../internal-transfer-server/target/application");
+        int runs = 3;
+        for (String arg : args) {
+            if (arg.startsWith("--application=")) {
+                application = Path.of(arg.substring("--application=".length()));
+            } else if (arg.startsWith("--runs=")) {
+                runs = Integer.parseInt(arg.substring("--runs=".length()));
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (!Files.exists(application.resolve("application.jsa"))) {
+            throw new IllegalStateException("No CDS archive in " + application.toAbsolutePath()
+                    + ", build the server with -Pfast-startup first");
+        }
+
+        StartupTimeComparison comparison = new StartupTimeComparison(application);
+        long defaultMillis = comparison.median(runs, List.of(), List.of());
+        long fastMillis = comparison.median(runs,
+                List.of("-XX:SharedArchiveFile=application.jsa", "-Xlog:cds=off", "-Dspring.aot.enabled=true"),
+                List.of("--spring.profiles.active=production"));
+
+        System.out.printf("Time to first transfer, median of %d runs:%n", runs);
+        System.out.printf("  default:                        %,6d ms%n", defaultMillis);
+        System.out.printf("  production, AOT, CDS archive:   %,6d ms (%.1fx faster)%n",
+                fastMillis, (double) defaultMillis / fastMillis);
+    }
+
+    private long median(int runs, List<String> jvmOptions, List<String> applicationArgs) throws Exception {
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = timeToFirstTransfer(jvmOptions, applicationArgs);
+        }
+        Arrays.sort(millis);
+        return millis[runs / 2];
+    }
+
+    private long timeToFirstTransfer(List<String> jvmOptions, List<String> applicationArgs) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        URI baseUri = URI.create("http://localhost:" + port);
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-cp", classpath, "org.example.InternalTransferApplication",
+                "--server.port=" + port,
+                "--spring.grpc.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--transfer.async.directory=" + Files.createTempDirectory("startup-queue")));
+        command.addAll(applicationArgs);
+        Path log = Files.createTempFile("startup", ".log");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(application.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            post(process, log, baseUri, "/accounts", "{\"account_id\":1,\"initial_balance\":\"100.00\"}");
+            post(process, log, baseUri, "/accounts", "{\"account_id\":2,\"initial_balance\":\"100.00\"}");
+            post(process, log, baseUri, "/transactions", "{\"source_account_id\":1,\"destination_account_id\":2,\"amount\":1.00}");
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Sends {@code body} until the application accepts connections and answers with a 2xx.
+     */
+    private void post(Process process, Path log, URI baseUri, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ":\n" + Files.readString(log));
+            }
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() / 100 != 2) {
+                    throw new IllegalStateException(path + " answered " + response.statusCode() + ": " + response.body());
+                }
+                return;
+            } catch (IOException e) {
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Application did not start within " + TIMEOUT + ":\n" + Files.readString(log));
+                }
+                Thread.sleep(5);
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.loadgen;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the same transfer load against the embedded application twice, once on Tomcat's
+ * platform thread pool and once with the {@code virtual-threads} profile, keeping
+ * {@code --concurrency} requests in flight at all times (10,000 by default). Reports
+ * throughput, latency, peak heap and peak live thread count of the process for each mode.
+ * <p>
+ * Requests are sent with the asynchronous HTTP client, so the client side needs no thread
+ * per request. Each in-flight request holds a socket on both sides; raise the open file
+ * limit accordingly. The virtual-thread run is skipped on Java versions before 21.
+ */
+public class ThreadModeComparison {
+    private static final int DEFAULT_CONCURRENCY = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        List<String> withDefaults = new ArrayList<>(List.of("--concurrency=" + DEFAULT_CONCURRENCY));
+        withDefaults.addAll(List.of(args));
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(withDefaults.toArray(String[]::new));
+
+        run(options, "platform");
+        if (Runtime.version().feature() >= 21) {
+            run(options, "virtual", "virtual-threads");
+        } else {
+            System.out.println("virtual: skipped, virtual threads need Java 21 (running " + Runtime.version() + ")");
+        }
+    }
+
+    private static void run(LoadGeneratorOptions options, String mode, String... profiles) throws Exception {
+        List<String> applicationArgs = new ArrayList<>(options.applicationArgs());
+        applicationArgs.add("--server.tomcat.max-connections=" + (options.concurrency() + 1_000));
+        applicationArgs.add("--server.tomcat.accept-count=" + options.concurrency());
+
+        try (ConfigurableApplicationContext context = LoadGenerator.startApplication(applicationArgs, profiles)) {
+            URI baseUri = LoadGenerator.baseUri(context);
+            ExecutorService accountClients = Executors.newFixedThreadPool(Math.min(options.concurrency(), 64));
+            try {
+                new LoadGenerator(options, baseUri).createAccounts(accountClients);
+            } finally {
+                accountClients.shutdownNow();
+            }
+
+            System.gc();
+            ResourceSampler sampler = new ResourceSampler();
+            LoadReport report = new AsyncLoad(options, baseUri).run();
+            sampler.stop();
+
+            System.out.println("== " + mode + " threads, " + options.concurrency() + " requests in flight");
+            report.print(System.out, options.duration().toNanos());
+            System.out.printf("Peak heap used: %d MB, peak live threads: %d%n",
+                    sampler.peakHeapBytes.get() / (1024 * 1024), sampler.peakThreads.get());
+        }
+    }
+
+    /**
+     * Keeps a fixed number of transfers in flight by sending the next one as each completes.
+     */
+    private static final class AsyncLoad {
+        private final LoadGeneratorOptions options;
+        private final URI transactionsUri;
+        private final AccountSelector accountSelector;
+        private final ExecutorService clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        private final HttpClient httpClient;
+        private final LoadReport report = new LoadReport();
+        private final LoadReport warmupReport = new LoadReport();
+        private long measureFrom;
+        private long end;
+        private CountDownLatch finished;
+
+        private AsyncLoad(LoadGeneratorOptions options, URI baseUri) {
+            this.options = options;
+            this.transactionsUri = baseUri.resolve("/transactions");
+            this.accountSelector = options.accountSelector();
+            this.httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .build();
+        }
+
+        LoadReport run() throws InterruptedException {
+            long start = System.nanoTime();
+            measureFrom = start + options.warmup().toNanos();
+            end = measureFrom + options.duration().toNanos();
+            finished = new CountDownLatch(options.concurrency());
+            try {
+                for (int i = 0; i < options.concurrency(); i++) {
+                    sendNext();
+                }
+                finished.await();
+                return report;
+            } finally {
+                clientExecutor.shutdownNow();
+            }
+        }
+
+        private void sendNext() {
+            long sent = System.nanoTime();
+            if (sent >= end) {
+                finished.countDown();
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long sourceAccountId = accountSelector.next(random);
+            long destinationAccountId;
+            do {
+                destinationAccountId = accountSelector.next(random);
+            } while (destinationAccountId == sourceAccountId);
+
+            HttpRequest request = HttpRequest.newBuilder(transactionsUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"source_account_id\":" + sourceAccountId
+                            + ",\"destination_account_id\":" + destinationAccountId + ",\"amount\":" + options.amount() + "}"))
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+                LoadReport target = sent >= measureFrom ? report : warmupReport;
+                long latency = System.nanoTime() - sent;
+                synchronized (target) {
+                    if (failure != null) {
+                        target.recordError(failure.getClass().getSimpleName(), latency);
+                    } else if (response.statusCode() / 100 == 2) {
+                        target.recordSuccess(latency);
+                    } else {
+                        target.recordError("HTTP " + response.statusCode(), latency);
+                    }
+                }
+                sendNext();
+            });
+        }
+    }
+
+    private static final class ResourceSampler {
+        private final AtomicLong peakHeapBytes = new AtomicLong();
+        private final AtomicLong peakThreads = new AtomicLong();
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        private ResourceSampler() {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            scheduler.scheduleAtFixedRate(() -> {
+                peakHeapBytes.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+            }, 0, 100, TimeUnit.MILLISECONDS);
+        }
+
+        void stop() {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.loadgen;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks account {@code k} with probability proportional to {@code 1 / k^exponent}, so
+ * account 1 is the hottest. Sampling is a binary search over the precomputed cumulative
+ * distribution.
+ */
+class ZipfianAccountSelector implements AccountSelector {
+    private final double[] cumulativeProbabilities;
+
+    ZipfianAccountSelector(int accounts, double exponent) {
+        if (accounts < 1) {
+            throw new IllegalArgumentException("At least one account is required");
+        }
+        cumulativeProbabilities = new double[accounts];
+        double total = 0;
+        for (int rank = 1; rank <= accounts; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cumulativeProbabilities[rank - 1] = total;
+        }
+        for (int i = 0; i < accounts; i++) {
+            cumulativeProbabilities[i] /= total;
+        }
+        cumulativeProbabilities[accounts - 1] = 1;
+    }
+
+    @Override
+    public long next(ThreadLocalRandom random) {
+        int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        return (index >= 0 ? index : -index - 1) + 1L;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LoadGeneratorOptions Tests")
+class LoadGeneratorOptionsTest {
+
+    @Test
+    @DisplayName("Should use defaults when no options are given")
+    void shouldUseDefaults() {
+        // When
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(new String[0]);
+
+        // Then
+        assertThat(options.url()).isNull();
+        assertThat(options.accounts()).isEqualTo(1000);
+        assertThat(options.concurrency()).isEqualTo(16);
+        assertThat(options.rate()).isZero();
+        assertThat(options.duration()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(options.distribution()).isEqualTo(LoadGeneratorOptions.Distribution.ZIPFIAN);
+        assertThat(options.applicationArgs()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should parse options and pass application properties through")
+    void shouldParseOptions() {
+        // When
+        LoadGeneratorOptions options = LoadGeneratorOptions.parse(new String[]{
+                "--url=http://localhost:8080", "--accounts=50", "--concurrency=4", "--rate=200",
+                "--warmup=1", "--duration=10", "--distribution=uniform", "--amount=2.50",
+                "--transfer.locking-mode=SEQUENTIAL"});
+
+        // Then
+        assertThat(options.url()).isEqualTo("http://localhost:8080");
+        assertThat(options.accounts()).isEqualTo(50);
+        assertThat(options.concurrency()).isEqualTo(4);
+        assertThat(options.rate()).isEqualTo(200);
+        assertThat(options.warmup()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(options.duration()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(options.distribution()).isEqualTo(LoadGeneratorOptions.Distribution.UNIFORM);
+        assertThat(options.amount()).isEqualTo("2.50");
+        assertThat(options.applicationArgs()).containsExactly("--transfer.locking-mode=SEQUENTIAL");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown options")
+    void shouldRejectUnknownOptions() {
+        // When & Then
+        assertThatThrownBy(() -> LoadGeneratorOptions.parse(new String[]{"--acounts=10"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("acounts");
+    }
+}
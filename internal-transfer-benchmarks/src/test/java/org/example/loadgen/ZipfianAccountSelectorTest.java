@@ -0,0 +1,70 @@
+package org.example.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("ZipfianAccountSelector Tests")
+class ZipfianAccountSelectorTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    @DisplayName("Should only pick account ids between 1 and the number of accounts")
+    void shouldPickAccountIdsInRange() {
+        // Given
+        AccountSelector selector = new ZipfianAccountSelector(10, 1.5);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // When & Then
+        for (int i = 0; i < SAMPLES; i++) {
+            assertThat(selector.next(random)).isBetween(1L, 10L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should pick accounts with frequency proportional to 1 / rank^exponent")
+    void shouldFollowZipfianFrequencies() {
+        // Given
+        AccountSelector selector = new ZipfianAccountSelector(100, 1.0);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] counts = new long[101];
+
+        // When
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[(int) selector.next(random)]++;
+        }
+
+        // Then
+        double harmonic = 0;
+        for (int rank = 1; rank <= 100; rank++) {
+            harmonic += 1.0 / rank;
+        }
+        assertThat(counts[1] / (double) SAMPLES).isCloseTo(1 / harmonic, within(0.01));
+        assertThat(counts[2] / (double) SAMPLES).isCloseTo(0.5 / harmonic, within(0.01));
+        assertThat(counts[1]).isGreaterThan(counts[10] * 5);
+    }
+
+    @Test
+    @DisplayName("Should pick accounts uniformly when the exponent is zero")
+    void shouldBeUniformWithZeroExponent() {
+        // Given
+        AccountSelector selector = new ZipfianAccountSelector(4, 0);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] counts = new long[5];
+
+        // When
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[(int) selector.next(random)]++;
+        }
+
+        // Then
+        for (int accountId = 1; accountId <= 4; accountId++) {
+            assertThat(counts[accountId] / (double) SAMPLES).isCloseTo(0.25, within(0.01));
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package org.example;
 
-public class AccountAlreadyExistsException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+import static org.example.constants.ErrorConstants.ACCOUNT_ALREADY_EXISTS_CODE;
+
+public class AccountAlreadyExistsException extends BusinessException {
     public AccountAlreadyExistsException(String message) {
-        super(message);
+        super(ACCOUNT_ALREADY_EXISTS_CODE, HttpStatus.CONFLICT, message);
     }
 }
@@ -1,7 +1,11 @@
 package org.example;
 
-public class AccountNotFoundException extends RuntimeException{
+import org.springframework.http.HttpStatus;
+
+import static org.example.constants.ErrorConstants.ACCOUNT_NOT_FOUND_CODE;
+
+public class AccountNotFoundException extends BusinessException {
     public AccountNotFoundException(String message) {
-        super(message);
+        super(ACCOUNT_NOT_FOUND_CODE, HttpStatus.NOT_FOUND, message);
     }
 }
@@ -0,0 +1,11 @@
+package org.example;
+
+import org.springframework.http.HttpStatus;
+
+import static org.example.constants.ErrorConstants.AMOUNT_OUT_OF_RANGE_CODE;
+
+public class AmountOutOfRangeException extends BusinessException {
+    public AmountOutOfRangeException(String message) {
+        super(AMOUNT_OUT_OF_RANGE_CODE, HttpStatus.BAD_REQUEST, message);
+    }
+}
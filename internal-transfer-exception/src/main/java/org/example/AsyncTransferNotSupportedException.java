@@ -0,0 +1,11 @@
+package org.example;
+
+import org.springframework.http.HttpStatus;
+
+import static org.example.constants.ErrorConstants.ASYNC_TRANSFER_NOT_SUPPORTED_CODE;
+
+public class AsyncTransferNotSupportedException extends BusinessException {
+    public AsyncTransferNotSupportedException(String message) {
+        super(ASYNC_TRANSFER_NOT_SUPPORTED_CODE, HttpStatus.UNPROCESSABLE_CONTENT, message);
+    }
+}
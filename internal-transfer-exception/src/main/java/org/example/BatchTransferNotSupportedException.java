@@ -0,0 +1,11 @@
+package org.example;
+
+import org.springframework.http.HttpStatus;
+
+import static org.example.constants.ErrorConstants.BATCH_TRANSFER_NOT_SUPPORTED_CODE;
+
+public class BatchTransferNotSupportedException extends BusinessException {
+    public BatchTransferNotSupportedException(String message) {
+        super(BATCH_TRANSFER_NOT_SUPPORTED_CODE, HttpStatus.UNPROCESSABLE_CONTENT, message);
+    }
+}
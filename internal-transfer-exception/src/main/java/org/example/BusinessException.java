@@ -0,0 +1,27 @@
+package org.example;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Rejects a request for a business reason, such as a missing account or insufficient funds.
+ * Rejections are routine and a misbehaving client can cause thousands a second, so they
+ * capture no stack trace; the error code and message are all a caller or a log needs.
+ */
+public abstract class BusinessException extends RuntimeException {
+    private final String code;
+    private final HttpStatus status;
+
+    protected BusinessException(String code, HttpStatus status, String message) {
+        super(message, null, false, false);
+        this.code = code;
+        this.status = status;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
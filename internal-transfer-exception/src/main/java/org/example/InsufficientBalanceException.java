@@ -1,7 +1,11 @@
 package org.example;
 
-public class InsufficientBalanceException extends RuntimeException{
+import org.springframework.http.HttpStatus;
+
+import static org.example.constants.ErrorConstants.ACCOUNT_INSUFFICIENT_BALANCE_CODE;
+
+public class InsufficientBalanceException extends BusinessException {
     public InsufficientBalanceException(String message) {
-        super(message);
+        super(ACCOUNT_INSUFFICIENT_BALANCE_CODE, HttpStatus.BAD_REQUEST, message);
     }
 }
@@ -0,0 +1,11 @@
+package org.example;
+
+import org.springframework.http.HttpStatus;
+
+import static org.example.constants.ErrorConstants.INVALID_BULK_INPUT_CODE;
+
+public class InvalidBulkInputException extends BusinessException {
+    public InvalidBulkInputException(String message) {
+        super(INVALID_BULK_INPUT_CODE, HttpStatus.BAD_REQUEST, message);
+    }
+}
@@ -0,0 +1,11 @@
+package org.example;
+
+import org.springframework.http.HttpStatus;
+
+import static org.example.constants.ErrorConstants.INVALID_IDEMPOTENCY_KEY_CODE;
+
+public class InvalidIdempotencyKeyException extends BusinessException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(INVALID_IDEMPOTENCY_KEY_CODE, HttpStatus.UNPROCESSABLE_CONTENT, message);
+    }
+}
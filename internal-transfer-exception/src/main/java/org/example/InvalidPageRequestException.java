@@ -0,0 +1,11 @@
+package org.example;
+
+import org.springframework.http.HttpStatus;
+
+import static org.example.constants.ErrorConstants.INVALID_PAGE_REQUEST_CODE;
+
+public class InvalidPageRequestException extends BusinessException {
+    public InvalidPageRequestException(String message) {
+        super(INVALID_PAGE_REQUEST_CODE, HttpStatus.BAD_REQUEST, message);
+    }
+}
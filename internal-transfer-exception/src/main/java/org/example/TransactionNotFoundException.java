@@ -0,0 +1,11 @@
+package org.example;
+
+import org.springframework.http.HttpStatus;
+
+import static org.example.constants.ErrorConstants.TRANSACTION_NOT_FOUND_CODE;
+
+public class TransactionNotFoundException extends BusinessException {
+    public TransactionNotFoundException(String message) {
+        super(TRANSACTION_NOT_FOUND_CODE, HttpStatus.NOT_FOUND, message);
+    }
+}
@@ -0,0 +1,11 @@
+package org.example;
+
+import org.springframework.http.HttpStatus;
+
+import static org.example.constants.ErrorConstants.TRANSFER_QUEUE_FULL_CODE;
+
+public class TransferQueueFullException extends BusinessException {
+    public TransferQueueFullException(String message) {
+        super(TRANSFER_QUEUE_FULL_CODE, HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+}
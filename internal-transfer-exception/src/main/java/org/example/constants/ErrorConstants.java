@@ -4,4 +4,12 @@ public class ErrorConstants {
     public static final String ACCOUNT_NOT_FOUND_CODE = "AC_01";
     public static final String ACCOUNT_ALREADY_EXISTS_CODE = "AC_02";
     public static final String ACCOUNT_INSUFFICIENT_BALANCE_CODE= "AC_03";
+    public static final String INVALID_BULK_INPUT_CODE = "AC_04";
+    public static final String TRANSACTION_NOT_FOUND_CODE = "TR_01";
+    public static final String TRANSFER_QUEUE_FULL_CODE = "TR_02";
+    public static final String INVALID_IDEMPOTENCY_KEY_CODE = "TR_03";
+    public static final String AMOUNT_OUT_OF_RANGE_CODE = "TR_04";
+    public static final String INVALID_PAGE_REQUEST_CODE = "TR_05";
+    public static final String BATCH_TRANSFER_NOT_SUPPORTED_CODE = "TR_06";
+    public static final String ASYNC_TRANSFER_NOT_SUPPORTED_CODE = "TR_07";
 }
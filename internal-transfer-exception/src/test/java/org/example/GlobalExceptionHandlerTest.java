@@ -0,0 +1,55 @@
+package org.example;
+
+import org.example.model.ErrorResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.constants.ErrorConstants.ACCOUNT_ALREADY_EXISTS_CODE;
+import static org.example.constants.ErrorConstants.ACCOUNT_INSUFFICIENT_BALANCE_CODE;
+import static org.example.constants.ErrorConstants.ACCOUNT_NOT_FOUND_CODE;
+import static org.example.constants.ErrorConstants.ASYNC_TRANSFER_NOT_SUPPORTED_CODE;
+import static org.example.constants.ErrorConstants.BATCH_TRANSFER_NOT_SUPPORTED_CODE;
+import static org.example.constants.ErrorConstants.TRANSFER_QUEUE_FULL_CODE;
+
+@DisplayName("GlobalExceptionHandler Tests")
+class GlobalExceptionHandlerTest {
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    @DisplayName("Should map each business exception to its code and status")
+    void shouldMapCodeAndStatus() {
+        assertResponse(new AccountNotFoundException("Account not found: 1"), HttpStatus.NOT_FOUND, ACCOUNT_NOT_FOUND_CODE);
+        assertResponse(new AccountAlreadyExistsException("Account already exists: 1"), HttpStatus.CONFLICT, ACCOUNT_ALREADY_EXISTS_CODE);
+        assertResponse(new InsufficientBalanceException("Insufficient balance"), HttpStatus.BAD_REQUEST, ACCOUNT_INSUFFICIENT_BALANCE_CODE);
+        assertResponse(new TransferQueueFullException("Transfer queue is full"), HttpStatus.SERVICE_UNAVAILABLE, TRANSFER_QUEUE_FULL_CODE);
+        assertResponse(new BatchTransferNotSupportedException("Batch transfers are not supported"), HttpStatus.UNPROCESSABLE_CONTENT,
+                BATCH_TRANSFER_NOT_SUPPORTED_CODE);
+        assertResponse(new AsyncTransferNotSupportedException("Queued transfers are not supported"), HttpStatus.UNPROCESSABLE_CONTENT,
+                ASYNC_TRANSFER_NOT_SUPPORTED_CODE);
+    }
+
+    @Test
+    @DisplayName("Should not capture a stack trace")
+    void shouldNotCaptureStackTrace() {
+        // When
+        BusinessException exception = new InsufficientBalanceException("Insufficient balance");
+
+        // Then
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getSuppressed()).isEmpty();
+        exception.addSuppressed(new IllegalStateException());
+        assertThat(exception.getSuppressed()).isEmpty();
+    }
+
+    private void assertResponse(BusinessException exception, HttpStatus status, String code) {
+        ResponseEntity<ErrorResponse> response = handler.handleBusinessException(exception);
+
+        assertThat(response.getStatusCode()).isEqualTo(status);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getCode()).isEqualTo(code);
+        assertThat(response.getBody().getMessage()).isEqualTo(exception.getMessage());
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.converters;
+
+import org.example.grpc.api.TransferRequest;
+import org.example.models.Transaction;
+import org.example.money.MinorUnits;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransferRequestToTransactionConverter {
+
+    public Transaction convert(TransferRequest transferRequest) {
+        return Transaction.builder()
+                .amount(MinorUnits.toBigDecimal(transferRequest.getAmount()))
+                .sourceAccountId(transferRequest.getSourceAccountId())
+                .destinationAccountId(transferRequest.getDestinationAccountId())
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.grpc;
+
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusException;
+import org.example.BusinessException;
+import org.springframework.grpc.server.exception.GrpcExceptionHandler;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fails a gRPC call rejected by a {@link BusinessException} with the status closest to the one
+ * the REST API answers with, and the error code in the {@code error-code} trailer.
+ */
+@Component
+public class BusinessExceptionGrpcHandler implements GrpcExceptionHandler {
+    public static final Metadata.Key<String> ERROR_CODE = Metadata.Key.of("error-code", Metadata.ASCII_STRING_MARSHALLER);
+
+    @Override
+    public StatusException handleException(Throwable exception) {
+        if (!(exception instanceof BusinessException businessException)) {
+            return null;
+        }
+        Metadata trailers = new Metadata();
+        trailers.put(ERROR_CODE, businessException.getCode());
+        return status(businessException.getStatus())
+                .withDescription(businessException.getMessage())
+                .asException(trailers);
+    }
+
+    private static Status status(HttpStatus httpStatus) {
+        return switch (httpStatus) {
+            case NOT_FOUND -> Status.NOT_FOUND;
+            case CONFLICT -> Status.ALREADY_EXISTS;
+            case SERVICE_UNAVAILABLE -> Status.UNAVAILABLE;
+            default -> Status.INVALID_ARGUMENT;
+        };
+    }
+}
@@ -0,0 +1,234 @@
+package org.example.grpc;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.BusinessException;
+import org.example.config.TransferProperties;
+import org.example.converters.TransferRequestToTransactionConverter;
+import org.example.grpc.api.TransferRequest;
+import org.example.grpc.api.TransferResult;
+import org.example.grpc.api.TransferServiceGrpc;
+import org.example.models.Transaction;
+import org.example.models.TransferOutcome;
+import org.example.service.TransactionService;
+import org.springframework.grpc.server.service.GrpcService;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies transfers sent over gRPC through {@link TransactionService}, one per call or many
+ * over a stream.
+ * <p>
+ * A stream asks for at most {@code transfer.grpc.max-in-flight} transfers ahead of the results
+ * it has sent and asks for more only as results are written, so neither side buffers without
+ * bound. Its transfers are applied on a shared pool of applier threads: whatever has arrived,
+ * up to {@code transfer.grpc.batch-size}, is applied with {@link TransactionService#transferEach},
+ * which checks each transfer on its own, in order, and answers each with its own outcome. If
+ * the group fails as a whole, its transfers are applied one at a time.
+ */
+@Slf4j
+@GrpcService
+public class TransferGrpcService extends TransferServiceGrpc.TransferServiceImplBase {
+    private static final String FAILED_MESSAGE = "Transfer failed";
+
+    private final TransactionService transactionService;
+    private final TransferRequestToTransactionConverter transferRequestToTransactionConverter;
+    private final TransferProperties.Grpc properties;
+    private final ExecutorService appliers;
+
+    public TransferGrpcService(TransactionService transactionService,
+                               TransferRequestToTransactionConverter transferRequestToTransactionConverter,
+                               TransferProperties transferProperties) {
+        this.transactionService = transactionService;
+        this.transferRequestToTransactionConverter = transferRequestToTransactionConverter;
+        this.properties = transferProperties.getGrpc();
+        AtomicInteger threads = new AtomicInteger();
+        this.appliers = Executors.newFixedThreadPool(properties.getAppliers(), runnable -> {
+            Thread thread = new Thread(runnable, "grpc-transfer-applier-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        appliers.shutdownNow();
+    }
+
+    @Override
+    public void transfer(TransferRequest request, StreamObserver<TransferResult> responseObserver) {
+        transactionService.transferAmount(transferRequestToTransactionConverter.convert(request));
+        responseObserver.onNext(applied(request));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<TransferRequest> streamTransfers(StreamObserver<TransferResult> responseObserver) {
+        return new TransferStream((ServerCallStreamObserver<TransferResult>) responseObserver);
+    }
+
+    private List<TransferResult> apply(List<TransferRequest> requests) {
+        List<Transaction> transactions = requests.stream()
+                .map(transferRequestToTransactionConverter::convert)
+                .toList();
+        if (requests.size() > 1) {
+            try {
+                List<TransferOutcome> outcomes = transactionService.transferEach(transactions);
+                List<TransferResult> results = new ArrayList<>(requests.size());
+                for (int i = 0; i < requests.size(); i++) {
+                    results.add(result(requests.get(i), outcomes.get(i)));
+                }
+                return results;
+            } catch (RuntimeException e) {
+                log.debug("Group of {} streamed transfers failed, applying them one at a time", transactions.size(), e);
+            }
+        }
+        List<TransferResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(apply(requests.get(i), transactions.get(i)));
+        }
+        return results;
+    }
+
+    private TransferResult apply(TransferRequest request, Transaction transaction) {
+        try {
+            transactionService.transferAmount(transaction);
+            return applied(request);
+        } catch (BusinessException e) {
+            return result(request, TransferResult.Outcome.REJECTED)
+                    .setErrorCode(e.getCode())
+                    .setMessage(e.getMessage())
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn("Streamed transfer {} failed", request.getCorrelationId(), e);
+            return result(request, TransferResult.Outcome.FAILED)
+                    .setMessage(FAILED_MESSAGE)
+                    .build();
+        }
+    }
+
+    private static TransferResult result(TransferRequest request, TransferOutcome outcome) {
+        if (outcome.isApplied()) {
+            return applied(request);
+        }
+        if (outcome.isRejected()) {
+            return result(request, TransferResult.Outcome.REJECTED)
+                    .setErrorCode(outcome.getCode())
+                    .setMessage(outcome.getMessage())
+                    .build();
+        }
+        log.warn("Streamed transfer {} failed: {}", request.getCorrelationId(), outcome.getMessage());
+        return result(request, TransferResult.Outcome.FAILED)
+                .setMessage(FAILED_MESSAGE)
+                .build();
+    }
+
+    private static TransferResult applied(TransferRequest request) {
+        return result(request, TransferResult.Outcome.APPLIED).build();
+    }
+
+    private static TransferResult.Builder result(TransferRequest request, TransferResult.Outcome outcome) {
+        return TransferResult.newBuilder()
+                .setCorrelationId(request.getCorrelationId())
+                .setOutcome(outcome);
+    }
+
+    /**
+     * One {@code StreamTransfers} call. At most one applier works on it at a time, which keeps
+     * its results in the order its transfers arrived. All state, and every use of
+     * {@code responses}, which is not thread-safe, is guarded by the stream's monitor.
+     */
+    private class TransferStream implements StreamObserver<TransferRequest> {
+        private final ServerCallStreamObserver<TransferResult> responses;
+        private final Queue<TransferRequest> received = new ArrayDeque<>();
+        private boolean applying;
+        private boolean halfClosed;
+        private boolean cancelled;
+        private int deferredRequests;
+
+        TransferStream(ServerCallStreamObserver<TransferResult> responses) {
+            this.responses = responses;
+            responses.disableAutoRequest();
+            responses.setOnReadyHandler(this::onReady);
+            responses.setOnCancelHandler(this::onCancel);
+            responses.request(properties.getMaxInFlight());
+        }
+
+        @Override
+        public synchronized void onNext(TransferRequest request) {
+            received.add(request);
+            if (!applying) {
+                applying = true;
+                appliers.execute(this::applyNextBatch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            onCancel();
+        }
+
+        @Override
+        public synchronized void onCompleted() {
+            halfClosed = true;
+            if (!applying) {
+                responses.onCompleted();
+            }
+        }
+
+        private synchronized void onCancel() {
+            cancelled = true;
+            received.clear();
+        }
+
+        /**
+         * Asks for as many transfers as were answered while the client was not reading results.
+         */
+        private synchronized void onReady() {
+            if (deferredRequests > 0 && responses.isReady()) {
+                responses.request(deferredRequests);
+                deferredRequests = 0;
+            }
+        }
+
+        private void applyNextBatch() {
+            List<TransferRequest> batch = nextBatch();
+            List<TransferResult> results = batch.isEmpty() ? Collections.emptyList() : apply(batch);
+            synchronized (this) {
+                if (!cancelled && !results.isEmpty()) {
+                    results.forEach(responses::onNext);
+                    if (responses.isReady()) {
+                        responses.request(results.size());
+                    } else {
+                        deferredRequests += results.size();
+                    }
+                }
+                if (!received.isEmpty()) {
+                    appliers.execute(this::applyNextBatch);
+                    return;
+                }
+                applying = false;
+                if (halfClosed && !cancelled) {
+                    responses.onCompleted();
+                }
+            }
+        }
+
+        private synchronized List<TransferRequest> nextBatch() {
+            List<TransferRequest> batch = new ArrayList<>(Math.min(received.size(), properties.getBatchSize()));
+            while (batch.size() < properties.getBatchSize() && !received.isEmpty()) {
+                batch.add(received.poll());
+            }
+            return batch;
+        }
+    }
+}
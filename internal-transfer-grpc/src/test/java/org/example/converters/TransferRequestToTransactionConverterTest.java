@@ -0,0 +1,74 @@
+package org.example.converters;
+
+import org.example.grpc.api.TransferRequest;
+import org.example.models.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TransferRequestToTransactionConverter Tests")
+class TransferRequestToTransactionConverterTest {
+
+    private TransferRequestToTransactionConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new TransferRequestToTransactionConverter();
+    }
+
+    @Test
+    @DisplayName("Should convert TransferRequest to Transaction successfully")
+    void shouldConvertTransferRequestToTransaction() {
+        // Given
+        TransferRequest request = TransferRequest.newBuilder()
+                .setCorrelationId(7L)
+                .setSourceAccountId(1001L)
+                .setDestinationAccountId(1002L)
+                .setAmount(50_000_000L)
+                .build();
+
+        // When
+        Transaction result = converter.convert(request);
+
+        // Then
+        assertThat(result.getSourceAccountId()).isEqualTo(1001L);
+        assertThat(result.getDestinationAccountId()).isEqualTo(1002L);
+        assertThat(result.getAmount()).isEqualByComparingTo("500.00");
+    }
+
+    @Test
+    @DisplayName("Should convert the smallest minor unit exactly")
+    void shouldConvertSmallestMinorUnit() {
+        // Given
+        TransferRequest request = TransferRequest.newBuilder()
+                .setSourceAccountId(2001L)
+                .setDestinationAccountId(2002L)
+                .setAmount(1L)
+                .build();
+
+        // When
+        Transaction result = converter.convert(request);
+
+        // Then
+        assertThat(result.getAmount()).isEqualByComparingTo("0.00001");
+    }
+
+    @Test
+    @DisplayName("Should convert the largest amount exactly")
+    void shouldConvertLargestAmount() {
+        // Given
+        TransferRequest request = TransferRequest.newBuilder()
+                .setSourceAccountId(3001L)
+                .setDestinationAccountId(3002L)
+                .setAmount(Long.MAX_VALUE)
+                .build();
+
+        // When
+        Transaction result = converter.convert(request);
+
+        // Then
+        assertThat(result.getAmount()).isEqualByComparingTo("92233720368547.75807");
+    }
+}
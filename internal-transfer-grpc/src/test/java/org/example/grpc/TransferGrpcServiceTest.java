@@ -0,0 +1,326 @@
+package org.example.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import org.example.AccountNotFoundException;
+import org.example.BusinessException;
+import org.example.InsufficientBalanceException;
+import org.example.config.TransferProperties;
+import org.example.converters.TransferRequestToTransactionConverter;
+import org.example.grpc.api.TransferRequest;
+import org.example.grpc.api.TransferResult;
+import org.example.grpc.api.TransferServiceGrpc;
+import org.example.models.Transaction;
+import org.example.models.TransferOutcome;
+import org.example.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.grpc.server.exception.GrpcExceptionHandlerInterceptor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransferGrpcService Tests")
+class TransferGrpcServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    private TransferProperties transferProperties;
+    private TransferGrpcService transferGrpcService;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        transferProperties = new TransferProperties();
+        transferProperties.getGrpc().setAppliers(2);
+        lenient().when(transactionService.transferEach(anyList())).thenAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            return transactions.stream().map(this::transferAlone).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        transferGrpcService.stop();
+    }
+
+    @Test
+    @DisplayName("Should apply a single transfer and answer with its correlation id")
+    void shouldApplySingleTransfer() throws Exception {
+        // Given
+        start();
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        // When
+        TransferResult result = TransferServiceGrpc.newBlockingStub(channel).transfer(request(7L, 1001L, 1_250_000L));
+
+        // Then
+        assertThat(result.getCorrelationId()).isEqualTo(7L);
+        assertThat(result.getOutcome()).isEqualTo(TransferResult.Outcome.APPLIED);
+        verify(transactionService).transferAmount(captor.capture());
+        assertThat(captor.getValue().getSourceAccountId()).isEqualTo(1001L);
+        assertThat(captor.getValue().getAmount()).isEqualByComparingTo("12.5");
+    }
+
+    @Test
+    @DisplayName("Should fail a rejected single transfer with a matching status and error code")
+    void shouldFailRejectedSingleTransfer() throws Exception {
+        // Given
+        start();
+        doThrow(new AccountNotFoundException("Source account not found: 1001"))
+                .when(transactionService).transferAmount(any());
+
+        // When / Then
+        assertThatThrownBy(() -> TransferServiceGrpc.newBlockingStub(channel).transfer(request(7L, 1001L, 100L)))
+                .isInstanceOfSatisfying(StatusRuntimeException.class, e -> {
+                    assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND);
+                    assertThat(e.getStatus().getDescription()).isEqualTo("Source account not found: 1001");
+                    assertThat(e.getTrailers().get(BusinessExceptionGrpcHandler.ERROR_CODE)).isEqualTo("AC_01");
+                });
+    }
+
+    @Test
+    @DisplayName("Should answer every streamed transfer in the order it was sent")
+    void shouldAnswerStreamedTransfersInOrder() throws Exception {
+        // Given
+        start();
+        RecordingObserver results = new RecordingObserver();
+        StreamObserver<TransferRequest> requests = TransferServiceGrpc.newStub(channel).streamTransfers(results);
+
+        // When
+        for (long correlationId = 0; correlationId < 500; correlationId++) {
+            requests.onNext(request(correlationId, 1001L, 100L));
+        }
+        requests.onCompleted();
+
+        // Then
+        assertThat(results.completion.get(5, TimeUnit.SECONDS))
+                .extracting(TransferResult::getCorrelationId)
+                .containsExactlyElementsOf(LongStream.range(0, 500).boxed().toList());
+        assertThat(results.results).extracting(TransferResult::getOutcome).containsOnly(TransferResult.Outcome.APPLIED);
+    }
+
+    @Test
+    @DisplayName("Should answer a rejected streamed transfer with its error and keep the stream open")
+    void shouldAnswerRejectedStreamedTransfer() throws Exception {
+        // Given
+        start();
+        lenient().doThrow(new InsufficientBalanceException("Insufficient balance in source account: 1002"))
+                .when(transactionService).transferAmount(argThat(transaction -> transaction.getSourceAccountId() == 1002L));
+        lenient().doThrow(new IllegalStateException("Connection refused"))
+                .when(transactionService).transferAmount(argThat(transaction -> transaction.getSourceAccountId() == 1003L));
+        RecordingObserver results = new RecordingObserver();
+        StreamObserver<TransferRequest> requests = TransferServiceGrpc.newStub(channel).streamTransfers(results);
+
+        // When
+        requests.onNext(request(1L, 1001L, 100L));
+        requests.onNext(request(2L, 1002L, 100L));
+        requests.onNext(request(3L, 1003L, 100L));
+        requests.onNext(request(4L, 1004L, 100L));
+        requests.onCompleted();
+
+        // Then
+        assertThat(results.completion.get(5, TimeUnit.SECONDS))
+                .extracting(TransferResult::getCorrelationId, TransferResult::getOutcome, TransferResult::getErrorCode, TransferResult::getMessage)
+                .containsExactly(
+                        tuple(1L, TransferResult.Outcome.APPLIED, "", ""),
+                        tuple(2L, TransferResult.Outcome.REJECTED, "AC_03", "Insufficient balance in source account: 1002"),
+                        tuple(3L, TransferResult.Outcome.FAILED, "", "Transfer failed"),
+                        tuple(4L, TransferResult.Outcome.APPLIED, "", ""));
+    }
+
+    @Test
+    @DisplayName("Should apply transfers that arrived while others were applied together, each with its own outcome")
+    void shouldBatchTransfersThatArriveTogether() throws Exception {
+        // Given
+        start();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstStarted.countDown();
+            release.await();
+            return null;
+        }).when(transactionService).transferAmount(any());
+        doReturn(List.of(
+                TransferOutcome.applied(),
+                TransferOutcome.rejected("AC_03", "Insufficient balance in source account: 1001"),
+                TransferOutcome.applied(),
+                TransferOutcome.failed("Connection refused")))
+                .when(transactionService).transferEach(anyList());
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.captor();
+        RecordingObserver results = new RecordingObserver();
+        StreamObserver<TransferRequest> requests = TransferServiceGrpc.newStub(channel).streamTransfers(results);
+
+        // When
+        requests.onNext(request(1L, 1001L, 100L));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long correlationId = 2; correlationId <= 5; correlationId++) {
+            requests.onNext(request(correlationId, 1001L, 100L));
+        }
+        release.countDown();
+        requests.onCompleted();
+
+        // Then
+        assertThat(results.completion.get(5, TimeUnit.SECONDS))
+                .extracting(TransferResult::getCorrelationId, TransferResult::getOutcome, TransferResult::getErrorCode)
+                .containsExactly(
+                        tuple(1L, TransferResult.Outcome.APPLIED, ""),
+                        tuple(2L, TransferResult.Outcome.APPLIED, ""),
+                        tuple(3L, TransferResult.Outcome.REJECTED, "AC_03"),
+                        tuple(4L, TransferResult.Outcome.APPLIED, ""),
+                        tuple(5L, TransferResult.Outcome.FAILED, ""));
+        verify(transactionService).transferEach(captor.capture());
+        assertThat(captor.getValue()).hasSize(4);
+        verify(transactionService).transferAmount(any());
+    }
+
+    @Test
+    @DisplayName("Should stop reading a stream once max-in-flight transfers are unanswered")
+    void shouldApplyBackpressureToFastClients() throws Exception {
+        // Given
+        transferProperties.getGrpc().setMaxInFlight(2);
+        start();
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(transactionService).transferAmount(any());
+        RecordingObserver results = new RecordingObserver();
+        StreamObserver<TransferRequest> requests = TransferServiceGrpc.newStub(channel).streamTransfers(results);
+
+        // When
+        for (long correlationId = 1; correlationId <= 3; correlationId++) {
+            requests.onNext(request(correlationId, 1001L, 100L));
+        }
+        boolean readyWhileBlocked = results.requests.isReady();
+        release.countDown();
+        requests.onCompleted();
+
+        // Then
+        assertThat(readyWhileBlocked).isFalse();
+        assertThat(results.completion.get(5, TimeUnit.SECONDS)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should stop applying a stream the client cancelled")
+    void shouldStopApplyingCancelledStream() throws Exception {
+        // Given
+        start();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstStarted.countDown();
+            release.await();
+            return null;
+        }).when(transactionService).transferAmount(any());
+        RecordingObserver results = new RecordingObserver();
+        TransferServiceGrpc.newStub(channel).streamTransfers(results);
+
+        // When
+        results.requests.onNext(request(1L, 1001L, 100L));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        results.requests.onNext(request(2L, 1001L, 100L));
+        results.requests.cancel("Client shutting down", null);
+        release.countDown();
+
+        // Then
+        assertThat(results.completion).failsWithin(5, TimeUnit.SECONDS);
+        verify(transactionService, after(500).times(1)).transferAmount(any());
+        verify(transactionService, never()).transferEach(anyList());
+    }
+
+    private TransferOutcome transferAlone(Transaction transaction) {
+        try {
+            transactionService.transferAmount(transaction);
+            return TransferOutcome.applied();
+        } catch (BusinessException e) {
+            return TransferOutcome.rejected(e.getCode(), e.getMessage());
+        } catch (RuntimeException e) {
+            return TransferOutcome.failed(e.getMessage());
+        }
+    }
+
+    private void start() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        transferGrpcService = new TransferGrpcService(transactionService, new TransferRequestToTransactionConverter(), transferProperties);
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(transferGrpcService,
+                        new GrpcExceptionHandlerInterceptor(new BusinessExceptionGrpcHandler())))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    private static TransferRequest request(long correlationId, long sourceAccountId, long amount) {
+        return TransferRequest.newBuilder()
+                .setCorrelationId(correlationId)
+                .setSourceAccountId(sourceAccountId)
+                .setDestinationAccountId(2001L)
+                .setAmount(amount)
+                .build();
+    }
+
+    private static class RecordingObserver implements ClientResponseObserver<TransferRequest, TransferResult> {
+        private final List<TransferResult> results = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<List<TransferResult>> completion = new CompletableFuture<>();
+        private ClientCallStreamObserver<TransferRequest> requests;
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<TransferRequest> requests) {
+            this.requests = requests;
+        }
+
+        @Override
+        public void onNext(TransferResult result) {
+            results.add(result);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            completion.completeExceptionally(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            completion.complete(results);
+        }
+    }
+}
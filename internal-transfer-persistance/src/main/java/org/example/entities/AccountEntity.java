@@ -1,23 +1,91 @@
 package org.example.entities;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 
+/**
+ * Keyed by the account id callers use, so looking an account up is a primary key read that
+ * the persistence context and, when enabled, the second-level cache can answer.
+ * <p>
+ * Rows changed through a managed entity, as the locking transfer modes do, are updated in the
+ * second-level cache when their transaction commits. Bulk JPQL updates, such as those of
+ * {@code CONDITIONAL_UPDATE}, make Hibernate evict the whole {@link #CACHE_REGION} region.
+ */
 @Entity
 @Table(name = "accounts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AccountEntity.CACHE_REGION)
 @Data
 @Accessors(chain = true)
-public class AccountEntity {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+public class AccountEntity implements Persistable<Long> {
+    public static final String CACHE_REGION = "accounts";
 
-    @Column(nullable = false, unique = true)
+    @Id
     private Long accountId;
 
     @Column(nullable = false, precision = 19, scale = 5)
     private BigDecimal balance;
+
+    /**
+     * The balance the account was opened with. It never changes, so the current balance can
+     * be reconciled against it and the account's transactions. Defaults to {@link #balance}
+     * when the account is first persisted.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, precision = 19, scale = 5)
+    private BigDecimal initialBalance;
+
+    /**
+     * A hot account keeps its balance in {@link AccountStripeEntity} rows instead of
+     * {@link #balance}, which stays at zero.
+     */
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean hot;
+
+    /**
+     * The id is assigned rather than generated, so Spring Data cannot tell a new account from
+     * a stored one by a null id and would SELECT before every insert without this.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+
+    @Override
+    public Long getId() {
+        return accountId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PrePersist
+    void defaultInitialBalance() {
+        if (initialBalance == null) {
+            initialBalance = balance;
+        }
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
 }
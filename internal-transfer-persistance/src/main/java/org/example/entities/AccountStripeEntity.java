@@ -0,0 +1,27 @@
+package org.example.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "account_stripes", uniqueConstraints = @UniqueConstraint(columnNames = {"accountId", "stripeIndex"}))
+@Data
+@Accessors(chain = true)
+public class AccountStripeEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_stripes_seq")
+    @SequenceGenerator(name = "account_stripes_seq", sequenceName = "account_stripes_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private int stripeIndex;
+
+    @Column(nullable = false, precision = 19, scale = 5)
+    private BigDecimal balance;
+}
@@ -0,0 +1,39 @@
+package org.example.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A transfer that completed under a client-supplied idempotency key. Inserted in the same
+ * database transaction as the transfer, so the key exists exactly when the transfer committed.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@Accessors(chain = true)
+public class IdempotencyKeyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_keys_seq")
+    @SequenceGenerator(name = "idempotency_keys_seq", sequenceName = "idempotency_keys_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private Long sourceAccountId;
+
+    @Column(nullable = false)
+    private Long destinationAccountId;
+
+    @Column(nullable = false, precision = 19, scale = 5)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
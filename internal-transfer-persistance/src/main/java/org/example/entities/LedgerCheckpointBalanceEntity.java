@@ -0,0 +1,31 @@
+package org.example.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "ledger_checkpoint_balances")
+@IdClass(LedgerCheckpointBalanceEntity.Key.class)
+@Data
+@Accessors(chain = true)
+public class LedgerCheckpointBalanceEntity {
+
+    @Id
+    private Long checkpointId;
+
+    @Id
+    private Long accountId;
+
+    @Column(nullable = false, precision = 19, scale = 5)
+    private BigDecimal balance;
+
+    @Data
+    public static class Key implements Serializable {
+        private Long checkpointId;
+        private Long accountId;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+/**
+ * A checkpoint of every account's ledger balance: its initial balance plus the successful
+ * transactions folded into this or an earlier checkpoint. The balances are
+ * {@link LedgerCheckpointBalanceEntity} rows, and the folded transactions carry the
+ * checkpoint's id in {@link TransactionEntity#getCheckpointId()}.
+ */
+@Entity
+@Table(name = "ledger_checkpoints")
+@Data
+@Accessors(chain = true)
+public class LedgerCheckpointEntity {
+
+    @Id
+    private Long id;
+
+    /**
+     * Every transaction folded into this checkpoint was recorded before this time.
+     */
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+
+    /**
+     * Highest transaction id folded into this or an earlier checkpoint.
+     */
+    @Column(nullable = false)
+    private Long highWaterMark;
+}
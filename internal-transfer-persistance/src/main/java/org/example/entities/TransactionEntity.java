@@ -1,24 +1,38 @@
 package org.example.entities;
 
 import jakarta.persistence.*;
-import org.hibernate.resource.transaction.spi.TransactionStatus;
+import lombok.Data;
+import lombok.experimental.Accessors;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "transactions_source_account_idx", columnList = "sourceAccountId, timestamp, id"),
+        @Index(name = "transactions_destination_account_idx", columnList = "destinationAccountId, timestamp, id"),
+        @Index(name = "transactions_checkpoint_idx", columnList = "checkpointId")
+})
+@Data
+@Accessors(chain = true)
 public class TransactionEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
+    /**
+     * Client-visible id of a transfer submitted through the queue; null for synchronous transfers.
+     */
+    @Column(unique = true)
+    private Long transferId;
+
     @Column(nullable = false)
-    private String sourceAccountId;
+    private Long sourceAccountId;
 
     @Column(nullable = false)
-    private String destinationAccountId;
+    private Long destinationAccountId;
 
     @Column(nullable = false, precision = 19, scale = 5)
     private BigDecimal amount;
@@ -29,4 +43,10 @@ public class TransactionEntity {
 
     @Column(nullable = false)
     private LocalDateTime timestamp;
+
+    /**
+     * The {@link LedgerCheckpointEntity} this transaction is folded into; null until the next
+     * checkpoint is taken.
+     */
+    private Long checkpointId;
 }
@@ -0,0 +1,7 @@
+package org.example.entities;
+
+public enum TransactionStatus {
+    PENDING,
+    SUCCESS,
+    FAILED
+}
@@ -1,17 +1,70 @@
 package org.example.repositories;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.example.entities.AccountEntity;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<AccountEntity, Long> {
-    Optional<AccountEntity> findByAccountId(Long accountId);
+    /**
+     * Inserts the account in one statement unless its account id is taken, leaving the primary
+     * key to decide between concurrent inserts of the same id.
+     * <p>
+     * Hibernate evicts every second-level cache region touched by a native statement, and all
+     * of them if it cannot tell which. A row this inserts was not there to be cached, so the
+     * statement is tied to a query space no entity uses and no cached account is evicted.
+     *
+     * @return 0 if the account already exists
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "account_inserts"))
+    @Query(value = "INSERT INTO accounts (account_id, balance, initial_balance, hot) VALUES (:accountId, :balance, :balance, false) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(Long accountId, BigDecimal balance);
 
+    /**
+     * Locks the account row. Hot accounts are never returned: their balance lives in
+     * stripes and their row is not locked for transfers.
+     */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT a FROM AccountEntity a WHERE a.accountId = :accountId")
+    @Query("SELECT a FROM AccountEntity a WHERE a.accountId = :accountId AND a.hot = false")
     Optional<AccountEntity> findByAccountIdForUpdate(Long accountId);
+
+    /**
+     * Locks every requested account in one round trip. Rows are locked in ascending
+     * account id order, so concurrent callers never wait on each other in a cycle.
+     * Hot accounts are left out, as in {@link #findByAccountIdForUpdate}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM AccountEntity a WHERE a.accountId IN :accountIds AND a.hot = false ORDER BY a.accountId")
+    List<AccountEntity> findAllByAccountIdInForUpdate(Collection<Long> accountIds);
+
+    /**
+     * Subtracts {@code amount} in a single statement, but only if the account holds at least
+     * that much. The row is locked only for the duration of the UPDATE's transaction.
+     *
+     * @return 0 if the account does not exist, is hot, or holds less than {@code amount}
+     */
+    @Modifying
+    @Query("UPDATE AccountEntity a SET a.balance = a.balance - :amount WHERE a.accountId = :accountId AND a.hot = false AND a.balance >= :amount")
+    int debitIfSufficient(Long accountId, BigDecimal amount);
+
+    /**
+     * @return 0 if the account does not exist or is hot
+     */
+    @Modifying
+    @Query("UPDATE AccountEntity a SET a.balance = a.balance + :amount WHERE a.accountId = :accountId AND a.hot = false")
+    int credit(Long accountId, BigDecimal amount);
 }
@@ -0,0 +1,38 @@
+package org.example.repositories;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.entities.AccountStripeEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface AccountStripeRepository extends JpaRepository<AccountStripeEntity, Long> {
+    int countByAccountId(Long accountId);
+
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM AccountStripeEntity s WHERE s.accountId = :accountId")
+    BigDecimal sumBalanceByAccountId(Long accountId);
+
+    /**
+     * Locks the richest stripe that can cover {@code amount} on its own, skipping stripes
+     * another transaction already holds instead of waiting for them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM AccountStripeEntity s WHERE s.accountId = :accountId AND s.balance >= :amount ORDER BY s.balance DESC")
+    List<AccountStripeEntity> findDebitCandidatesSkipLocked(Long accountId, BigDecimal amount, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountStripeEntity s WHERE s.accountId = :accountId ORDER BY s.stripeIndex")
+    List<AccountStripeEntity> findAllByAccountIdForUpdate(Long accountId);
+
+    @Modifying
+    @Query("UPDATE AccountStripeEntity s SET s.balance = s.balance + :amount WHERE s.accountId = :accountId AND s.stripeIndex = :stripeIndex")
+    int creditStripe(Long accountId, int stripeIndex, BigDecimal amount);
+}
@@ -0,0 +1,10 @@
+package org.example.repositories;
+
+import org.example.entities.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, Long> {
+    Optional<IdempotencyKeyEntity> findByIdempotencyKey(String idempotencyKey);
+}
@@ -1,7 +1,41 @@
 package org.example.repositories;
 
 import org.example.entities.TransactionEntity;
+import org.example.entities.TransactionStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface TransactionRepository extends JpaRepository<TransactionEntity, Long> {}
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
+public interface TransactionRepository extends JpaRepository<TransactionEntity, Long> {
+    @Query("SELECT t.status FROM TransactionEntity t WHERE t.transferId = :transferId")
+    Optional<TransactionStatus> findStatusByTransferId(Long transferId);
+
+    /**
+     * Transfers sent by the account from {@code from} on and strictly before the
+     * {@code (beforeTimestamp, beforeId)} position, newest first. Served by a range scan of
+     * the {@code (sourceAccountId, timestamp, id)} index that stops after {@code limit} rows,
+     * however far back the position is.
+     */
+    @Query("""
+            SELECT t FROM TransactionEntity t
+            WHERE t.sourceAccountId = :accountId
+              AND t.timestamp >= :from
+              AND (t.timestamp, t.id) < (:beforeTimestamp, :beforeId)
+            ORDER BY t.timestamp DESC, t.id DESC""")
+    List<TransactionEntity> findSentBefore(Long accountId, LocalDateTime from, LocalDateTime beforeTimestamp, Long beforeId, Limit limit);
+
+    /**
+     * Transfers received by the account, as {@link #findSentBefore} does for sent ones.
+     */
+    @Query("""
+            SELECT t FROM TransactionEntity t
+            WHERE t.destinationAccountId = :accountId
+              AND t.timestamp >= :from
+              AND (t.timestamp, t.id) < (:beforeTimestamp, :beforeId)
+            ORDER BY t.timestamp DESC, t.id DESC""")
+    List<TransactionEntity> findReceivedBefore(Long accountId, LocalDateTime from, LocalDateTime beforeTimestamp, Long beforeId, Limit limit);
+}
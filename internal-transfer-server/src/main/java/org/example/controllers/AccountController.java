@@ -2,21 +2,62 @@ package org.example.controllers;
 
 import lombok.RequiredArgsConstructor;
 import org.example.api.AccountsApi;
+import org.example.converters.AccountRequestStreamToAccountsConverter;
 import org.example.converters.AccountRequestToAccountConverter;
 import org.example.converters.AccountToAccountResponseConverter;
+import org.example.converters.BulkAccountResultToBulkAccountCreateResponseConverter;
+import org.example.converters.StatementToStreamingResponseBodyConverter;
+import org.example.converters.TransactionCursorConverter;
+import org.example.converters.TransactionHistoryPageToTransactionHistoryResponseConverter;
 import org.example.model.AccountCreateRequest;
 import org.example.model.AccountResponse;
+import org.example.model.BulkAccountCreateResponse;
+import org.example.model.HotAccountRequest;
+import org.example.model.TransactionHistoryResponse;
 import org.example.models.Account;
+import org.example.models.BulkAccountResult;
+import org.example.models.Statement;
+import org.example.models.TransactionCursor;
+import org.example.models.TransactionHistoryPage;
 import org.example.service.AccountService;
+import org.example.service.BulkAccountService;
+import org.example.service.StatementService;
+import org.example.service.TransactionHistoryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
 
 @RestController
 @RequiredArgsConstructor
 public class AccountController implements AccountsApi {
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final AccountService accountService;
     private final AccountRequestToAccountConverter accountRequestToAccountConverter;
     private final AccountToAccountResponseConverter accountToAccountResponseConverter;
+    private final BulkAccountService bulkAccountService;
+    private final AccountRequestStreamToAccountsConverter accountRequestStreamToAccountsConverter;
+    private final BulkAccountResultToBulkAccountCreateResponseConverter bulkAccountResultToBulkAccountCreateResponseConverter;
+    private final TransactionHistoryService transactionHistoryService;
+    private final TransactionCursorConverter transactionCursorConverter;
+    private final TransactionHistoryPageToTransactionHistoryResponseConverter transactionHistoryPageToTransactionHistoryResponseConverter;
+    private final StatementService statementService;
+    private final StatementToStreamingResponseBodyConverter statementToStreamingResponseBodyConverter;
 
     @Override
     public ResponseEntity<Void> createAccount(AccountCreateRequest accountCreateRequest) {
@@ -25,10 +66,66 @@ public class AccountController implements AccountsApi {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Not generated from the API spec, since the generated method would only get the body
+     * once it is fully read; see {@code BulkAccountCreateResponse} in the spec.
+     */
+    @PostMapping(value = "/accounts/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkAccountCreateResponse> createAccounts(InputStream body) {
+        BulkAccountResult result = bulkAccountService.createAccounts(accountRequestStreamToAccountsConverter.convert(body));
+        return ResponseEntity.ok(bulkAccountResultToBulkAccountCreateResponseConverter.convert(result));
+    }
+
     @Override
-    public ResponseEntity<AccountResponse> getAccountById(Long accountId) {
-        Account account = accountService.getAccountByAccountNumber(accountId);
+    public ResponseEntity<AccountResponse> getAccountById(Long accountId, Long maxStalenessMs) {
+        Duration maxStaleness = maxStalenessMs == null ? null : Duration.ofMillis(maxStalenessMs);
+        Account account = accountService.getAccountByAccountNumber(accountId, maxStaleness);
         AccountResponse accountResponse = accountToAccountResponseConverter.convert(account);
         return ResponseEntity.ok(accountResponse);
     }
+
+    @Override
+    public ResponseEntity<Void> markAccountHot(Long accountId, HotAccountRequest hotAccountRequest) {
+        accountService.markAccountHot(accountId, hotAccountRequest.getStripes());
+        return ResponseEntity.ok().build();
+    }
+
+    @Override
+    public ResponseEntity<TransactionHistoryResponse> getAccountTransactions(Long accountId, OffsetDateTime from, OffsetDateTime to,
+                                                                             String cursor, Integer limit) {
+        TransactionCursor transactionCursor = cursor == null ? null : transactionCursorConverter.convert(cursor);
+        TransactionHistoryPage page = transactionHistoryService.getTransactions(accountId, toLocalDateTime(from), toLocalDateTime(to),
+                transactionCursor, limit);
+        return ResponseEntity.ok(transactionHistoryPageToTransactionHistoryResponseConverter.convert(page));
+    }
+
+    /**
+     * Not generated from the API spec, so the statement can be streamed; see
+     * {@code StatementLineResponse} in the spec. Answers CSV unless the client accepts NDJSON.
+     */
+    @GetMapping(value = "/accounts/{account_id}/statement", produces = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> getStatement(
+            @PathVariable("account_id") Long accountId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Statement statement = statementService.getStatement(accountId, toLocalDateTime(from), toLocalDateTime(to));
+        boolean ndjson = accept != null && MediaType.parseMediaTypes(accept).stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        String fileName = "statement-" + accountId + (ndjson ? ".ndjson" : ".csv");
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(ndjson
+                        ? statementToStreamingResponseBodyConverter.convertToNdjson(statement)
+                        : statementToStreamingResponseBodyConverter.convertToCsv(statement));
+    }
+
+    /**
+     * Transaction timestamps are stored in the server's time zone.
+     */
+    private static LocalDateTime toLocalDateTime(OffsetDateTime timestamp) {
+        return timestamp == null ? null : timestamp.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
 }
@@ -0,0 +1,21 @@
+package org.example.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.example.api.AdminApi;
+import org.example.converters.ReconciliationReportToReconciliationResponseConverter;
+import org.example.model.ReconciliationResponse;
+import org.example.service.ReconciliationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class AdminController implements AdminApi {
+    private final ReconciliationService reconciliationService;
+    private final ReconciliationReportToReconciliationResponseConverter reconciliationReportToReconciliationResponseConverter;
+
+    @Override
+    public ResponseEntity<ReconciliationResponse> reconcileLedger() {
+        return ResponseEntity.ok(reconciliationReportToReconciliationResponseConverter.convert(reconciliationService.reconcile()));
+    }
+}
@@ -2,23 +2,63 @@ package org.example.controllers;
 
 import lombok.RequiredArgsConstructor;
 import org.example.api.TransactionsApi;
+import org.example.InvalidIdempotencyKeyException;
 import org.example.converters.TransactionRequestToTransactionConverter;
+import org.example.converters.TransactionToTransactionStatusResponseConverter;
+import org.example.model.TransactionBatchRequest;
 import org.example.model.TransactionRequest;
+import org.example.model.TransactionStatusResponse;
 import org.example.models.Transaction;
+import org.example.service.AsyncTransactionService;
+import org.example.service.IdempotentTransactionService;
 import org.example.service.TransactionService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 public class TransactionController implements TransactionsApi {
     private final TransactionService transactionService;
+    private final AsyncTransactionService asyncTransactionService;
+    private final IdempotentTransactionService idempotentTransactionService;
     private final TransactionRequestToTransactionConverter transactionRequestToTransactionConverter;
+    private final TransactionToTransactionStatusResponseConverter transactionToTransactionStatusResponseConverter;
 
     @Override
-    public ResponseEntity<Void> createTransaction(TransactionRequest transactionRequest) {
+    public ResponseEntity<Void> createTransaction(TransactionRequest transactionRequest, Boolean async, String idempotencyKey) {
         Transaction transaction = transactionRequestToTransactionConverter.convert(transactionRequest);
+        if (idempotencyKey != null) {
+            if (Boolean.TRUE.equals(async)) {
+                throw new InvalidIdempotencyKeyException("Idempotency-Key is not supported with async=true");
+            }
+            idempotentTransactionService.transferAmount(transaction, idempotencyKey);
+            return ResponseEntity.ok().build();
+        }
+        if (Boolean.TRUE.equals(async)) {
+            long transferId = asyncTransactionService.submit(transaction);
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{transferId}").buildAndExpand(transferId).toUri())
+                    .build();
+        }
         transactionService.transferAmount(transaction);
         return ResponseEntity.ok().build();
     }
+
+    @Override
+    public ResponseEntity<TransactionStatusResponse> getTransactionStatus(Long transferId) {
+        Transaction transaction = asyncTransactionService.getTransaction(transferId);
+        return ResponseEntity.ok(transactionToTransactionStatusResponseConverter.convert(transaction));
+    }
+
+    @Override
+    public ResponseEntity<Void> createTransactionBatch(TransactionBatchRequest transactionBatchRequest) {
+        List<Transaction> transactions = transactionBatchRequest.getTransactions().stream()
+                .map(transactionRequestToTransactionConverter::convert)
+                .toList();
+        transactionService.transferBatch(transactions);
+        return ResponseEntity.ok().build();
+    }
 }
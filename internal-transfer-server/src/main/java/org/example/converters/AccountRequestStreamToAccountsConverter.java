@@ -0,0 +1,61 @@
+package org.example.converters;
+
+import lombok.RequiredArgsConstructor;
+import org.example.InvalidBulkInputException;
+import org.example.model.AccountCreateRequest;
+import org.example.models.Account;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads {@link AccountCreateRequest}s one at a time from a JSON array or from
+ * newline-delimited JSON, so a bulk import never holds the whole body in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountRequestStreamToAccountsConverter {
+    private final ObjectMapper objectMapper;
+    private final AccountRequestToAccountConverter accountRequestToAccountConverter;
+
+    /**
+     * @return the accounts in input order; {@code hasNext} and {@code next} throw
+     * {@link InvalidBulkInputException} when the input is malformed
+     */
+    public Iterator<Account> convert(InputStream body) {
+        MappingIterator<AccountCreateRequest> requests;
+        try {
+            requests = objectMapper.readerFor(AccountCreateRequest.class).readValues(body);
+        } catch (JacksonException e) {
+            throw new InvalidBulkInputException("Malformed input: " + e.getOriginalMessage());
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return requests.hasNextValue();
+                } catch (JacksonException e) {
+                    throw new InvalidBulkInputException("Malformed input: " + e.getOriginalMessage());
+                }
+            }
+
+            @Override
+            public Account next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return accountRequestToAccountConverter.convert(requests.nextValue());
+                } catch (JacksonException e) {
+                    throw new InvalidBulkInputException("Malformed input: " + e.getOriginalMessage());
+                }
+            }
+        };
+    }
+}
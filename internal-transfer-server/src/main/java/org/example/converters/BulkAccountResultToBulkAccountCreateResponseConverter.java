@@ -0,0 +1,16 @@
+package org.example.converters;
+
+import org.example.model.BulkAccountCreateError;
+import org.example.model.BulkAccountCreateResponse;
+import org.example.models.BulkAccountResult;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BulkAccountResultToBulkAccountCreateResponseConverter {
+    public BulkAccountCreateResponse convert(BulkAccountResult result) {
+        return new BulkAccountCreateResponse(result.getCreated(), result.getFailures().stream()
+                .map(failure -> new BulkAccountCreateError(failure.getIndex(), failure.getCode(), failure.getMessage())
+                        .accountId(failure.getAccountId()))
+                .toList());
+    }
+}
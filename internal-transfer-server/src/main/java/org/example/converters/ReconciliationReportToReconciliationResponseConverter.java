@@ -0,0 +1,33 @@
+package org.example.converters;
+
+import org.example.model.ReconciliationMismatch;
+import org.example.model.ReconciliationResponse;
+import org.example.models.ReconciliationReport;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReconciliationReportToReconciliationResponseConverter {
+
+    public ReconciliationResponse convert(ReconciliationReport report) {
+        ReconciliationResponse reconciliationResponse = new ReconciliationResponse();
+        reconciliationResponse.setConsistent(report.isConsistent());
+        reconciliationResponse.setAccountsChecked(report.getAccountsChecked());
+        reconciliationResponse.setRanges(report.getRanges());
+        reconciliationResponse.setTotalBalance(report.getTotalBalance());
+        reconciliationResponse.setTotalInitialBalance(report.getTotalInitialBalance());
+        reconciliationResponse.setMismatchCount(report.getMismatchCount());
+        reconciliationResponse.setMismatches(report.getMismatches().stream()
+                .map(ReconciliationReportToReconciliationResponseConverter::toResponse)
+                .toList());
+        reconciliationResponse.setElapsedMs(report.getElapsedMillis());
+        return reconciliationResponse;
+    }
+
+    private static ReconciliationMismatch toResponse(ReconciliationReport.Mismatch mismatch) {
+        ReconciliationMismatch reconciliationMismatch = new ReconciliationMismatch();
+        reconciliationMismatch.setAccountId(mismatch.getAccountId());
+        reconciliationMismatch.setBalance(mismatch.getBalance());
+        reconciliationMismatch.setExpectedBalance(mismatch.getExpectedBalance());
+        return reconciliationMismatch;
+    }
+}
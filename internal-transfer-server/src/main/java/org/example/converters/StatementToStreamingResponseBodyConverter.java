@@ -0,0 +1,92 @@
+package org.example.converters;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.StatementLineResponse;
+import org.example.model.TransactionStatus;
+import org.example.models.Statement;
+import org.example.models.StatementLine;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+/**
+ * Writes a {@link Statement} to the response line by line as it is read, so neither the
+ * statement nor its serialised form is ever held whole.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatementToStreamingResponseBodyConverter {
+    private static final String CSV_HEADER = "id,transfer_id,timestamp,source_account_id,destination_account_id,amount,status,running_balance\n";
+
+    private final ObjectMapper objectMapper;
+
+    public StreamingResponseBody convertToCsv(Statement statement) {
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            statement.forEachLine(line -> {
+                try {
+                    writer.append(Long.toString(line.id())).append(',')
+                            .append(line.transferId() == null ? "" : line.transferId().toString()).append(',')
+                            .append(toOffsetDateTime(line).toString()).append(',')
+                            .append(Long.toString(line.sourceAccountId())).append(',')
+                            .append(Long.toString(line.destinationAccountId())).append(',')
+                            .append(line.amount().toPlainString()).append(',')
+                            .append(line.status().name()).append(',')
+                            .append(line.runningBalance().toPlainString()).append('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+    }
+
+    public StreamingResponseBody convertToNdjson(Statement statement) {
+        ObjectWriter objectWriter = objectMapper.writerFor(StatementLineResponse.class);
+        return outputStream -> {
+            OutputStream buffered = new BufferedOutputStream(outputStream);
+            statement.forEachLine(line -> {
+                try {
+                    buffered.write(objectWriter.writeValueAsBytes(toResponse(line)));
+                    buffered.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            buffered.flush();
+        };
+    }
+
+    private static StatementLineResponse toResponse(StatementLine line) {
+        StatementLineResponse statementLineResponse = new StatementLineResponse();
+        statementLineResponse.setId(line.id());
+        statementLineResponse.setTransferId(line.transferId());
+        statementLineResponse.setTimestamp(toOffsetDateTime(line));
+        statementLineResponse.setSourceAccountId(line.sourceAccountId());
+        statementLineResponse.setDestinationAccountId(line.destinationAccountId());
+        statementLineResponse.setAmount(line.amount());
+        statementLineResponse.setStatus(TransactionStatus.valueOf(line.status().name()));
+        statementLineResponse.setRunningBalance(line.runningBalance());
+        return statementLineResponse;
+    }
+
+    /**
+     * Transaction timestamps are stored in the server's time zone.
+     */
+    private static OffsetDateTime toOffsetDateTime(StatementLine line) {
+        return line.timestamp().atZone(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.converters;
+
+import org.example.InvalidPageRequestException;
+import org.example.models.TransactionCursor;
+import org.springframework.stereotype.Component;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Turns a {@link TransactionCursor} into the opaque {@code next_cursor} string clients pass
+ * back, and back again.
+ */
+@Component
+public class TransactionCursorConverter {
+    private static final int CURSOR_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    public String convert(TransactionCursor cursor) {
+        ByteBuffer bytes = ByteBuffer.allocate(CURSOR_BYTES)
+                .putLong(cursor.timestamp().toEpochSecond(ZoneOffset.UTC))
+                .putInt(cursor.timestamp().getNano())
+                .putLong(cursor.id());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    public TransactionCursor convert(String cursor) {
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            if (bytes.remaining() != CURSOR_BYTES) {
+                throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+            }
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(bytes.getLong(), bytes.getInt(), ZoneOffset.UTC);
+            return new TransactionCursor(timestamp, bytes.getLong());
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException e) {
+            throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.converters;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.TransactionHistoryResponse;
+import org.example.model.TransactionResponse;
+import org.example.model.TransactionStatus;
+import org.example.models.Transaction;
+import org.example.models.TransactionHistoryPage;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+
+@Component
+@RequiredArgsConstructor
+public class TransactionHistoryPageToTransactionHistoryResponseConverter {
+    private final TransactionCursorConverter transactionCursorConverter;
+
+    public TransactionHistoryResponse convert(TransactionHistoryPage page) {
+        TransactionHistoryResponse transactionHistoryResponse = new TransactionHistoryResponse();
+        transactionHistoryResponse.setTransactions(page.getTransactions().stream()
+                .map(TransactionHistoryPageToTransactionHistoryResponseConverter::toResponse)
+                .toList());
+        if (page.getNextCursor() != null) {
+            transactionHistoryResponse.setNextCursor(transactionCursorConverter.convert(page.getNextCursor()));
+        }
+        return transactionHistoryResponse;
+    }
+
+    private static TransactionResponse toResponse(Transaction transaction) {
+        TransactionResponse transactionResponse = new TransactionResponse();
+        transactionResponse.setTransferId(transaction.getTransferId());
+        transactionResponse.setSourceAccountId(transaction.getSourceAccountId());
+        transactionResponse.setDestinationAccountId(transaction.getDestinationAccountId());
+        transactionResponse.setAmount(transaction.getAmount());
+        transactionResponse.setStatus(TransactionStatus.valueOf(transaction.getStatus().name()));
+        transactionResponse.setTimestamp(transaction.getTimestamp().atZone(ZoneId.systemDefault()).toOffsetDateTime());
+        return transactionResponse;
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.converters;
+
+import org.example.model.TransactionStatus;
+import org.example.model.TransactionStatusResponse;
+import org.example.models.Transaction;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransactionToTransactionStatusResponseConverter {
+    public TransactionStatusResponse convert(Transaction transaction) {
+        TransactionStatusResponse transactionStatusResponse = new TransactionStatusResponse();
+        transactionStatusResponse.setTransferId(transaction.getTransferId());
+        transactionStatusResponse.setStatus(TransactionStatus.valueOf(transaction.getStatus().name()));
+        return transactionStatusResponse;
+    }
+}
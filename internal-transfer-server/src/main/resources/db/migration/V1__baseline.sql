@@ -0,0 +1,46 @@
+-- Schema as Hibernate created it with ddl-auto=update. Existing databases are baselined at this version.
+
+CREATE SEQUENCE account_stripes_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE idempotency_keys_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE transactions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE accounts (
+    account_id      BIGINT         NOT NULL,
+    balance         NUMERIC(19, 5) NOT NULL,
+    initial_balance NUMERIC(19, 5) DEFAULT 0 NOT NULL,
+    hot             BOOLEAN        DEFAULT FALSE NOT NULL,
+    PRIMARY KEY (account_id)
+);
+
+CREATE TABLE account_stripes (
+    id           BIGINT         NOT NULL,
+    account_id   BIGINT         NOT NULL,
+    stripe_index INTEGER        NOT NULL,
+    balance      NUMERIC(19, 5) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE (account_id, stripe_index)
+);
+
+CREATE TABLE transactions (
+    id                     BIGINT         NOT NULL,
+    transfer_id            BIGINT UNIQUE,
+    source_account_id      BIGINT         NOT NULL,
+    destination_account_id BIGINT         NOT NULL,
+    amount                 NUMERIC(19, 5) NOT NULL,
+    status                 VARCHAR(255)   NOT NULL CHECK (status IN ('PENDING', 'SUCCESS', 'FAILED')),
+    timestamp              TIMESTAMP(6)   NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX transactions_source_account_idx ON transactions (source_account_id, timestamp, id);
+CREATE INDEX transactions_destination_account_idx ON transactions (destination_account_id, timestamp, id);
+
+CREATE TABLE idempotency_keys (
+    id                     BIGINT         NOT NULL,
+    idempotency_key        VARCHAR(255)   NOT NULL UNIQUE,
+    source_account_id      BIGINT         NOT NULL,
+    destination_account_id BIGINT         NOT NULL,
+    amount                 NUMERIC(19, 5) NOT NULL,
+    created_at             TIMESTAMP(6)   NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,19 @@
+-- Ledger checkpoints: each transaction row is stamped with the checkpoint that folded it in.
+
+ALTER TABLE transactions ADD COLUMN checkpoint_id BIGINT;
+
+CREATE INDEX transactions_checkpoint_idx ON transactions (checkpoint_id);
+
+CREATE TABLE ledger_checkpoints (
+    id              BIGINT       NOT NULL,
+    taken_at        TIMESTAMP(6) NOT NULL,
+    high_water_mark BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE ledger_checkpoint_balances (
+    checkpoint_id BIGINT         NOT NULL,
+    account_id    BIGINT         NOT NULL,
+    balance       NUMERIC(19, 5) NOT NULL,
+    PRIMARY KEY (checkpoint_id, account_id)
+);
@@ -0,0 +1,45 @@
+package org.example;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the {@code production} profile, so Flyway builds the schema from the migrations and
+ * Hibernate validates every entity against it. An entity change without a matching migration
+ * fails the context.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:production;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.grpc.server.port=0",
+        "transfer.async.directory=target/production-profile-queue"
+})
+@ActiveProfiles("production")
+@DisplayName("Production Profile Schema Tests")
+class ProductionProfileSchemaTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    @DisplayName("Should migrate an empty database to a schema Hibernate validates")
+    void shouldMigrateSchemaThatValidates() {
+        // When
+        MigrationInfo[] applied = flyway.info().applied();
+
+        // Then
+        assertThat(Arrays.stream(applied).map(migration -> migration.getVersion().getVersion()))
+                .containsExactly("1", "2");
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.converters;
+
+import org.example.InvalidBulkInputException;
+import org.example.models.Account;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("AccountRequestStreamToAccountsConverter Tests")
+class AccountRequestStreamToAccountsConverterTest {
+
+    private AccountRequestStreamToAccountsConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new AccountRequestStreamToAccountsConverter(JsonMapper.builder().build(), new AccountRequestToAccountConverter());
+    }
+
+    @Test
+    @DisplayName("Should read accounts from a JSON array")
+    void shouldReadJsonArray() {
+        // Given
+        String body = "[{\"account_id\":1,\"initial_balance\":\"10.50\"},{\"account_id\":2,\"initial_balance\":\"20\"}]";
+
+        // When
+        List<Account> accounts = readAll(converter.convert(stream(body)));
+
+        // Then
+        assertThat(accounts).extracting(Account::getAccountId, Account::getBalance)
+                .containsExactly(tuple(1L, new BigDecimal("10.50")), tuple(2L, new BigDecimal("20")));
+    }
+
+    @Test
+    @DisplayName("Should read accounts from newline-delimited JSON")
+    void shouldReadNdjson() {
+        // Given
+        String body = "{\"account_id\":1,\"initial_balance\":\"10.50\"}\n{\"account_id\":2,\"initial_balance\":\"20\"}\n";
+
+        // When
+        List<Account> accounts = readAll(converter.convert(stream(body)));
+
+        // Then
+        assertThat(accounts).extracting(Account::getAccountId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should read nothing from an empty array")
+    void shouldReadEmptyArray() {
+        assertThat(converter.convert(stream("[]")).hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should return the accounts before malformed input and then fail")
+    void shouldFailAtMalformedInput() {
+        // Given
+        Iterator<Account> accounts = converter.convert(stream("{\"account_id\":1,\"initial_balance\":\"10\"}\n{\"account_id\":"));
+
+        // When
+        Account first = accounts.next();
+
+        // Then
+        assertThat(first.getAccountId()).isEqualTo(1L);
+        assertThatThrownBy(() -> {
+            accounts.hasNext();
+            accounts.next();
+        }).isInstanceOf(InvalidBulkInputException.class)
+                .hasMessageStartingWith("Malformed input");
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Account> readAll(Iterator<Account> accounts) {
+        List<Account> result = new ArrayList<>();
+        accounts.forEachRemaining(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.converters;
+
+import org.example.model.BulkAccountCreateResponse;
+import org.example.models.BulkAccountResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("BulkAccountResultToBulkAccountCreateResponseConverter Tests")
+class BulkAccountResultToBulkAccountCreateResponseConverterTest {
+
+    private BulkAccountResultToBulkAccountCreateResponseConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new BulkAccountResultToBulkAccountCreateResponseConverter();
+    }
+
+    @Test
+    @DisplayName("Should convert the created count and every failure")
+    void shouldConvertResult() {
+        // Given
+        BulkAccountResult result = new BulkAccountResult();
+        result.setCreated(3);
+        result.getFailures().add(new BulkAccountResult.Failure(1, 42L, "AC_02", "Account already exists: 42"));
+        result.getFailures().add(new BulkAccountResult.Failure(4, null, "AC_04", "account_id is required"));
+
+        // When
+        BulkAccountCreateResponse response = converter.convert(result);
+
+        // Then
+        assertThat(response.getCreated()).isEqualTo(3L);
+        assertThat(response.getErrors())
+                .extracting("index", "accountId", "code")
+                .containsExactly(tuple(1L, 42L, "AC_02"), tuple(4L, null, "AC_04"));
+    }
+}
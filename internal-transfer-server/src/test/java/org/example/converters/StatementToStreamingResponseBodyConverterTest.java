@@ -0,0 +1,78 @@
+package org.example.converters;
+
+import org.example.entities.TransactionStatus;
+import org.example.models.Statement;
+import org.example.models.StatementLine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StatementToStreamingResponseBodyConverter Tests")
+class StatementToStreamingResponseBodyConverterTest {
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2026, 3, 1, 12, 30);
+    private static final String OFFSET_TIMESTAMP = TIMESTAMP.atZone(ZoneId.systemDefault()).toOffsetDateTime().toString();
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final Statement statement = action -> List.of(
+            new StatementLine(1L, null, TIMESTAMP, 2L, 1L, new BigDecimal("5.00000"), TransactionStatus.SUCCESS, new BigDecimal("5.00000")),
+            new StatementLine(2L, 42L, TIMESTAMP, 1L, 2L, new BigDecimal("7.50000"), TransactionStatus.FAILED, new BigDecimal("5.00000"))
+    ).forEach(action);
+
+    private StatementToStreamingResponseBodyConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new StatementToStreamingResponseBodyConverter(jsonMapper);
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and one row per line")
+    void shouldWriteCsv() throws IOException {
+        // When
+        String csv = write(converter.convertToCsv(statement));
+
+        // Then
+        assertThat(csv).isEqualTo(
+                "id,transfer_id,timestamp,source_account_id,destination_account_id,amount,status,running_balance\n"
+                        + "1,," + OFFSET_TIMESTAMP + ",2,1,5.00000,SUCCESS,5.00000\n"
+                        + "2,42," + OFFSET_TIMESTAMP + ",1,2,7.50000,FAILED,5.00000\n");
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void shouldWriteNdjson() throws IOException {
+        // When
+        String ndjson = write(converter.convertToNdjson(statement));
+
+        // Then
+        String[] lines = ndjson.split("\n");
+        assertThat(ndjson).endsWith("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode second = jsonMapper.readTree(lines[1]);
+        assertThat(second.get("id").asLong()).isEqualTo(2L);
+        assertThat(second.get("transfer_id").asLong()).isEqualTo(42L);
+        assertThat(second.get("source_account_id").asLong()).isEqualTo(1L);
+        assertThat(second.get("amount").decimalValue()).isEqualByComparingTo("7.5");
+        assertThat(second.get("status").asString()).isEqualTo("FAILED");
+        assertThat(second.get("running_balance").decimalValue()).isEqualByComparingTo("5");
+    }
+
+    private static String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        body.writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
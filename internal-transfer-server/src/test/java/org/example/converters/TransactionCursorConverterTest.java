@@ -0,0 +1,47 @@
+package org.example.converters;
+
+import org.example.InvalidPageRequestException;
+import org.example.models.TransactionCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TransactionCursorConverter Tests")
+class TransactionCursorConverterTest {
+
+    private TransactionCursorConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new TransactionCursorConverter();
+    }
+
+    @Test
+    @DisplayName("Should convert a cursor to a string and back")
+    void shouldRoundTrip() {
+        // Given
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2026, 10, 17, 19, 24, 10, 241_123_456), 123_456_789L);
+
+        // When
+        String encoded = converter.convert(cursor);
+
+        // Then
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(converter.convert(encoded)).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not a cursor", "AAAA", "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"})
+    @DisplayName("Should reject malformed cursors")
+    void shouldRejectMalformedCursor(String cursor) {
+        assertThatThrownBy(() -> converter.convert(cursor))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+}
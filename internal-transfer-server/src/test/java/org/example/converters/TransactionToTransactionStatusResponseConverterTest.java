@@ -0,0 +1,41 @@
+package org.example.converters;
+
+import org.example.entities.TransactionStatus;
+import org.example.model.TransactionStatusResponse;
+import org.example.models.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TransactionToTransactionStatusResponseConverter Tests")
+class TransactionToTransactionStatusResponseConverterTest {
+
+    private TransactionToTransactionStatusResponseConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new TransactionToTransactionStatusResponseConverter();
+    }
+
+    @ParameterizedTest
+    @EnumSource(TransactionStatus.class)
+    @DisplayName("Should convert Transaction to TransactionStatusResponse for every status")
+    void shouldConvertTransactionToTransactionStatusResponse(TransactionStatus status) {
+        // Given
+        Transaction transaction = Transaction.builder()
+                .transferId(42L)
+                .status(status)
+                .build();
+
+        // When
+        TransactionStatusResponse result = converter.convert(transaction);
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.getTransferId()).isEqualTo(42L);
+        assertThat(result.getStatus().name()).isEqualTo(status.name());
+    }
+}
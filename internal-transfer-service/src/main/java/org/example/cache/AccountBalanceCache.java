@@ -0,0 +1,110 @@
+package org.example.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.config.ReplicaReads;
+import org.example.config.TransferProperties;
+import org.example.models.Account;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of account snapshots for balance reads.
+ * <p>
+ * Entries are only ever dropped after the transaction that changed the account has
+ * committed, so a reader can never cache a balance that is later rolled back. A reader
+ * that raced with the commit may still cache the old balance; how long that can be
+ * served is bounded by the staleness the reader accepts and by the expiry.
+ * Hit, miss and eviction counts are published as {@code cache.*} meters named
+ * {@code accountBalances}.
+ */
+@Component
+public class AccountBalanceCache {
+    public static final String CACHE_NAME = "accountBalances";
+
+    private final Cache<Long, CachedAccount> cache;
+    private final Duration defaultMaxStaleness;
+    private final ReplicaReads replicaReads;
+
+    public AccountBalanceCache(TransferProperties transferProperties, ReplicaReads replicaReads,
+                               ObjectProvider<MeterRegistry> meterRegistry) {
+        TransferProperties.BalanceCache properties = transferProperties.getBalanceCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.defaultMaxStaleness = properties.getDefaultMaxStaleness();
+        this.replicaReads = replicaReads;
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+    }
+
+    /**
+     * Returns a cached snapshot no older than {@code maxStaleness}, loading it if needed.
+     * A zero {@code maxStaleness} always calls {@code loader} and leaves the cache alone.
+     */
+    public Account get(Long accountId, Duration maxStaleness, Function<Long, Account> loader) {
+        Duration staleness = maxStaleness == null ? defaultMaxStaleness : maxStaleness;
+        if (staleness.isZero()) {
+            return loader.apply(accountId);
+        }
+
+        CachedAccount cached = cache.get(accountId, id -> CachedAccount.load(id, loader));
+        if (System.nanoTime() - cached.loadedAtNanos() > staleness.toNanos()) {
+            cache.asMap().remove(accountId, cached);
+            cached = cache.get(accountId, id -> CachedAccount.load(id, loader));
+        }
+        return cached.snapshot();
+    }
+
+    public void invalidateAfterCommit(Long accountId) {
+        invalidateAfterCommit(List.of(accountId));
+    }
+
+    /**
+     * Drops the accounts once the surrounding transaction commits, or straight away if
+     * there is none, and has {@link ReplicaReads} read them from the primary for a while.
+     * Nothing is dropped on rollback since nothing changed.
+     */
+    public void invalidateAfterCommit(Collection<Long> accountIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(accountIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(accountIds);
+            }
+        });
+    }
+
+    private void invalidate(Collection<Long> accountIds) {
+        replicaReads.recordWrites(accountIds);
+        cache.invalidateAll(accountIds);
+    }
+
+    private record CachedAccount(Long accountId, BigDecimal balance, long loadedAtNanos) {
+        static CachedAccount load(Long accountId, Function<Long, Account> loader) {
+            Account account = loader.apply(accountId);
+            return new CachedAccount(account.getAccountId(), account.getBalance(), System.nanoTime());
+        }
+
+        Account snapshot() {
+            return Account.builder()
+                    .accountId(accountId)
+                    .balance(balance)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource} in a {@link ConnectionLimitingDataSource}
+ * when {@code transfer.connection-limit.enabled} is set. Settings are bound straight from
+ * the environment because a post-processor is created before {@link TransferProperties}.
+ */
+@Component
+public class ConnectionLimitingDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware {
+    private TransferProperties.ConnectionLimit connectionLimit;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        connectionLimit = Binder.get(environment)
+                .bind("transfer.connection-limit", TransferProperties.ConnectionLimit.class)
+                .orElseGet(TransferProperties.ConnectionLimit::new);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!connectionLimit.isEnabled() || !(bean instanceof DataSource dataSource)
+                || bean instanceof ConnectionLimitingDataSource) {
+            return bean;
+        }
+        return new ConnectionLimitingDataSource(dataSource, connectionLimit.getPermits(), connectionLimit.getAcquireTimeout());
+    }
+}
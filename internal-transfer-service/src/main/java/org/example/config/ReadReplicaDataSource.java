@@ -0,0 +1,149 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sends reads made through {@link #onReplica(Supplier)} in a read-only transaction to a read
+ * replica, and everything else to the primary.
+ * <p>
+ * A connection is only taken from a pool when its first statement runs, by which time the
+ * transaction has marked it read-only, so a read-only connection can be taken from the replica
+ * and any other from the primary. Spring Data runs every repository finder in a read-only
+ * transaction, so being read-only is not enough on its own: reads such as idempotency key
+ * lookups must see what was just committed and stay on the primary unless they opt in.
+ * <p>
+ * When {@code lagQuery} is set it is run on the replica every {@code lagCheckInterval}. While
+ * the lag it reports is above {@code maxLag}, or it cannot be run, replica reads go to the
+ * primary too.
+ */
+@Slf4j
+public class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final HikariDataSource replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final ScheduledExecutorService lagChecker;
+    private volatile boolean replicaCaughtUp = true;
+
+    public ReadReplicaDataSource(DataSource primary, TransferProperties.ReadReplica properties) {
+        super(primary);
+        this.primary = primary;
+        this.replica = replicaPool(properties);
+        this.lagQuery = properties.getLagQuery();
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+
+        Routing routing = new Routing();
+        routing.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        routing.afterPropertiesSet();
+        setReadOnlyDataSource(routing);
+
+        if (StringUtils.hasText(lagQuery)) {
+            lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = properties.getLagCheckInterval().toMillis();
+            lagChecker.scheduleWithFixedDelay(this::checkReplicaLag, 0, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            lagChecker = null;
+        }
+    }
+
+    /**
+     * Runs {@code read} with the replica allowed to serve its read-only transactions. The
+     * transaction must begin inside {@code read}.
+     */
+    public static <T> T onReplica(Supplier<T> read) {
+        Boolean previous = REPLICA_READ.get();
+        REPLICA_READ.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                REPLICA_READ.remove();
+            } else {
+                REPLICA_READ.set(previous);
+            }
+        }
+    }
+
+    public boolean isReplicaCaughtUp() {
+        return replicaCaughtUp;
+    }
+
+    /**
+     * Runs {@code lagQuery} on the replica and records whether it is within {@code maxLag}.
+     */
+    public void checkReplicaLag() {
+        boolean caughtUp;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(lagQuery)) {
+            caughtUp = rows.next() && rows.getLong(1) <= maxLagMillis;
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Replica lag check failed", e);
+            caughtUp = false;
+        }
+        if (caughtUp != replicaCaughtUp) {
+            log.warn(caughtUp ? "Read replica caught up, serving reads from it again"
+                    : "Read replica is lagging or unreachable, serving reads from the primary");
+            replicaCaughtUp = caughtUp;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        replica.close();
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static HikariDataSource replicaPool(TransferProperties.ReadReplica properties) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica");
+        config.setJdbcUrl(properties.getUrl());
+        config.setUsername(properties.getUsername());
+        config.setPassword(properties.getPassword());
+        config.setMaximumPoolSize(properties.getMaximumPoolSize());
+        config.setReadOnly(true);
+        return new HikariDataSource(config);
+    }
+
+    private enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    /**
+     * Picks the pool for a read-only connection.
+     */
+    private class Routing extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return REPLICA_READ.get() != null && replicaCaughtUp ? Route.REPLICA : Route.PRIMARY;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource} in a {@link ReadReplicaDataSource} when
+ * {@code transfer.read-replica.enabled} is set. Settings are bound straight from the
+ * environment because a post-processor is created before {@link TransferProperties}.
+ */
+@Component
+public class ReadReplicaDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware {
+    private TransferProperties.ReadReplica readReplica;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        readReplica = Binder.get(environment)
+                .bind("transfer.read-replica", TransferProperties.ReadReplica.class)
+                .orElseGet(TransferProperties.ReadReplica::new);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!readReplica.isEnabled() || !(bean instanceof DataSource dataSource)
+                || bean instanceof ReadReplicaDataSource) {
+            return bean;
+        }
+        return new ReadReplicaDataSource(dataSource, readReplica);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Runs account reads on the read replica when {@code transfer.read-replica.enabled} is set.
+ * <p>
+ * An account this instance changed is read from the primary for
+ * {@code transfer.read-replica.read-your-writes-window} after the change commits, so a client
+ * that has just moved money sees the result even while the replica is catching up.
+ */
+@Component
+public class ReplicaReads {
+    private final boolean enabled;
+    private final TransactionTemplate readOnly;
+    private final Cache<Long, Boolean> recentWrites;
+
+    public ReplicaReads(TransferProperties transferProperties, PlatformTransactionManager transactionManager) {
+        TransferProperties.ReadReplica properties = transferProperties.getReadReplica();
+        this.enabled = properties.isEnabled();
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .build();
+    }
+
+    /**
+     * Runs {@code read} in a read-only transaction on the replica, or on the primary if
+     * {@code accountId} was changed within the read-your-writes window.
+     */
+    public <T> T read(Long accountId, Supplier<T> read) {
+        if (!enabled || recentWrites.getIfPresent(accountId) != null) {
+            return read.get();
+        }
+        return ReadReplicaDataSource.onReplica(() -> readOnly.execute(status -> read.get()));
+    }
+
+    /**
+     * Records accounts whose change has just committed.
+     */
+    public void recordWrites(Collection<Long> accountIds) {
+        if (enabled) {
+            accountIds.forEach(accountId -> recentWrites.put(accountId, Boolean.TRUE));
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "transfer")
+public class TransferProperties {
+
+    /**
+     * How the source and destination rows are locked for a transfer.
+     */
+    private LockingMode lockingMode = LockingMode.ORDERED;
+
+    /**
+     * Which {@code TransactionService} implementation applies transfers.
+     */
+    private Engine engine = Engine.JPA;
+
+    private final Sharded sharded = new Sharded();
+
+    private final JournalWriter journalWriter = new JournalWriter();
+
+    private final BalanceCache balanceCache = new BalanceCache();
+
+    private final ConnectionLimit connectionLimit = new ConnectionLimit();
+
+    private final ReadReplica readReplica = new ReadReplica();
+
+    private final Async async = new Async();
+
+    private final Grpc grpc = new Grpc();
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final BulkAccounts bulkAccounts = new BulkAccounts();
+
+    private final Statement statement = new Statement();
+
+    private final Reconciliation reconciliation = new Reconciliation();
+
+    private final LedgerCheckpoint ledgerCheckpoint = new LedgerCheckpoint();
+
+    public enum LockingMode {
+        /**
+         * Locks the source row and then the destination row with two separate queries.
+         * Opposing transfers on the same pair of accounts can deadlock.
+         */
+        SEQUENTIAL,
+
+        /**
+         * Locks both rows with a single query in ascending account id order, so
+         * every transfer acquires its locks in the same order.
+         */
+        ORDERED,
+
+        /**
+         * Skips the locking reads: the source is debited with a single UPDATE guarded by
+         * {@code balance >= amount} and the destination credited with a second one, lowest
+         * account id first. Not-found and insufficient-funds cases are told apart only when
+         * an UPDATE matches no row. Batches still lock rows as in {@link #ORDERED}.
+         */
+        CONDITIONAL_UPDATE
+    }
+
+    public enum Engine {
+        /**
+         * Applies every transfer in its own database transaction with row locks.
+         */
+        JPA,
+
+        /**
+         * Applies transfers in memory on single-threaded shards and journals them to disk.
+         */
+        SHARDED
+    }
+
+    @Data
+    public static class Sharded {
+        /**
+         * Number of single-threaded shards accounts are partitioned across.
+         */
+        private int shards = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Capacity of each shard's inbound ring buffer. Must be a power of two.
+         */
+        private int ringBufferSize = 1024;
+
+        /**
+         * Maximum number of commands a shard applies before forcing its journal to disk.
+         */
+        private int maxBatchSize = 256;
+
+        /**
+         * Directory holding one journal file per shard.
+         */
+        private String journalDirectory = "journal";
+
+        /**
+         * How often every shard's balances are checkpointed next to the journals, so recovery
+         * only replays what was journaled since. Zero disables checkpoints.
+         */
+        private Duration checkpointInterval = Duration.ofMinutes(5);
+
+        /**
+         * Number of most recent checkpoints kept for recovery and point-in-time balances.
+         */
+        private int retainedCheckpoints = 3;
+    }
+
+    @Data
+    public static class JournalWriter {
+        /**
+         * Number of transaction rows written per JDBC batch insert.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Longest time a recorded transaction waits in the buffer before it is written.
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * Number of transactions that may wait to be written before recording blocks.
+         */
+        private int queueCapacity = 100_000;
+
+        /**
+         * Wait before the first retry of a batch that could not be written. It doubles with
+         * every failed attempt up to {@code max-retry-backoff}; a batch is retried until it is
+         * written.
+         */
+        private Duration retryBackoff = Duration.ofMillis(100);
+
+        /**
+         * Longest wait between two attempts to write the same batch.
+         */
+        private Duration maxRetryBackoff = Duration.ofSeconds(10);
+
+        /**
+         * How long shutdown waits for buffered transactions to be written.
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class BalanceCache {
+        /**
+         * Maximum number of accounts whose balance is kept in memory.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * How long a cached balance is kept before it is read again from the database.
+         */
+        private Duration expireAfterWrite = Duration.ofSeconds(5);
+
+        /**
+         * Oldest cached balance served when the client does not state a maximum staleness.
+         */
+        private Duration defaultMaxStaleness = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class ConnectionLimit {
+        /**
+         * Whether callers queue on a semaphore before asking the pool for a connection.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of callers that may hold a connection at once. Should match the pool size.
+         */
+        private int permits = 10;
+
+        /**
+         * How long a caller waits for a permit before the request fails.
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class ReadReplica {
+        /**
+         * Whether balance reads may be served by a read replica instead of the primary.
+         */
+        private boolean enabled = false;
+
+        /**
+         * JDBC URL of the replica.
+         */
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Maximum number of pooled connections to the replica.
+         */
+        private int maximumPoolSize = 10;
+
+        /**
+         * How long reads of an account go to the primary after this instance changed it.
+         * Should exceed the replica's usual lag.
+         */
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+        /**
+         * Query run on the replica that returns its replication lag in milliseconds. Left
+         * empty, the replica is assumed to be caught up.
+         */
+        private String lagQuery;
+
+        /**
+         * Lag above which every read goes to the primary until the replica catches up.
+         */
+        private Duration maxLag = Duration.ofSeconds(1);
+
+        /**
+         * How often {@link #lagQuery} is run.
+         */
+        private Duration lagCheckInterval = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Async {
+        /**
+         * Directory holding the memory-mapped segment files of the transfer queue.
+         */
+        private String directory = "queue";
+
+        /**
+         * Size of each queue segment file.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Number of threads applying queued transfers.
+         */
+        private int consumers = 2;
+
+        /**
+         * Maximum number of queued transfers a consumer applies in one database transaction.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Number of transfers that may wait in the queue before submissions are rejected.
+         */
+        private int maxPending = 1_000_000;
+
+        /**
+         * How long a consumer waits before retrying a transfer that failed for a reason other
+         * than the transfer itself, such as the database being unavailable.
+         */
+        private Duration retryDelay = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Grpc {
+        /**
+         * Transfers a client may send on one stream ahead of the results it has received.
+         * Beyond this the server stops reading the stream until results are sent.
+         */
+        private int maxInFlight = 1024;
+
+        /**
+         * Maximum number of streamed transfers applied in one database transaction.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Number of threads applying streamed transfers. Each stream is applied by one thread
+         * at a time, and streams take turns batch by batch.
+         */
+        private int appliers = 10;
+    }
+
+    @Data
+    public static class Idempotency {
+        /**
+         * Number of idempotency keys the in-memory Bloom filter is sized for. Beyond this the
+         * false positive rate grows and more new keys are looked up in the database.
+         */
+        private long expectedKeys = 1_000_000;
+
+        /**
+         * Share of new keys the Bloom filter wrongly reports as seen, at the expected key count.
+         */
+        private double falsePositiveRate = 0.01;
+
+        /**
+         * Number of recently completed keys whose transfer is kept in memory, so their retries
+         * are answered without a database lookup.
+         */
+        private long recentKeys = 100_000;
+    }
+
+    @Data
+    public static class BulkAccounts {
+        /**
+         * Accounts inserted per database transaction by {@code POST /accounts/bulk}. A chunk
+         * holding a duplicate is retried one account at a time, so smaller chunks make
+         * duplicates cheaper and larger ones make clean imports faster.
+         */
+        private int chunkSize = 1000;
+    }
+
+    @Data
+    public static class Statement {
+        /**
+         * Rows the JDBC driver fetches per round trip while a statement is exported. The
+         * driver holds one fetch per cursor in memory, so this bounds an export's heap use.
+         */
+        private int fetchSize = 1000;
+    }
+
+    @Data
+    public static class Reconciliation {
+        /**
+         * How often the ledger is reconciled in the background. Zero leaves it to
+         * {@code POST /admin/reconciliation}.
+         */
+        private Duration interval = Duration.ZERO;
+
+        /**
+         * Accounts per range. Each range is verified by one query in its own read-only
+         * transaction, so this bounds how long a connection is held.
+         */
+        private int rangeSize = 100_000;
+
+        /**
+         * Ranges verified at once, each on its own pooled connection.
+         */
+        private int parallelism = 4;
+
+        /**
+         * Rows the JDBC driver fetches per round trip while a range is verified.
+         */
+        private int fetchSize = 10_000;
+
+        /**
+         * Mismatched accounts listed in a report; the rest are only counted.
+         */
+        private int maxReportedMismatches = 1000;
+    }
+
+    @Data
+    public static class LedgerCheckpoint {
+        /**
+         * How often the ledger balances of all accounts are checkpointed, so replaying a
+         * balance only reads the transactions recorded since. Zero disables checkpoints.
+         */
+        private Duration interval = Duration.ofMinutes(5);
+
+        /**
+         * Number of most recent checkpoints kept for point-in-time balances.
+         */
+        private int retainedCheckpoints = 3;
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.converters;
+
+import org.example.entities.TransactionEntity;
+import org.example.models.Transaction;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransactionEntityToTransactionConverter {
+    public Transaction convert(TransactionEntity transactionEntity) {
+        return Transaction.builder()
+                .id(transactionEntity.getId())
+                .transferId(transactionEntity.getTransferId())
+                .sourceAccountId(transactionEntity.getSourceAccountId())
+                .destinationAccountId(transactionEntity.getDestinationAccountId())
+                .amount(transactionEntity.getAmount())
+                .status(transactionEntity.getStatus())
+                .timestamp(transactionEntity.getTimestamp())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.converters;
+
+import org.example.entities.TransactionEntity;
+import org.example.models.Transaction;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TransactionToTransactionEntityConverter {
+    public TransactionEntity convert(Transaction transaction) {
+        return new TransactionEntity()
+                .setTransferId(transaction.getTransferId())
+                .setSourceAccountId(transaction.getSourceAccountId())
+                .setDestinationAccountId(transaction.getDestinationAccountId())
+                .setAmount(transaction.getAmount())
+                .setStatus(transaction.getStatus())
+                .setTimestamp(transaction.getTimestamp());
+    }
+}
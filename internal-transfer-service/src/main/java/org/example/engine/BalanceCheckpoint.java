@@ -0,0 +1,194 @@
+package org.example.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Balances of every account the engine had touched at one instant, together with the journal
+ * position each shard had reached, so recovery only replays the journals from there on.
+ * <p>
+ * Accounts a shard had loaded are kept as absolute balances in {@link MinorUnits}. Accounts
+ * with journaled transfers that no shard had loaded yet, which only happens after a restart,
+ * are kept as deltas on top of their stored row, as recovery hands them to the shards. Debits
+ * whose credit had not been applied are kept too, so they can still be rolled forward.
+ * <p>
+ * The file is {@code [int magic][int version][long sequence][long takenAt][long lastTransferId]},
+ * the journal offsets, the in-flight debits, the balances, the deltas, and a CRC32C of
+ * everything before it. It is written to a temporary file and moved into place, so a reader
+ * sees either a complete checkpoint or none.
+ *
+ * @param takenAt        epoch milliseconds
+ * @param journalOffsets length of each journal, by file name, when the checkpoint was taken
+ * @param balances       account id to balance; {@code accountIds[i]} holds {@code balances[i]}
+ */
+record BalanceCheckpoint(long sequence,
+                         long takenAt,
+                         long lastTransferId,
+                         Map<String, Long> journalOffsets,
+                         List<JournalRecord> inFlightDebits,
+                         long[] accountIds,
+                         long[] balances,
+                         long[] deltaAccountIds,
+                         long[] deltas) {
+    private static final int MAGIC = 0x42434b50;
+    private static final int VERSION = 1;
+    private static final String PREFIX = "checkpoint-";
+    private static final String SUFFIX = ".checkpoint";
+
+    void write(Path directory) {
+        Path file = directory.resolve(fileName(sequence));
+        Path temporary = directory.resolve(fileName(sequence) + ".tmp");
+        try {
+            CRC32C crc = new CRC32C();
+            try (OutputStream fileOut = Files.newOutputStream(temporary);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(fileOut, crc), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(sequence);
+                out.writeLong(takenAt);
+                out.writeLong(lastTransferId);
+                out.writeInt(journalOffsets.size());
+                for (Map.Entry<String, Long> offset : journalOffsets.entrySet()) {
+                    out.writeUTF(offset.getKey());
+                    out.writeLong(offset.getValue());
+                }
+                out.writeInt(inFlightDebits.size());
+                for (JournalRecord debit : inFlightDebits) {
+                    out.writeLong(debit.transferId());
+                    out.writeLong(debit.accountId());
+                    out.writeLong(debit.counterpartyAccountId());
+                    out.writeLong(debit.amount());
+                }
+                writeLongPairs(out, accountIds, balances);
+                writeLongPairs(out, deltaAccountIds, deltas);
+                out.flush();
+                new DataOutputStream(fileOut).writeInt((int) crc.getValue());
+            }
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write checkpoint " + file, e);
+        }
+    }
+
+    /**
+     * @return the checkpoint files in {@code directory}, newest first
+     */
+    static List<Path> list(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(PREFIX)
+                            && file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list checkpoints in " + directory, e);
+        }
+    }
+
+    /**
+     * @return the checkpoint, or null if the file is truncated or corrupt
+     */
+    static BalanceCheckpoint read(Path file) {
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            if (bytes.length < Integer.BYTES) {
+                return null;
+            }
+            int contentLength = bytes.length - Integer.BYTES;
+            CRC32C crc = new CRC32C();
+            crc.update(bytes, 0, contentLength);
+            if (ByteBuffer.wrap(bytes, contentLength, Integer.BYTES).getInt() != (int) crc.getValue()) {
+                return null;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, contentLength));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            long sequence = in.readLong();
+            long takenAt = in.readLong();
+            long lastTransferId = in.readLong();
+            int journalCount = in.readInt();
+            Map<String, Long> journalOffsets = new LinkedHashMap<>();
+            for (int i = 0; i < journalCount; i++) {
+                journalOffsets.put(in.readUTF(), in.readLong());
+            }
+            int inFlightCount = in.readInt();
+            List<JournalRecord> inFlightDebits = new ArrayList<>(inFlightCount);
+            for (int i = 0; i < inFlightCount; i++) {
+                inFlightDebits.add(new JournalRecord(in.readLong(), JournalRecordType.DEBIT, in.readLong(), in.readLong(), in.readLong(), takenAt));
+            }
+            long[][] balances = readLongPairs(in);
+            long[][] deltas = readLongPairs(in);
+            if (in.read() != -1) {
+                return null;
+            }
+            return new BalanceCheckpoint(sequence, takenAt, lastTransferId, journalOffsets, inFlightDebits,
+                    balances[0], balances[1], deltas[0], deltas[1]);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Deletes all but the {@code retained} newest checkpoints.
+     */
+    static void prune(Path directory, int retained) {
+        List<Path> checkpoints = list(directory);
+        for (Path file : checkpoints.subList(Math.min(retained, checkpoints.size()), checkpoints.size())) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete checkpoint " + file, e);
+            }
+        }
+    }
+
+    static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static String fileName(long sequence) {
+        return PREFIX + String.format("%020d", sequence) + SUFFIX;
+    }
+
+    private static void writeLongPairs(DataOutputStream out, long[] keys, long[] values) throws IOException {
+        out.writeInt(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            out.writeLong(keys[i]);
+            out.writeLong(values[i]);
+        }
+    }
+
+    private static long[][] readLongPairs(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        long[] keys = new long[count];
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = in.readLong();
+            values[i] = in.readLong();
+        }
+        return new long[][]{keys, values};
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.engine;
+
+import org.example.money.MinorUnits;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds the engine's balances from the newest usable {@link BalanceCheckpoint} and the
+ * journal records written after it, so the work is proportional to the activity since the
+ * checkpoint rather than to the whole history. Without a checkpoint every journal is replayed
+ * from the start.
+ */
+final class BalanceReplay {
+    static final String JOURNAL_SUFFIX = ".journal";
+
+    /**
+     * @param balances         absolute balances, in {@link MinorUnits}, of the accounts the checkpoint had
+     * @param deltas           journaled changes to every other account, to add to its stored row
+     * @param unfinishedDebits debits with neither a credit nor a refund, by transfer id
+     */
+    record Result(Map<Long, Long> balances,
+                  Map<Long, Long> deltas,
+                  Map<Long, JournalRecord> unfinishedDebits,
+                  long lastTransferId) {
+    }
+
+    private BalanceReplay() {
+    }
+
+    /**
+     * Replays up to the end of every journal, dropping torn records at their ends.
+     */
+    static Result recover(Path journalDirectory) {
+        return replay(journalDirectory, Long.MAX_VALUE, true);
+    }
+
+    /**
+     * Replays the records applied at or before {@code until}, in epoch milliseconds, leaving
+     * the journals untouched so it can run while the shards are appending to them.
+     */
+    static Result at(Path journalDirectory, long until) {
+        return replay(journalDirectory, until, false);
+    }
+
+    static List<Path> journals(Path journalDirectory) {
+        try {
+            Files.createDirectories(journalDirectory);
+            try (Stream<Path> files = Files.list(journalDirectory)) {
+                return files.filter(file -> file.getFileName().toString().endsWith(JOURNAL_SUFFIX)).sorted().toList();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list journals in " + journalDirectory, e);
+        }
+    }
+
+    private static Result replay(Path journalDirectory, long until, boolean recovering) {
+        List<Path> journals = journals(journalDirectory);
+        Map<Long, Long> balances = new HashMap<>();
+        Map<Long, Long> deltas = new HashMap<>();
+        Map<Long, JournalRecord> unfinishedDebits = new LinkedHashMap<>();
+        Set<Long> finishedTransfers = new HashSet<>();
+        long[] lastTransferId = {0};
+        Map<String, Long> journalOffsets = Map.of();
+
+        BalanceCheckpoint checkpoint = newestCheckpoint(journalDirectory, until);
+        if (checkpoint != null) {
+            for (int i = 0; i < checkpoint.accountIds().length; i++) {
+                balances.put(checkpoint.accountIds()[i], checkpoint.balances()[i]);
+            }
+            for (int i = 0; i < checkpoint.deltaAccountIds().length; i++) {
+                deltas.put(checkpoint.deltaAccountIds()[i], checkpoint.deltas()[i]);
+            }
+            checkpoint.inFlightDebits().forEach(debit -> unfinishedDebits.put(debit.transferId(), debit));
+            lastTransferId[0] = checkpoint.lastTransferId();
+            journalOffsets = checkpoint.journalOffsets();
+        }
+
+        for (Path journal : journals) {
+            long offset = journalOffsets.getOrDefault(journal.getFileName().toString(), 0L);
+            Consumer<JournalRecord> apply = record -> {
+                if (record.timestamp() > until) {
+                    return;
+                }
+                lastTransferId[0] = Math.max(lastTransferId[0], record.transferId());
+                switch (record.type()) {
+                    case TRANSFER -> {
+                        adjust(balances, deltas, record.accountId(), -record.amount());
+                        adjust(balances, deltas, record.counterpartyAccountId(), record.amount());
+                    }
+                    case DEBIT -> {
+                        adjust(balances, deltas, record.accountId(), -record.amount());
+                        unfinishedDebits.putIfAbsent(record.transferId(), record);
+                    }
+                    case CREDIT, REFUND -> {
+                        adjust(balances, deltas, record.accountId(), record.amount());
+                        finishedTransfers.add(record.transferId());
+                    }
+                }
+            };
+            if (recovering) {
+                Journal.replay(journal, offset, apply);
+            } else {
+                Journal.read(journal, offset, apply);
+            }
+        }
+        unfinishedDebits.keySet().removeAll(finishedTransfers);
+        return new Result(balances, deltas, unfinishedDebits, lastTransferId[0]);
+    }
+
+    /**
+     * @return the newest intact checkpoint taken at or before {@code until}, or null if there is none
+     */
+    private static BalanceCheckpoint newestCheckpoint(Path journalDirectory, long until) {
+        for (Path file : BalanceCheckpoint.list(journalDirectory)) {
+            BalanceCheckpoint checkpoint = BalanceCheckpoint.read(file);
+            if (checkpoint != null && checkpoint.takenAt() <= until) {
+                return checkpoint;
+            }
+        }
+        return null;
+    }
+
+    private static void adjust(Map<Long, Long> balances, Map<Long, Long> deltas, long accountId, long amount) {
+        Map<Long, Long> target = balances.containsKey(accountId) ? balances : deltas;
+        target.merge(accountId, amount, MinorUnits::add);
+    }
+}
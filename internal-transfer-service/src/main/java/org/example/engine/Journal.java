@@ -0,0 +1,226 @@
+package org.example.engine;
+
+import org.example.money.MinorUnits;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only file of {@link JournalRecord}s owned by a single shard thread.
+ * Records are buffered by {@link #append} and only become durable on {@link #flush}.
+ * <p>
+ * Each frame is {@code [int payloadLength][payload][int crc32c]}, so a torn write at
+ * the end of the file is detected and dropped on replay. The amount in the payload is an
+ * unscaled value with its scale. It is always written as 8 bytes of {@link MinorUnits} at
+ * scale {@link MinorUnits#SCALE}, so frames have a fixed size. Other widths and scales,
+ * written by older versions, are still read. The payload ends with the time the record was
+ * applied, in epoch milliseconds; frames written before it was added read back as 0.
+ */
+public final class Journal implements Closeable {
+    private static final int HEADER_BYTES = Integer.BYTES;
+    private static final int TRAILER_BYTES = Integer.BYTES;
+    private static final int MAX_PAYLOAD_BYTES = 8 + 1 + 8 + 8 + 4 + 1 + 127 + 8;
+    private static final int PAYLOAD_BYTES = 8 + 1 + 8 + 8 + 4 + 1 + Long.BYTES + 8;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final CRC32C crc = new CRC32C();
+    private boolean dirty;
+
+    public Journal(Path file) {
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.channel.position(channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal " + file, e);
+        }
+    }
+
+    /**
+     * @param amount    in {@link MinorUnits}
+     * @param timestamp in epoch milliseconds
+     */
+    public void append(long transferId, JournalRecordType type, long accountId, long counterpartyAccountId, long amount,
+                       long timestamp) {
+        if (buffer.remaining() < HEADER_BYTES + PAYLOAD_BYTES + TRAILER_BYTES) {
+            writeBuffer();
+        }
+
+        buffer.putInt(PAYLOAD_BYTES);
+        int payloadStart = buffer.position();
+        buffer.putLong(transferId)
+                .put((byte) type.ordinal())
+                .putLong(accountId)
+                .putLong(counterpartyAccountId)
+                .putInt(MinorUnits.SCALE)
+                .put((byte) Long.BYTES)
+                .putLong(amount)
+                .putLong(timestamp);
+
+        int payloadEnd = buffer.position();
+        crc.reset();
+        crc.update(buffer.position(payloadStart).limit(payloadEnd));
+        buffer.limit(buffer.capacity()).position(payloadEnd);
+        buffer.putInt((int) crc.getValue());
+        dirty = true;
+    }
+
+    /**
+     * @return the length the file will have once buffered records are written
+     */
+    public long position() {
+        try {
+            return channel.position() + buffer.position();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read journal position", e);
+        }
+    }
+
+    /**
+     * Writes buffered records and forces them to the storage device.
+     */
+    public void flush() {
+        if (!dirty) {
+            return;
+        }
+        writeBuffer();
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot force journal", e);
+        }
+        dirty = false;
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close journal", e);
+            }
+        }
+    }
+
+    private void writeBuffer() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write journal", e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Reads every complete record in {@code file} in append order and truncates any
+     * torn or corrupt tail so that later appends start on a frame boundary.
+     *
+     * @return the number of records read
+     */
+    public static long replay(Path file, Consumer<JournalRecord> consumer) {
+        return replay(file, 0, consumer);
+    }
+
+    /**
+     * Like {@link #replay(Path, Consumer)}, but starts at {@code offset}, which must be a frame
+     * boundary such as a {@link #position()} taken after a {@link #flush()}.
+     */
+    public static long replay(Path file, long offset, Consumer<JournalRecord> consumer) {
+        return scan(file, offset, true, consumer);
+    }
+
+    /**
+     * Reads the complete records from {@code offset} on without changing the file, so it is
+     * safe on a journal a shard is still appending to.
+     */
+    public static long read(Path file, long offset, Consumer<JournalRecord> consumer) {
+        return scan(file, offset, false, consumer);
+    }
+
+    private static long scan(Path file, long offset, boolean truncateTail, Consumer<JournalRecord> consumer) {
+        if (!Files.exists(file)) {
+            if (offset > 0) {
+                throw new IllegalStateException("Journal " + file + " is missing, expected at least " + offset + " bytes");
+            }
+            return 0;
+        }
+        long records = 0;
+        long validLength = offset;
+        long fileLength;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            fileLength = Files.size(file);
+            if (fileLength < offset) {
+                throw new IllegalStateException("Journal " + file + " has " + fileLength + " bytes, expected at least " + offset);
+            }
+            in.skipNBytes(offset);
+            CRC32C crc = new CRC32C();
+            JournalRecordType[] types = JournalRecordType.values();
+            byte[] payload = new byte[MAX_PAYLOAD_BYTES];
+
+            while (fileLength - validLength >= HEADER_BYTES) {
+                int payloadLength = in.readInt();
+                if (payloadLength <= 0 || payloadLength > MAX_PAYLOAD_BYTES
+                        || fileLength - validLength - HEADER_BYTES < payloadLength + TRAILER_BYTES) {
+                    break;
+                }
+                in.readFully(payload, 0, payloadLength);
+                crc.reset();
+                crc.update(payload, 0, payloadLength);
+                if ((int) crc.getValue() != in.readInt()) {
+                    break;
+                }
+
+                ByteBuffer fields = ByteBuffer.wrap(payload, 0, payloadLength);
+                long transferId = fields.getLong();
+                JournalRecordType type = types[fields.get()];
+                long accountId = fields.getLong();
+                long counterpartyAccountId = fields.getLong();
+                int scale = fields.getInt();
+                int unscaledLength = fields.get();
+                long amount;
+                if (scale == MinorUnits.SCALE && unscaledLength == Long.BYTES) {
+                    amount = fields.getLong();
+                } else {
+                    byte[] unscaled = new byte[unscaledLength];
+                    fields.get(unscaled);
+                    amount = MinorUnits.of(new BigDecimal(new BigInteger(unscaled), scale));
+                }
+                long timestamp = fields.remaining() >= Long.BYTES ? fields.getLong() : 0;
+
+                consumer.accept(new JournalRecord(transferId, type, accountId, counterpartyAccountId, amount, timestamp));
+                records++;
+                validLength += HEADER_BYTES + payloadLength + TRAILER_BYTES;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay journal " + file, e);
+        }
+
+        if (truncateTail && validLength < fileLength) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot truncate journal " + file, e);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.engine;
+
+/**
+ * @param amount    in {@link org.example.money.MinorUnits}
+ * @param timestamp when the record was applied, in epoch milliseconds; 0 if it was journaled
+ *                  before timestamps were recorded
+ */
+public record JournalRecord(long transferId,
+                            JournalRecordType type,
+                            long accountId,
+                            long counterpartyAccountId,
+                            long amount,
+                            long timestamp) {
+}
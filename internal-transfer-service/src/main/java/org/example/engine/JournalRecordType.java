@@ -0,0 +1,23 @@
+package org.example.engine;
+
+public enum JournalRecordType {
+    /**
+     * Both accounts live on the same shard and were updated together.
+     */
+    TRANSFER,
+
+    /**
+     * First step of a cross-shard transfer: the source account was debited.
+     */
+    DEBIT,
+
+    /**
+     * Second step of a cross-shard transfer: the destination account was credited.
+     */
+    CREDIT,
+
+    /**
+     * A cross-shard debit was returned because the destination account does not exist.
+     */
+    REFUND
+}
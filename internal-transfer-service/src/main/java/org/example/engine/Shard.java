@@ -0,0 +1,348 @@
+package org.example.engine;
+
+import org.example.AccountNotFoundException;
+import org.example.InsufficientBalanceException;
+import org.example.money.MinorUnits;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongUnaryOperator;
+
+import static org.example.engine.LongLongHashMap.MISSING;
+
+/**
+ * Owns the balances of every account routed to it and is the only thread that ever
+ * reads or writes them. Commands are applied in batches; the batch is forced to the
+ * journal before any of its results are released to callers or forwarded to other shards.
+ * <p>
+ * Balances and amounts are {@link MinorUnits}, so applying a command allocates nothing
+ * beyond the bookkeeping of its result.
+ * <p>
+ * Between batches a shard can be paused for a checkpoint. While paused its journal is fully
+ * flushed and its state can be read from the pausing thread.
+ */
+final class Shard implements Runnable {
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+
+    private final int index;
+    private final ShardedTransferEngine engine;
+    private final RingBuffer<ShardCommand> inbox;
+    private final Queue<ShardCommand> internalInbox = new ConcurrentLinkedQueue<>();
+    private final Journal journal;
+    private final LongUnaryOperator accountLoader;
+    private final Map<Long, Long> recoveredDeltas;
+    private final LongLongHashMap balances = new LongLongHashMap(1024);
+    private final int maxBatchSize;
+
+    private final List<ShardCommand> batch;
+    private final List<CompletableFuture<?>> pendingResults;
+    private final List<Runnable> onDurable;
+
+    private long batchTimestamp;
+
+    private volatile boolean running = true;
+    private volatile Thread thread;
+    private volatile Pause pause;
+
+    /**
+     * @param recoveredBalances balances restored from a checkpoint, which are used instead of the stored rows
+     * @param recoveredDeltas   journaled changes to accounts whose stored row has not been read yet
+     */
+    Shard(int index, ShardedTransferEngine engine, int ringBufferSize, int maxBatchSize, Journal journal,
+          LongUnaryOperator accountLoader, Map<Long, Long> recoveredBalances, Map<Long, Long> recoveredDeltas) {
+        this.index = index;
+        this.engine = engine;
+        this.inbox = new RingBuffer<>(ringBufferSize);
+        this.maxBatchSize = maxBatchSize;
+        this.journal = journal;
+        this.accountLoader = accountLoader;
+        this.recoveredDeltas = recoveredDeltas;
+        this.batch = new ArrayList<>(maxBatchSize);
+        this.pendingResults = new ArrayList<>(maxBatchSize);
+        this.onDurable = new ArrayList<>(maxBatchSize);
+        recoveredBalances.forEach(balances::put);
+    }
+
+    void start() {
+        Thread shardThread = new Thread(this, "transfer-shard-" + index);
+        shardThread.setDaemon(true);
+        thread = shardThread;
+        shardThread.start();
+    }
+
+    /**
+     * Queues a command from a caller thread, waiting while the ring buffer is full.
+     */
+    void submit(ShardCommand command) {
+        while (!inbox.offer(command)) {
+            ensureRunning();
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(1_000L);
+        }
+        ensureRunning();
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Queues a command forwarded by another shard. Unbounded so that two shards
+     * forwarding to each other can never block one another.
+     */
+    void submitInternal(ShardCommand command) {
+        internalInbox.add(command);
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Asks the shard to count down {@code paused} once it is between batches and then wait
+     * for {@code resumed}.
+     */
+    void pause(CountDownLatch paused, CountDownLatch resumed) {
+        pause = new Pause(paused, resumed);
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Only valid while paused, like the other accessors to the shard's state below.
+     */
+    void forEachBalance(LongLongHashMap.EntryConsumer consumer) {
+        balances.forEach(consumer);
+    }
+
+    int balanceCount() {
+        return balances.size();
+    }
+
+    Map<Long, Long> recoveredDeltas() {
+        return recoveredDeltas;
+    }
+
+    long journalPosition() {
+        return journal.position();
+    }
+
+    /**
+     * Visits the transfers whose debit is journaled but whose credit or refund this shard has
+     * yet to apply.
+     */
+    void forEachUnfinishedDebit(Consumer<ShardCommand> consumer) {
+        for (ShardCommand command : internalInbox) {
+            if (command.type == ShardCommand.Type.CREDIT || command.type == ShardCommand.Type.REFUND) {
+                consumer.accept(command);
+            }
+        }
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        Thread shardThread = thread;
+        if (shardThread != null) {
+            LockSupport.unpark(shardThread);
+            shardThread.join();
+        }
+        journal.close();
+
+        IllegalStateException stopped = new IllegalStateException("Transfer engine stopped");
+        ShardCommand command;
+        while ((command = internalInbox.poll()) != null || (command = inbox.poll()) != null) {
+            command.result.completeExceptionally(stopped);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            Pause requested = pause;
+            if (requested != null) {
+                pause = null;
+                requested.await();
+            }
+
+            drainCommands();
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+
+            batchTimestamp = System.currentTimeMillis();
+            for (ShardCommand command : batch) {
+                apply(command);
+            }
+
+            try {
+                journal.flush();
+            } catch (RuntimeException e) {
+                pendingResults.forEach(result -> result.completeExceptionally(e));
+                running = false;
+                break;
+            }
+            onDurable.forEach(Runnable::run);
+
+            batch.clear();
+            pendingResults.clear();
+            onDurable.clear();
+        }
+    }
+
+    private void drainCommands() {
+        ShardCommand command;
+        while (batch.size() < maxBatchSize && (command = internalInbox.poll()) != null) {
+            batch.add(command);
+        }
+        inbox.drainTo(batch, maxBatchSize - batch.size());
+    }
+
+    private void apply(ShardCommand command) {
+        try {
+            switch (command.type) {
+                case TRANSFER -> transfer(command);
+                case CREDIT -> credit(command);
+                case REFUND -> refund(command);
+                case READ -> read(command);
+            }
+        } catch (RuntimeException e) {
+            fail(command, e);
+        }
+    }
+
+    private void transfer(ShardCommand command) {
+        long sourceBalance = balance(command.sourceAccountId);
+        if (sourceBalance == MISSING) {
+            fail(command, new AccountNotFoundException("Source account not found: " + command.sourceAccountId));
+            return;
+        }
+
+        Shard destinationShard = engine.shardFor(command.destinationAccountId);
+        if (destinationShard == this) {
+            long destinationBalance = balance(command.destinationAccountId);
+            if (destinationBalance == MISSING) {
+                fail(command, new AccountNotFoundException("Destination account not found: " + command.destinationAccountId));
+                return;
+            }
+            if (sourceBalance < command.amount) {
+                fail(command, new InsufficientBalanceException("Insufficient balance in source account: " + command.sourceAccountId));
+                return;
+            }
+            boolean sameAccount = command.sourceAccountId == command.destinationAccountId;
+            long credited = sameAccount ? destinationBalance : MinorUnits.add(destinationBalance, command.amount);
+            journal.append(command.transferId, JournalRecordType.TRANSFER,
+                    command.sourceAccountId, command.destinationAccountId, command.amount, batchTimestamp);
+            if (!sameAccount) {
+                balances.put(command.sourceAccountId, sourceBalance - command.amount);
+                balances.put(command.destinationAccountId, credited);
+            }
+            succeed(command, null);
+            return;
+        }
+
+        if (sourceBalance < command.amount) {
+            fail(command, new InsufficientBalanceException("Insufficient balance in source account: " + command.sourceAccountId));
+            return;
+        }
+        journal.append(command.transferId, JournalRecordType.DEBIT,
+                command.sourceAccountId, command.destinationAccountId, command.amount, batchTimestamp);
+        balances.put(command.sourceAccountId, sourceBalance - command.amount);
+        pendingResults.add(command.result);
+        onDurable.add(() -> destinationShard.submitInternal(command.next(ShardCommand.Type.CREDIT)));
+    }
+
+    private void credit(ShardCommand command) {
+        long destinationBalance = balance(command.destinationAccountId);
+        RuntimeException failure = null;
+        if (destinationBalance == MISSING) {
+            failure = new AccountNotFoundException("Destination account not found: " + command.destinationAccountId);
+        } else {
+            try {
+                destinationBalance = MinorUnits.add(destinationBalance, command.amount);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            engine.shardFor(command.sourceAccountId).submitInternal(command.refund(failure));
+            return;
+        }
+        journal.append(command.transferId, JournalRecordType.CREDIT,
+                command.destinationAccountId, command.sourceAccountId, command.amount, batchTimestamp);
+        balances.put(command.destinationAccountId, destinationBalance);
+        succeed(command, null);
+    }
+
+    private void refund(ShardCommand command) {
+        long refunded = MinorUnits.add(balance(command.sourceAccountId), command.amount);
+        journal.append(command.transferId, JournalRecordType.REFUND,
+                command.sourceAccountId, command.destinationAccountId, command.amount, batchTimestamp);
+        balances.put(command.sourceAccountId, refunded);
+        fail(command, command.failure != null ? command.failure
+                : new AccountNotFoundException("Destination account not found: " + command.destinationAccountId));
+    }
+
+    private void read(ShardCommand command) {
+        long balance = balance(command.sourceAccountId);
+        if (balance == MISSING) {
+            fail(command, new AccountNotFoundException("Account not found: " + command.sourceAccountId));
+            return;
+        }
+        succeed(command, MinorUnits.toBigDecimal(balance));
+    }
+
+    /**
+     * @return the balance in minor units, or {@link LongLongHashMap#MISSING} if the account does not exist
+     */
+    private long balance(long accountId) {
+        long balance = balances.get(accountId);
+        if (balance != MISSING) {
+            return balance;
+        }
+        long stored = accountLoader.applyAsLong(accountId);
+        if (stored == MISSING) {
+            return MISSING;
+        }
+        Long recovered = recoveredDeltas.remove(accountId);
+        balance = recovered == null ? stored : MinorUnits.add(stored, recovered);
+        balances.put(accountId, balance);
+        return balance;
+    }
+
+    private void succeed(ShardCommand command, BigDecimal value) {
+        pendingResults.add(command.result);
+        onDurable.add(() -> command.result.complete(value));
+    }
+
+    private void fail(ShardCommand command, RuntimeException failure) {
+        pendingResults.add(command.result);
+        onDurable.add(() -> command.result.completeExceptionally(failure));
+    }
+
+    private void ensureRunning() {
+        if (!running) {
+            throw new IllegalStateException("Transfer shard " + index + " is not running");
+        }
+    }
+
+    private record Pause(CountDownLatch paused, CountDownLatch resumed) {
+
+        void await() {
+            paused.countDown();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    resumed.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
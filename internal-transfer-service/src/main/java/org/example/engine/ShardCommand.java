@@ -0,0 +1,52 @@
+package org.example.engine;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+final class ShardCommand {
+
+    enum Type {
+        TRANSFER,
+        CREDIT,
+        REFUND,
+        READ
+    }
+
+    final Type type;
+    final long transferId;
+    final long sourceAccountId;
+    final long destinationAccountId;
+    /**
+     * In {@link org.example.money.MinorUnits}.
+     */
+    final long amount;
+    final CompletableFuture<BigDecimal> result;
+    /**
+     * Why a {@link Type#REFUND} is needed: the credit could not be applied.
+     */
+    final RuntimeException failure;
+
+    ShardCommand(Type type, long transferId, long sourceAccountId, long destinationAccountId,
+                 long amount, CompletableFuture<BigDecimal> result) {
+        this(type, transferId, sourceAccountId, destinationAccountId, amount, result, null);
+    }
+
+    private ShardCommand(Type type, long transferId, long sourceAccountId, long destinationAccountId,
+                         long amount, CompletableFuture<BigDecimal> result, RuntimeException failure) {
+        this.type = type;
+        this.transferId = transferId;
+        this.sourceAccountId = sourceAccountId;
+        this.destinationAccountId = destinationAccountId;
+        this.amount = amount;
+        this.result = result;
+        this.failure = failure;
+    }
+
+    ShardCommand next(Type nextType) {
+        return new ShardCommand(nextType, transferId, sourceAccountId, destinationAccountId, amount, result);
+    }
+
+    ShardCommand refund(RuntimeException failure) {
+        return new ShardCommand(Type.REFUND, transferId, sourceAccountId, destinationAccountId, amount, result, failure);
+    }
+}
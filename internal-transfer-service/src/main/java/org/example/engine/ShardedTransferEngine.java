@@ -0,0 +1,287 @@
+package org.example.engine;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.AccountNotFoundException;
+import org.example.InsufficientBalanceException;
+import org.example.config.TransferProperties;
+import org.example.money.MinorUnits;
+import org.example.repositories.AccountRepository;
+import org.example.services.AccountStripingService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory transfer engine that partitions accounts across single-threaded shards.
+ * <p>
+ * A transfer between two accounts on the same shard is applied and journaled as one
+ * {@link JournalRecordType#TRANSFER} record. A transfer across shards is two steps: the
+ * source shard debits and journals a {@link JournalRecordType#DEBIT}, then forwards a credit
+ * to the destination shard, which journals a {@link JournalRecordType#CREDIT}. If the
+ * destination account does not exist the source shard journals a
+ * {@link JournalRecordType#REFUND} instead. A caller is only acknowledged once the final
+ * step is durable.
+ * <p>
+ * Account rows are read from the database the first time a shard touches them; the engine
+ * never writes balances back. Instead the shards are periodically paused between batches and
+ * their balances written to a {@link BalanceCheckpoint}. On startup the newest checkpoint is
+ * loaded, the journals are replayed from the positions it recorded, and any debit without a
+ * matching credit or refund is rolled forward. Without a checkpoint every journal is replayed
+ * on top of the stored rows.
+ * <p>
+ * Amounts are converted to {@link MinorUnits} once, when they enter the engine, and balances
+ * are converted back only when read.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "transfer.engine", havingValue = "sharded")
+public class ShardedTransferEngine {
+    private static final long CHECKPOINT_PAUSE_TIMEOUT_SECONDS = 10;
+
+    private final AccountRepository accountRepository;
+    private final AccountStripingService accountStripingService;
+    private final TransferProperties.Sharded properties;
+    private final AtomicLong nextTransferId = new AtomicLong(1);
+    private Path journalDirectory;
+    private Shard[] shards;
+    private ScheduledExecutorService checkpointScheduler;
+    private long checkpointSequence;
+    private boolean stopped;
+
+    public ShardedTransferEngine(AccountRepository accountRepository, AccountStripingService accountStripingService,
+                                 TransferProperties transferProperties) {
+        this.accountRepository = accountRepository;
+        this.accountStripingService = accountStripingService;
+        this.properties = transferProperties.getSharded();
+    }
+
+    @PostConstruct
+    public void start() {
+        journalDirectory = Path.of(properties.getJournalDirectory());
+        BalanceReplay.Result recovered = BalanceReplay.recover(journalDirectory);
+        nextTransferId.set(recovered.lastTransferId() + 1);
+        List<Path> checkpoints = BalanceCheckpoint.list(journalDirectory);
+        checkpointSequence = checkpoints.isEmpty() ? 0 : BalanceCheckpoint.sequenceOf(checkpoints.get(0));
+
+        int shardCount = properties.getShards();
+        List<Map<Long, Long>> balancesByShard = partition(recovered.balances(), shardCount);
+        List<Map<Long, Long>> deltasByShard = partition(recovered.deltas(), shardCount);
+
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, this, properties.getRingBufferSize(), properties.getMaxBatchSize(),
+                    new Journal(journalFile(i)), this::loadBalance, balancesByShard.get(i), deltasByShard.get(i));
+        }
+        for (Shard shard : shards) {
+            shard.start();
+        }
+
+        for (JournalRecord debit : recovered.unfinishedDebits().values()) {
+            shardFor(debit.counterpartyAccountId()).submitInternal(new ShardCommand(ShardCommand.Type.CREDIT,
+                    debit.transferId(), debit.accountId(), debit.counterpartyAccountId(), debit.amount(),
+                    new CompletableFuture<>()));
+        }
+
+        long intervalMillis = properties.getCheckpointInterval().toMillis();
+        if (intervalMillis > 0) {
+            checkpointScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "transfer-checkpoint");
+                thread.setDaemon(true);
+                return thread;
+            });
+            checkpointScheduler.scheduleWithFixedDelay(this::scheduledCheckpoint, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (shards == null) {
+            return;
+        }
+        if (checkpointScheduler != null) {
+            checkpointScheduler.shutdownNow();
+            scheduledCheckpoint();
+        }
+        stopped = true;
+        for (Shard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    /**
+     * Pauses every shard between batches, writes their balances and journal positions to a
+     * new checkpoint, and deletes the checkpoints beyond the retained number.
+     */
+    public synchronized void checkpoint() {
+        if (stopped) {
+            throw new IllegalStateException("Transfer engine stopped");
+        }
+        CountDownLatch paused = new CountDownLatch(shards.length);
+        CountDownLatch resumed = new CountDownLatch(1);
+        BalanceCheckpoint checkpoint;
+        try {
+            for (Shard shard : shards) {
+                shard.pause(paused, resumed);
+            }
+            if (!paused.await(CHECKPOINT_PAUSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Transfer shards did not pause for a checkpoint within "
+                        + CHECKPOINT_PAUSE_TIMEOUT_SECONDS + " seconds");
+            }
+            checkpoint = capture();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while pausing transfer shards for a checkpoint", e);
+        } finally {
+            resumed.countDown();
+        }
+        checkpoint.write(journalDirectory);
+        BalanceCheckpoint.prune(journalDirectory, properties.getRetainedCheckpoints());
+    }
+
+    /**
+     * @return the balance {@code accountId} had at {@code pointInTime}, replayed from the
+     * newest checkpoint taken before it
+     */
+    public BigDecimal balanceAt(long accountId, Instant pointInTime) {
+        BalanceReplay.Result replayed = BalanceReplay.at(journalDirectory, pointInTime.toEpochMilli());
+        Long balance = replayed.balances().get(accountId);
+        if (balance == null) {
+            long stored = loadBalance(accountId);
+            if (stored == LongLongHashMap.MISSING) {
+                throw new AccountNotFoundException("Account not found: " + accountId);
+            }
+            balance = MinorUnits.add(stored, replayed.deltas().getOrDefault(accountId, 0L));
+        }
+        return MinorUnits.toBigDecimal(balance);
+    }
+
+    public CompletableFuture<BigDecimal> transferAsync(long sourceAccountId, long destinationAccountId, BigDecimal amount) {
+        long minorUnits = MinorUnits.of(amount);
+        if (minorUnits <= 0) {
+            throw new InsufficientBalanceException("Transfer amount must be greater than zero");
+        }
+        CompletableFuture<BigDecimal> result = new CompletableFuture<>();
+        shardFor(sourceAccountId).submit(new ShardCommand(ShardCommand.Type.TRANSFER, nextTransferId.getAndIncrement(),
+                sourceAccountId, destinationAccountId, minorUnits, result));
+        return result;
+    }
+
+    public void transfer(long sourceAccountId, long destinationAccountId, BigDecimal amount) {
+        await(transferAsync(sourceAccountId, destinationAccountId, amount));
+    }
+
+    public BigDecimal balance(long accountId) {
+        CompletableFuture<BigDecimal> result = new CompletableFuture<>();
+        shardFor(accountId).submit(new ShardCommand(ShardCommand.Type.READ, 0, accountId, accountId, 0, result));
+        return await(result);
+    }
+
+    private synchronized void scheduledCheckpoint() {
+        if (stopped) {
+            return;
+        }
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            log.error("Cannot checkpoint transfer shards", e);
+        }
+    }
+
+    /**
+     * Reads the state of the paused shards. Journals of shards no longer configured are
+     * recorded at their full length, as their records are already part of the balances.
+     */
+    private BalanceCheckpoint capture() {
+        long takenAt = System.currentTimeMillis();
+        Map<String, Long> journalOffsets = new LinkedHashMap<>();
+        for (Path journal : BalanceReplay.journals(journalDirectory)) {
+            journalOffsets.put(journal.getFileName().toString(), journal.toFile().length());
+        }
+        int balanceCount = 0;
+        int deltaCount = 0;
+        for (Shard shard : shards) {
+            balanceCount += shard.balanceCount();
+            deltaCount += shard.recoveredDeltas().size();
+        }
+        long[] accountIds = new long[balanceCount];
+        long[] balances = new long[balanceCount];
+        long[] deltaAccountIds = new long[deltaCount];
+        long[] deltas = new long[deltaCount];
+        int[] next = {0, 0};
+        List<JournalRecord> inFlightDebits = new ArrayList<>();
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = shards[i];
+            journalOffsets.put(journalFile(i).getFileName().toString(), shard.journalPosition());
+            shard.forEachBalance((accountId, balance) -> {
+                accountIds[next[0]] = accountId;
+                balances[next[0]++] = balance;
+            });
+            shard.recoveredDeltas().forEach((accountId, delta) -> {
+                deltaAccountIds[next[1]] = accountId;
+                deltas[next[1]++] = delta;
+            });
+            shard.forEachUnfinishedDebit(command -> inFlightDebits.add(new JournalRecord(command.transferId,
+                    JournalRecordType.DEBIT, command.sourceAccountId, command.destinationAccountId, command.amount, takenAt)));
+        }
+        return new BalanceCheckpoint(++checkpointSequence, takenAt, nextTransferId.get() - 1, journalOffsets, inFlightDebits,
+                accountIds, balances, deltaAccountIds, deltas);
+    }
+
+    private Path journalFile(int shardIndex) {
+        return journalDirectory.resolve("shard-" + shardIndex + BalanceReplay.JOURNAL_SUFFIX);
+    }
+
+    private static List<Map<Long, Long>> partition(Map<Long, Long> byAccount, int shardCount) {
+        List<Map<Long, Long>> byShard = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            byShard.add(new HashMap<>());
+        }
+        byAccount.forEach((accountId, value) -> byShard.get(shardIndex(accountId, shardCount)).put(accountId, value));
+        return byShard;
+    }
+
+    Shard shardFor(long accountId) {
+        return shards[shardIndex(accountId, shards.length)];
+    }
+
+    private static int shardIndex(long accountId, int shardCount) {
+        return Math.floorMod(Long.hashCode(accountId * 0x9E3779B97F4A7C15L), shardCount);
+    }
+
+    /**
+     * @return the stored balance in minor units, or {@link LongLongHashMap#MISSING} if the account does not exist
+     */
+    private long loadBalance(long accountId) {
+        return accountRepository.findById(accountId)
+                .map(account -> MinorUnits.of(account.isHot() ? accountStripingService.totalBalance(accountId) : account.getBalance()))
+                .orElse(LongLongHashMap.MISSING);
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.idempotency;
+
+import org.example.entities.IdempotencyKeyEntity;
+import org.example.models.Transaction;
+
+import java.math.BigDecimal;
+
+/**
+ * The parts of a transfer request a retry under the same idempotency key must repeat.
+ */
+public record IdempotentRequest(long sourceAccountId, long destinationAccountId, BigDecimal amount) {
+
+    public static IdempotentRequest of(Transaction transaction) {
+        return new IdempotentRequest(transaction.getSourceAccountId(), transaction.getDestinationAccountId(), transaction.getAmount());
+    }
+
+    public static IdempotentRequest of(IdempotencyKeyEntity idempotencyKeyEntity) {
+        return new IdempotentRequest(idempotencyKeyEntity.getSourceAccountId(), idempotencyKeyEntity.getDestinationAccountId(),
+                idempotencyKeyEntity.getAmount());
+    }
+
+    public boolean matches(IdempotentRequest other) {
+        return sourceAccountId == other.sourceAccountId
+                && destinationAccountId == other.destinationAccountId
+                && amount.compareTo(other.amount) == 0;
+    }
+}
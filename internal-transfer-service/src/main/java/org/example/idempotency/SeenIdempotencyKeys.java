@@ -0,0 +1,48 @@
+package org.example.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.config.TransferProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory front for idempotency keys that lets most requests skip the database lookup.
+ * A Bloom filter holds every key this instance has completed a transfer under, so a key it
+ * has never seen, which is nearly every request, is known to be new at once. The requests of
+ * recently completed keys are also kept whole, so a prompt retry is answered from memory.
+ * <p>
+ * Neither structure knows about keys completed on other instances or before a restart; the
+ * unique constraint on the stored key catches those.
+ */
+@Component
+public class SeenIdempotencyKeys {
+    private final BloomFilter bloomFilter;
+    private final Cache<String, IdempotentRequest> recentKeys;
+
+    public SeenIdempotencyKeys(TransferProperties transferProperties) {
+        TransferProperties.Idempotency properties = transferProperties.getIdempotency();
+        this.bloomFilter = new BloomFilter(properties.getExpectedKeys(), properties.getFalsePositiveRate());
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(properties.getRecentKeys())
+                .build();
+    }
+
+    /**
+     * @return the request completed under {@code key}, if it is among the recent keys
+     */
+    public IdempotentRequest recent(String key) {
+        return recentKeys.getIfPresent(key);
+    }
+
+    /**
+     * @return {@code false} if this instance has certainly not completed a transfer under {@code key}
+     */
+    public boolean mightHaveSeen(String key) {
+        return bloomFilter.mightContain(key);
+    }
+
+    public void remember(String key, IdempotentRequest request) {
+        bloomFilter.put(key);
+        recentKeys.put(key, request);
+    }
+}
@@ -0,0 +1,212 @@
+package org.example.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.TransferProperties;
+import org.example.converters.TransactionToTransactionEntityConverter;
+import org.example.entities.TransactionEntity;
+import org.example.entities.TransactionStatus;
+import org.example.models.Transaction;
+import org.example.repositories.TransactionRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers completed transfers and writes them to the {@code transactions} table in the
+ * background as JDBC batch inserts, so recording a transfer never adds an INSERT round
+ * trip to the request. A batch is written once it reaches the configured size or once the
+ * oldest buffered transfer has waited for the flush interval, whichever comes first.
+ * <p>
+ * A batch that cannot be written is retried with a growing backoff until it is, never
+ * dropped. Meanwhile new records queue up behind it, and once the queue is full recording
+ * blocks, which holds back the transfers themselves. A caller interrupted while it waits
+ * writes its record itself, since the transfer has already happened.
+ */
+@Slf4j
+@Component
+public class TransactionJournalWriter {
+    private final TransactionRepository transactionRepository;
+    private final TransactionToTransactionEntityConverter transactionToTransactionEntityConverter;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long retryBackoffNanos;
+    private final long maxRetryBackoffNanos;
+    private final long shutdownTimeoutMillis;
+    private final BlockingQueue<TransactionEntity> queue;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public TransactionJournalWriter(TransactionRepository transactionRepository,
+                                    TransactionToTransactionEntityConverter transactionToTransactionEntityConverter,
+                                    PlatformTransactionManager transactionManager,
+                                    TransferProperties transferProperties) {
+        TransferProperties.JournalWriter properties = transferProperties.getJournalWriter();
+        this.transactionRepository = transactionRepository;
+        this.transactionToTransactionEntityConverter = transactionToTransactionEntityConverter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.retryBackoffNanos = properties.getRetryBackoff().toNanos();
+        this.maxRetryBackoffNanos = properties.getMaxRetryBackoff().toNanos();
+        this.shutdownTimeoutMillis = properties.getShutdownTimeout().toMillis();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::run, "transaction-journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            writerThread.join(shutdownTimeoutMillis);
+            if (writerThread.isAlive()) {
+                log.error("Transaction records still not written after {} ms, {} more queued; stopping without them",
+                        shutdownTimeoutMillis, queue.size());
+            }
+        }
+    }
+
+    /**
+     * Records the transfer once the surrounding database transaction finishes: as
+     * {@link TransactionStatus#SUCCESS} if it committed, {@link TransactionStatus#FAILED}
+     * if it rolled back. Without an active transaction the transfer is recorded as successful
+     * straight away. Queued transfers, which carry a transfer id, are skipped: their row is
+     * written by the queue consumer inside the transfer's own transaction.
+     */
+    public void recordOnCompletion(Transaction transaction) {
+        recordOnCompletion(List.of(transaction));
+    }
+
+    public void recordOnCompletion(List<Transaction> transactions) {
+        List<Transaction> unqueued = unqueued(transactions);
+        if (unqueued.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            unqueued.forEach(transaction -> record(transaction, TransactionStatus.SUCCESS));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionStatus transactionStatus = status == STATUS_COMMITTED ? TransactionStatus.SUCCESS : TransactionStatus.FAILED;
+                unqueued.forEach(transaction -> record(transaction, transactionStatus));
+            }
+        });
+    }
+
+    /**
+     * Records transfers that were rejected on their own as {@link TransactionStatus#FAILED},
+     * whatever becomes of the surrounding database transaction. Queued transfers are skipped,
+     * as in {@link #recordOnCompletion}.
+     */
+    public void recordRejected(List<Transaction> transactions) {
+        unqueued(transactions).forEach(transaction -> record(transaction, TransactionStatus.FAILED));
+    }
+
+    public void record(Transaction transaction, TransactionStatus status) {
+        transaction.setStatus(status);
+        transaction.setTimestamp(LocalDateTime.now());
+        TransactionEntity transactionEntity = transactionToTransactionEntityConverter.convert(transaction);
+        try {
+            queue.put(transactionEntity);
+        } catch (InterruptedException e) {
+            // The transfer has already happened, so its record is written here rather than dropped.
+            if (!queue.offer(transactionEntity)) {
+                log.warn("Interrupted while recording transfer {} -> {}, writing it directly",
+                        transaction.getSourceAccountId(), transaction.getDestinationAccountId());
+                write(List.of(transactionEntity));
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<Transaction> unqueued(List<Transaction> transactions) {
+        return transactions.stream().allMatch(transaction -> transaction.getTransferId() == null)
+                ? transactions
+                : transactions.stream().filter(transaction -> transaction.getTransferId() == null).toList();
+    }
+
+    private void run() {
+        List<TransactionEntity> buffer = new ArrayList<>(batchSize);
+        long deadline = 0;
+        while (running || !queue.isEmpty() || !buffer.isEmpty()) {
+            try {
+                if (buffer.isEmpty()) {
+                    TransactionEntity first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    buffer.add(first);
+                    deadline = System.nanoTime() + flushIntervalNanos;
+                }
+                queue.drainTo(buffer, batchSize - buffer.size());
+                long remaining = deadline - System.nanoTime();
+                if (buffer.size() < batchSize && remaining > 0) {
+                    TransactionEntity next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        buffer.add(next);
+                        continue;
+                    }
+                }
+            } catch (InterruptedException e) {
+                queue.drainTo(buffer);
+            }
+            if (!buffer.isEmpty()) {
+                write(buffer);
+                buffer = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    private void write(List<TransactionEntity> batch) {
+        long backoffNanos = retryBackoffNanos;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> transactionRepository.saveAll(batch));
+                if (attempt > 1) {
+                    log.info("Wrote {} transaction records after {} attempts", batch.size(), attempt);
+                }
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to write {} transaction records (attempt {}), retrying in {} ms",
+                        batch.size(), attempt, TimeUnit.NANOSECONDS.toMillis(backoffNanos), e);
+                batch.forEach(entity -> entity.setId(null));
+                backOff(backoffNanos);
+                backoffNanos = Math.min(backoffNanos * 2, maxRetryBackoffNanos);
+            }
+        }
+    }
+
+    /**
+     * Waits before the next attempt. An interrupt only means {@link #stop()} was called, which
+     * still wants the batch written, so it ends the wait early but not the retries.
+     */
+    private static void backOff(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            // Retry straight away; the records are still owed to the table.
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import org.example.AccountAlreadyExistsException;
+import org.example.AccountNotFoundException;
+import org.example.InsufficientBalanceException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers for transfers and account operations.
+ * <ul>
+ *     <li>{@code transfer.duration}, {@code account.read.duration}, {@code account.create.duration}:
+ *     time from the start of the operation until its transaction has completed, tagged with
+ *     the {@code outcome}. The timer counts are the outcome counts.</li>
+ *     <li>{@code transfer.lock.wait}: time spent in each query that takes a row lock, tagged
+ *     with the {@code query}.</li>
+ *     <li>{@code transfer.commit}: time spent committing a transfer.</li>
+ *     <li>{@code transfer.idempotency.checks}: transfers carrying an idempotency key, tagged
+ *     with how the key was resolved.</li>
+ * </ul>
+ */
+@Component
+public class TransferMetrics {
+    public static final String SUCCESS = "success";
+    public static final String INSUFFICIENT_BALANCE = "insufficient_balance";
+    public static final String NOT_FOUND = "not_found";
+    public static final String ALREADY_EXISTS = "already_exists";
+    public static final String LOCK_FAILURE = "lock_failure";
+    public static final String COMMIT_FAILURE = "commit_failure";
+    public static final String ERROR = "error";
+
+    public static final String KEY_NEW = "new";
+    public static final String KEY_REPLAYED_FROM_MEMORY = "replayed_from_memory";
+    public static final String KEY_REPLAYED_FROM_DATABASE = "replayed_from_database";
+    public static final String KEY_REUSED = "reused";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public TransferMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    public TransferMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Sample startTransfer(String lockingMode) {
+        return new Sample("transfer.duration", Tags.of("locking_mode", lockingMode), true);
+    }
+
+    public Sample startAccountRead() {
+        return new Sample("account.read.duration", Tags.empty(), false);
+    }
+
+    public Sample startAccountCreate() {
+        return new Sample("account.create.duration", Tags.empty(), false);
+    }
+
+    public <T> T timeLock(String query, Supplier<T> lockingQuery) {
+        return Timer.builder("transfer.lock.wait")
+                .description("Time spent in a query that takes a row lock for a transfer")
+                .tag("query", query)
+                .register(meterRegistry)
+                .record(lockingQuery);
+    }
+
+    /**
+     * Counts a transfer that carried an idempotency key by how the key was resolved. The
+     * {@code database_lookup} tag shows whether resolving it took a database query.
+     */
+    public void idempotencyCheck(String result, boolean databaseLookup) {
+        Counter.builder("transfer.idempotency.checks")
+                .description("Transfers carrying an idempotency key, by how the key was resolved")
+                .tag("result", result)
+                .tag("database_lookup", String.valueOf(databaseLookup))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    static String outcomeOf(RuntimeException e) {
+        if (e instanceof InsufficientBalanceException) {
+            return INSUFFICIENT_BALANCE;
+        }
+        if (e instanceof AccountNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (e instanceof AccountAlreadyExistsException) {
+            return ALREADY_EXISTS;
+        }
+        if (e instanceof PessimisticLockingFailureException || e instanceof PessimisticLockException
+                || e instanceof LockTimeoutException) {
+            return LOCK_FAILURE;
+        }
+        return ERROR;
+    }
+
+    /**
+     * One timed operation. Call {@link #failed} from a catch block and {@link #stop} from
+     * finally. Inside a transaction the sample is only recorded once the transaction has
+     * completed, so the duration includes the commit.
+     */
+    public final class Sample {
+        private final String name;
+        private final Tags tags;
+        private final boolean timeCommit;
+        private final long startNanos = System.nanoTime();
+        private String failedOutcome;
+
+        private Sample(String name, Tags tags, boolean timeCommit) {
+            this.name = name;
+            this.tags = tags;
+            this.timeCommit = timeCommit;
+        }
+
+        public void failed(RuntimeException e) {
+            failedOutcome = outcomeOf(e);
+        }
+
+        public void stop() {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                record(failedOutcome == null ? SUCCESS : failedOutcome);
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private long commitStartNanos;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    commitStartNanos = System.nanoTime();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED && timeCommit) {
+                        Timer.builder("transfer.commit")
+                                .description("Time spent committing a transfer")
+                                .register(meterRegistry)
+                                .record(System.nanoTime() - commitStartNanos, TimeUnit.NANOSECONDS);
+                    }
+                    if (failedOutcome != null) {
+                        record(failedOutcome);
+                    } else {
+                        record(status == STATUS_COMMITTED ? SUCCESS : COMMIT_FAILURE);
+                    }
+                }
+            });
+        }
+
+        private void record(String outcome) {
+            Timer.builder(name)
+                    .tags(tags)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.money;
+
+import org.example.AmountOutOfRangeException;
+
+import java.math.BigDecimal;
+
+/**
+ * Money as a primitive {@code long} count of minor units, one unit being 10<sup>-5</sup>,
+ * the scale of every amount and balance column. Arithmetic on minor units allocates nothing,
+ * and every operation that could leave the {@code long} range throws
+ * {@link AmountOutOfRangeException} instead of wrapping.
+ * <p>
+ * Convert with {@link #of(BigDecimal)} and {@link #toBigDecimal(long)} where amounts enter
+ * and leave code that works in minor units; both conversions are exact.
+ */
+public final class MinorUnits {
+    public static final int SCALE = 5;
+
+    private static final BigDecimal MIN = BigDecimal.valueOf(Long.MIN_VALUE, SCALE);
+    private static final BigDecimal MAX = BigDecimal.valueOf(Long.MAX_VALUE, SCALE);
+
+    private MinorUnits() {
+    }
+
+    /**
+     * @throws AmountOutOfRangeException if {@code amount} has more than {@link #SCALE}
+     *                                   decimal places or does not fit in a {@code long}
+     */
+    public static long of(BigDecimal amount) {
+        if (amount.compareTo(MIN) < 0 || amount.compareTo(MAX) > 0) {
+            throw new AmountOutOfRangeException("Amount out of range: " + amount.toPlainString());
+        }
+        try {
+            return amount.setScale(SCALE).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new AmountOutOfRangeException("Amount has more than " + SCALE + " decimal places: " + amount.toPlainString());
+        }
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static long add(long a, long b) {
+        long sum = a + b;
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            throw new AmountOutOfRangeException("Amount out of range: " + toBigDecimal(a).toPlainString()
+                    + " + " + toBigDecimal(b).toPlainString());
+        }
+        return sum;
+    }
+
+    public static long subtract(long a, long b) {
+        long difference = a - b;
+        if (((a ^ b) & (a ^ difference)) < 0) {
+            throw new AmountOutOfRangeException("Amount out of range: " + toBigDecimal(a).toPlainString()
+                    + " - " + toBigDecimal(b).toPlainString());
+        }
+        return difference;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.queue;
+
+import java.math.BigDecimal;
+
+/**
+ * A transfer read from or appended to a {@link TransferQueue}, together with where its frame
+ * lives so it can be marked consumed in place.
+ */
+public final class QueuedTransfer {
+    private final long transferId;
+    private final long sourceAccountId;
+    private final long destinationAccountId;
+    private final BigDecimal amount;
+    final TransferQueue.Segment segment;
+    final int offset;
+
+    QueuedTransfer(long transferId, long sourceAccountId, long destinationAccountId, BigDecimal amount,
+                   TransferQueue.Segment segment, int offset) {
+        this.transferId = transferId;
+        this.sourceAccountId = sourceAccountId;
+        this.destinationAccountId = destinationAccountId;
+        this.amount = amount;
+        this.segment = segment;
+        this.offset = offset;
+    }
+
+    public long transferId() {
+        return transferId;
+    }
+
+    public long sourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public long destinationAccountId() {
+        return destinationAccountId;
+    }
+
+    public BigDecimal amount() {
+        return amount;
+    }
+}
@@ -0,0 +1,298 @@
+package org.example.queue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable, append-only queue of submitted transfers kept in memory-mapped segment files.
+ * <p>
+ * Each frame is {@code [int payloadLength][byte state][payload][int crc32c]}. The CRC covers
+ * the payload only, so a frame is marked consumed by flipping its state byte in place. A
+ * segment is named after the first transfer id it may hold and is deleted once it is full and
+ * every frame in it is consumed; the segment being appended to is never deleted, so transfer
+ * ids keep increasing across restarts.
+ * <p>
+ * {@link #append} returns only once the frame is forced to the storage device. Appends that
+ * arrive while a force is in progress share the next one.
+ */
+public final class TransferQueue implements Closeable {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".queue";
+    private static final byte PENDING = 0;
+    private static final byte CONSUMED = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + 1;
+    private static final int TRAILER_BYTES = Integer.BYTES;
+    private static final int MAX_PAYLOAD_BYTES = 8 + 8 + 8 + 4 + 1 + 127;
+    private static final int MAX_FRAME_BYTES = HEADER_BYTES + MAX_PAYLOAD_BYTES + TRAILER_BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final CRC32C crc = new CRC32C();
+    private final ByteBuffer payload = ByteBuffer.allocate(MAX_PAYLOAD_BYTES);
+    private final Object forceLock = new Object();
+    private final List<QueuedTransfer> recovered = new ArrayList<>();
+
+    private Segment current;
+    private long lastTransferId;
+    private boolean closed;
+    private volatile long durableTransferId;
+
+    /**
+     * Opens the queue in {@code directory}, reading back every frame that was appended but not
+     * consumed. Frames after the first torn or corrupt one in the last segment are discarded.
+     */
+    public TransferQueue(Path directory, int segmentSize) {
+        if (segmentSize < MAX_FRAME_BYTES) {
+            throw new IllegalArgumentException("Segment size must be at least " + MAX_FRAME_BYTES + " bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                        && file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+            }
+            for (int i = 0; i < files.size(); i++) {
+                Segment segment = Segment.map(files.get(i), 0);
+                lastTransferId = Math.max(lastTransferId, segment.firstTransferId - 1);
+                recover(segment);
+                if (i < files.size() - 1) {
+                    segment.seal();
+                } else {
+                    segment.zeroFrom(segment.position);
+                    current = segment;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open transfer queue in " + directory, e);
+        }
+        durableTransferId = lastTransferId;
+    }
+
+    /**
+     * @return the transfers that were still pending when the queue was opened, in append order
+     */
+    public List<QueuedTransfer> recoveredTransfers() {
+        return List.copyOf(recovered);
+    }
+
+    public QueuedTransfer append(long sourceAccountId, long destinationAccountId, BigDecimal amount) {
+        byte[] unscaled = amount.unscaledValue().toByteArray();
+        if (unscaled.length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Amount too large for the transfer queue: " + amount);
+        }
+
+        QueuedTransfer transfer;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Transfer queue is closed");
+            }
+            if (current == null || current.capacity() - current.position < MAX_FRAME_BYTES) {
+                roll();
+            }
+            long transferId = ++lastTransferId;
+            payload.clear();
+            payload.putLong(transferId)
+                    .putLong(sourceAccountId)
+                    .putLong(destinationAccountId)
+                    .putInt(amount.scale())
+                    .put((byte) unscaled.length)
+                    .put(unscaled);
+            int payloadLength = payload.position();
+            crc.reset();
+            crc.update(payload.array(), 0, payloadLength);
+
+            int offset = current.position;
+            MappedByteBuffer buffer = current.buffer;
+            buffer.putInt(offset, payloadLength);
+            buffer.put(offset + Integer.BYTES, PENDING);
+            buffer.put(offset + HEADER_BYTES, payload.array(), 0, payloadLength);
+            buffer.putInt(offset + HEADER_BYTES + payloadLength, (int) crc.getValue());
+            current.position = offset + HEADER_BYTES + payloadLength + TRAILER_BYTES;
+            current.pending.incrementAndGet();
+            transfer = new QueuedTransfer(transferId, sourceAccountId, destinationAccountId, amount, current, offset);
+        }
+        awaitDurable(transfer.transferId());
+        return transfer;
+    }
+
+    /**
+     * Marks the transfer consumed so that it is not recovered again. The change is not forced;
+     * after a crash a consumed transfer may be recovered once more, so consumers must be able
+     * to tell it was already applied.
+     */
+    public void markConsumed(QueuedTransfer transfer) {
+        Segment segment = transfer.segment;
+        segment.buffer.put(transfer.offset + Integer.BYTES, CONSUMED);
+        if (segment.pending.decrementAndGet() == 0 && segment.sealed) {
+            segment.delete();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (current != null) {
+            current.buffer.force();
+        }
+    }
+
+    private void roll() {
+        Segment previous = current;
+        try {
+            current = Segment.map(directory.resolve(segmentFileName(lastTransferId + 1)), segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create transfer queue segment in " + directory, e);
+        }
+        if (previous != null) {
+            previous.buffer.force();
+            previous.seal();
+        }
+    }
+
+    private void awaitDurable(long transferId) {
+        if (durableTransferId >= transferId) {
+            return;
+        }
+        synchronized (forceLock) {
+            if (durableTransferId >= transferId) {
+                return;
+            }
+            Segment segment;
+            long appended;
+            synchronized (this) {
+                segment = current;
+                appended = lastTransferId;
+            }
+            segment.buffer.force();
+            durableTransferId = appended;
+        }
+    }
+
+    private void recover(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        byte[] bytes = new byte[MAX_PAYLOAD_BYTES];
+        int position = 0;
+        while (segment.capacity() - position >= HEADER_BYTES + TRAILER_BYTES) {
+            int payloadLength = buffer.getInt(position);
+            if (payloadLength <= 0 || payloadLength > MAX_PAYLOAD_BYTES
+                    || segment.capacity() - position < HEADER_BYTES + payloadLength + TRAILER_BYTES) {
+                break;
+            }
+            buffer.get(position + HEADER_BYTES, bytes, 0, payloadLength);
+            crc.reset();
+            crc.update(bytes, 0, payloadLength);
+            if ((int) crc.getValue() != buffer.getInt(position + HEADER_BYTES + payloadLength)) {
+                break;
+            }
+
+            ByteBuffer fields = ByteBuffer.wrap(bytes, 0, payloadLength);
+            long transferId = fields.getLong();
+            long sourceAccountId = fields.getLong();
+            long destinationAccountId = fields.getLong();
+            int scale = fields.getInt();
+            byte[] unscaled = new byte[fields.get()];
+            fields.get(unscaled);
+            lastTransferId = Math.max(lastTransferId, transferId);
+
+            if (buffer.get(position + Integer.BYTES) == PENDING) {
+                recovered.add(new QueuedTransfer(transferId, sourceAccountId, destinationAccountId,
+                        new BigDecimal(new BigInteger(unscaled), scale), segment, position));
+                segment.pending.incrementAndGet();
+            }
+            position += HEADER_BYTES + payloadLength + TRAILER_BYTES;
+        }
+        segment.position = position;
+    }
+
+    private static String segmentFileName(long firstTransferId) {
+        return SEGMENT_PREFIX + String.format("%020d", firstTransferId) + SEGMENT_SUFFIX;
+    }
+
+    static final class Segment {
+        private final Path file;
+        private final long firstTransferId;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean sealed;
+        private int position;
+
+        private Segment(Path file, long firstTransferId, MappedByteBuffer buffer) {
+            this.file = file;
+            this.firstTransferId = firstTransferId;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Maps an existing segment at its current size, or creates it with {@code size} bytes.
+         */
+        static Segment map(Path file, int size) throws IOException {
+            String name = file.getFileName().toString();
+            long firstTransferId = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long length = Math.max(channel.size(), size);
+                return new Segment(file, firstTransferId, channel.map(FileChannel.MapMode.READ_WRITE, 0, length));
+            }
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        /**
+         * Clears everything from {@code offset} on, so frames that were written but never
+         * forced cannot reappear behind frames appended after recovery.
+         */
+        void zeroFrom(int offset) {
+            byte[] chunk = new byte[64 * 1024];
+            byte[] zeros = new byte[chunk.length];
+            boolean changed = false;
+            for (int index = offset; index < capacity(); index += chunk.length) {
+                int length = Math.min(chunk.length, capacity() - index);
+                buffer.get(index, chunk, 0, length);
+                if (!Arrays.equals(chunk, 0, length, zeros, 0, length)) {
+                    buffer.put(index, zeros, 0, length);
+                    changed = true;
+                }
+            }
+            if (changed) {
+                buffer.force();
+            }
+        }
+
+        void seal() {
+            sealed = true;
+            if (pending.get() == 0) {
+                delete();
+            }
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete transfer queue segment " + file, e);
+            }
+        }
+    }
+}
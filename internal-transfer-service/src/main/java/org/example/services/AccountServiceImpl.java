@@ -1,50 +1,97 @@
 package org.example.services;
 
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.example.AccountAlreadyExistsException;
 import org.example.AccountNotFoundException;
 import org.example.InsufficientBalanceException;
+import org.example.cache.AccountBalanceCache;
+import org.example.config.ReplicaReads;
 import org.example.converters.AccountEntityToAccountConverter;
-import org.example.converters.AccountToAccountEntityConverter;
 import org.example.entities.AccountEntity;
+import org.example.metrics.TransferMetrics;
 import org.example.models.Account;
 import org.example.repositories.AccountRepository;
 import org.example.service.AccountService;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 
 @Service
 @RequiredArgsConstructor
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
-    private final AccountToAccountEntityConverter accountToAccountEntityConverter;
     private final AccountEntityToAccountConverter accountEntityToAccountConverter;
+    private final AccountStripingService accountStripingService;
+    private final AccountBalanceCache accountBalanceCache;
+    private final TransferMetrics transferMetrics;
+    private final ReplicaReads replicaReads;
 
     @Override
     public void createAccount(Account account) {
-        accountRepository.findByAccountId(account.getAccountId())
-                .ifPresent(a -> {
-                    throw new AccountAlreadyExistsException(
-                            "Account already exists: " + account.getAccountId()
-                    );
-                });
+        TransferMetrics.Sample sample = transferMetrics.startAccountCreate();
+        try {
+            insertAccount(account);
+        } catch (RuntimeException e) {
+            sample.failed(e);
+            throw e;
+        } finally {
+            sample.stop();
+        }
+    }
 
+    private void insertAccount(Account account) {
         if(account.getBalance().compareTo(BigDecimal.ZERO) <= 0) {
             throw new InsufficientBalanceException("Account balance should be greater than 0 to create an account");
         }
 
-        AccountEntity accountEntity = accountToAccountEntityConverter.convert(account);
+        if (accountRepository.insertIfAbsent(account.getAccountId(), account.getBalance()) == 0) {
+            throw new AccountAlreadyExistsException("Account already exists: " + account.getAccountId());
+        }
+        accountBalanceCache.invalidateAfterCommit(account.getAccountId());
+    }
 
-        accountRepository.save(accountEntity);
+    @Override
+    public Account getAccountByAccountNumber(Long accountId, Duration maxStaleness) {
+        TransferMetrics.Sample sample = transferMetrics.startAccountRead();
+        try {
+            return accountBalanceCache.get(accountId, maxStaleness, Duration.ZERO.equals(maxStaleness)
+                    ? this::getAccountByAccountNumber
+                    : id -> replicaReads.read(id, () -> getAccountByAccountNumber(id)));
+        } catch (RuntimeException e) {
+            sample.failed(e);
+            throw e;
+        } finally {
+            sample.stop();
+        }
     }
 
     @Override
     public Account getAccountByAccountNumber(Long accountId) {
-        AccountEntity accountEntity = accountRepository.findByAccountId(accountId)
+        AccountEntity accountEntity = accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
 
-        return accountEntityToAccountConverter.convert(accountEntity);
+        Account account = accountEntityToAccountConverter.convert(accountEntity);
+        if (accountEntity.isHot()) {
+            account.setBalance(accountStripingService.totalBalance(accountId));
+        }
+        return account;
+    }
+
+    @Override
+    @Transactional
+    public void markAccountHot(Long accountId, int stripes) {
+        AccountEntity accountEntity = accountRepository.findByAccountIdForUpdate(accountId).orElse(null);
+        if (accountEntity == null) {
+            accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+            return;
+        }
+
+        accountStripingService.stripe(accountEntity, stripes);
+        accountRepository.save(accountEntity);
+        accountBalanceCache.invalidateAfterCommit(accountId);
     }
 }
@@ -0,0 +1,105 @@
+package org.example.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.entities.AccountEntity;
+import org.example.entities.AccountStripeEntity;
+import org.example.repositories.AccountStripeRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps the balance of a hot account split across several stripe rows so that concurrent
+ * transfers touching the account lock different rows. No stripe is ever allowed to go
+ * negative, so the account as a whole can't either.
+ * <p>
+ * Must be called inside the caller's transaction, after any account rows have been locked.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountStripingService {
+    private static final int BALANCE_SCALE = 5;
+
+    private final AccountStripeRepository accountStripeRepository;
+
+    /**
+     * @return the number of stripes of the account, or 0 if it is not hot
+     */
+    public int stripeCount(Long accountId) {
+        return accountStripeRepository.countByAccountId(accountId);
+    }
+
+    public BigDecimal totalBalance(Long accountId) {
+        return accountStripeRepository.sumBalanceByAccountId(accountId);
+    }
+
+    /**
+     * Moves the balance of a locked account into {@code stripes} rows and marks it hot.
+     */
+    public void stripe(AccountEntity account, int stripes) {
+        BigDecimal balance = account.getBalance().setScale(BALANCE_SCALE, RoundingMode.UNNECESSARY);
+        BigDecimal share = balance.divide(BigDecimal.valueOf(stripes), BALANCE_SCALE, RoundingMode.DOWN);
+        BigDecimal remainder = balance.subtract(share.multiply(BigDecimal.valueOf(stripes - 1L)));
+
+        List<AccountStripeEntity> stripeEntities = new ArrayList<>(stripes);
+        for (int stripeIndex = 0; stripeIndex < stripes; stripeIndex++) {
+            stripeEntities.add(new AccountStripeEntity()
+                    .setAccountId(account.getAccountId())
+                    .setStripeIndex(stripeIndex)
+                    .setBalance(stripeIndex == 0 ? remainder : share));
+        }
+        accountStripeRepository.saveAll(stripeEntities);
+
+        account.setBalance(BigDecimal.ZERO).setHot(true);
+    }
+
+    /**
+     * Takes {@code amount} from a single stripe that can cover it without waiting on other
+     * transactions. Only if there is none are all stripes locked and combined.
+     *
+     * @return {@code false} if the stripes together hold less than {@code amount}
+     */
+    public boolean debit(Long accountId, BigDecimal amount) {
+        List<AccountStripeEntity> candidates = accountStripeRepository.findDebitCandidatesSkipLocked(accountId, amount, Limit.of(1));
+        if (!candidates.isEmpty()) {
+            AccountStripeEntity stripe = candidates.get(0);
+            stripe.setBalance(stripe.getBalance().subtract(amount));
+            accountStripeRepository.save(stripe);
+            return true;
+        }
+
+        List<AccountStripeEntity> stripes = accountStripeRepository.findAllByAccountIdForUpdate(accountId);
+        BigDecimal total = stripes.stream().map(AccountStripeEntity::getBalance).reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (total.compareTo(amount) < 0) {
+            return false;
+        }
+
+        BigDecimal remaining = amount;
+        List<AccountStripeEntity> richestFirst = new ArrayList<>(stripes);
+        richestFirst.sort(Comparator.comparing(AccountStripeEntity::getBalance).reversed());
+        for (AccountStripeEntity stripe : richestFirst) {
+            BigDecimal taken = stripe.getBalance().min(remaining);
+            stripe.setBalance(stripe.getBalance().subtract(taken));
+            remaining = remaining.subtract(taken);
+            if (remaining.signum() == 0) {
+                break;
+            }
+        }
+        accountStripeRepository.saveAll(stripes);
+        return true;
+    }
+
+    /**
+     * Adds {@code amount} to a randomly chosen stripe.
+     */
+    public void credit(Long accountId, int stripeCount, BigDecimal amount) {
+        int stripeIndex = ThreadLocalRandom.current().nextInt(stripeCount);
+        accountStripeRepository.creditStripe(accountId, stripeIndex, amount);
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.services;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.example.InvalidBulkInputException;
+import org.example.cache.AccountBalanceCache;
+import org.example.config.TransferProperties;
+import org.example.converters.AccountToAccountEntityConverter;
+import org.example.models.Account;
+import org.example.models.BulkAccountResult;
+import org.example.repositories.AccountRepository;
+import org.example.service.BulkAccountService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.example.constants.ErrorConstants.ACCOUNT_ALREADY_EXISTS_CODE;
+import static org.example.constants.ErrorConstants.ACCOUNT_INSUFFICIENT_BALANCE_CODE;
+import static org.example.constants.ErrorConstants.INVALID_BULK_INPUT_CODE;
+
+/**
+ * Creates accounts in chunks, each inserted in one database transaction through Hibernate's
+ * JDBC batching. Nothing is looked up first: a duplicate account id fails the chunk on the
+ * unique constraint, and only then is the chunk inserted one account at a time to find which
+ * accounts were duplicates.
+ */
+@Slf4j
+@Service
+public class BulkAccountServiceImpl implements BulkAccountService {
+    private final AccountRepository accountRepository;
+    private final AccountToAccountEntityConverter accountToAccountEntityConverter;
+    private final AccountBalanceCache accountBalanceCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BulkAccountServiceImpl(AccountRepository accountRepository,
+                                  AccountToAccountEntityConverter accountToAccountEntityConverter,
+                                  AccountBalanceCache accountBalanceCache,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  TransferProperties transferProperties) {
+        this.accountRepository = accountRepository;
+        this.accountToAccountEntityConverter = accountToAccountEntityConverter;
+        this.accountBalanceCache = accountBalanceCache;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = transferProperties.getBulkAccounts().getChunkSize();
+    }
+
+    @Override
+    public BulkAccountResult createAccounts(Iterator<Account> accounts) {
+        BulkAccountResult result = new BulkAccountResult();
+        List<IndexedAccount> chunk = new ArrayList<>(chunkSize);
+        long index = 0;
+        try {
+            for (; accounts.hasNext(); index++) {
+                Account account = accounts.next();
+                if (account.getAccountId() == null) {
+                    result.getFailures().add(new BulkAccountResult.Failure(index, null, INVALID_BULK_INPUT_CODE,
+                            "account_id is required"));
+                } else if (account.getBalance() == null || account.getBalance().compareTo(BigDecimal.ZERO) <= 0) {
+                    result.getFailures().add(new BulkAccountResult.Failure(index, account.getAccountId(),
+                            ACCOUNT_INSUFFICIENT_BALANCE_CODE, "Account balance should be greater than 0 to create an account"));
+                } else {
+                    chunk.add(new IndexedAccount(index, account));
+                    if (chunk.size() == chunkSize) {
+                        insertChunk(chunk, result);
+                    }
+                }
+            }
+            insertChunk(chunk, result);
+        } catch (InvalidBulkInputException e) {
+            insertChunk(chunk, result);
+            result.getFailures().add(new BulkAccountResult.Failure(index, null, INVALID_BULK_INPUT_CODE, e.getMessage()));
+        }
+        result.getFailures().sort(Comparator.comparingLong(BulkAccountResult.Failure::getIndex));
+        return result;
+    }
+
+    private void insertChunk(List<IndexedAccount> chunk, BulkAccountResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            result.setCreated(result.getCreated() + chunk.size());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Chunk of {} accounts holds a duplicate, inserting them one at a time", chunk.size());
+            for (IndexedAccount item : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(item)));
+                    result.setCreated(result.getCreated() + 1);
+                } catch (DataIntegrityViolationException duplicate) {
+                    Long accountId = item.account().getAccountId();
+                    result.getFailures().add(new BulkAccountResult.Failure(item.index(), accountId,
+                            ACCOUNT_ALREADY_EXISTS_CODE, "Account already exists: " + accountId));
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    private void insert(List<IndexedAccount> items) {
+        accountRepository.saveAllAndFlush(items.stream()
+                .map(item -> accountToAccountEntityConverter.convert(item.account()))
+                .toList());
+        // Inserted entities would otherwise pile up in a request-scoped persistence context.
+        entityManager.clear();
+        accountBalanceCache.invalidateAfterCommit(items.stream().map(item -> item.account().getAccountId()).toList());
+    }
+
+    private record IndexedAccount(long index, Account account) {
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.services;
+
+import org.example.InvalidIdempotencyKeyException;
+import org.example.config.TransferProperties;
+import org.example.entities.IdempotencyKeyEntity;
+import org.example.idempotency.IdempotentRequest;
+import org.example.idempotency.SeenIdempotencyKeys;
+import org.example.metrics.TransferMetrics;
+import org.example.models.Transaction;
+import org.example.repositories.IdempotencyKeyRepository;
+import org.example.service.IdempotentTransactionService;
+import org.example.service.TransactionService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Makes transfers safe to retry. The key is inserted in the same database transaction as the
+ * transfer, before any account row is touched, so it is stored exactly when the transfer
+ * commits. Keys this instance has not seen skip the lookup and go straight to the insert; if
+ * the insert hits the unique constraint, the key was completed elsewhere and the stored
+ * request is replayed instead.
+ * <p>
+ * The sharded engine applies transfers outside the database transaction, so a key whose
+ * commit failed would leave the transfer applied and its retry would move money again. Keys
+ * are rejected under that engine.
+ */
+@Service
+public class IdempotentTransactionServiceImpl implements IdempotentTransactionService {
+    private final TransactionService transactionService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final SeenIdempotencyKeys seenIdempotencyKeys;
+    private final TransferMetrics transferMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean supported;
+
+    public IdempotentTransactionServiceImpl(TransactionService transactionService,
+                                            IdempotencyKeyRepository idempotencyKeyRepository,
+                                            SeenIdempotencyKeys seenIdempotencyKeys,
+                                            TransferMetrics transferMetrics,
+                                            PlatformTransactionManager transactionManager,
+                                            TransferProperties transferProperties) {
+        this.transactionService = transactionService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.seenIdempotencyKeys = seenIdempotencyKeys;
+        this.transferMetrics = transferMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.supported = transferProperties.getEngine() == TransferProperties.Engine.JPA;
+    }
+
+    @Override
+    public void transferAmount(Transaction transaction, String idempotencyKey) {
+        if (!supported) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key is not supported by the sharded transfer engine");
+        }
+        IdempotentRequest request = IdempotentRequest.of(transaction);
+
+        IdempotentRequest recent = seenIdempotencyKeys.recent(idempotencyKey);
+        if (recent != null) {
+            replay(idempotencyKey, recent, request, TransferMetrics.KEY_REPLAYED_FROM_MEMORY, false);
+            return;
+        }
+
+        boolean lookedUp = seenIdempotencyKeys.mightHaveSeen(idempotencyKey);
+        if (lookedUp) {
+            Optional<IdempotencyKeyEntity> stored = idempotencyKeyRepository.findByIdempotencyKey(idempotencyKey);
+            if (stored.isPresent()) {
+                replay(idempotencyKey, IdempotentRequest.of(stored.get()), request, TransferMetrics.KEY_REPLAYED_FROM_DATABASE, true);
+                return;
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                idempotencyKeyRepository.saveAndFlush(new IdempotencyKeyEntity()
+                        .setIdempotencyKey(idempotencyKey)
+                        .setSourceAccountId(transaction.getSourceAccountId())
+                        .setDestinationAccountId(transaction.getDestinationAccountId())
+                        .setAmount(transaction.getAmount())
+                        .setCreatedAt(LocalDateTime.now()));
+                transactionService.transferAmount(transaction);
+            });
+        } catch (DataIntegrityViolationException e) {
+            IdempotencyKeyEntity stored = idempotencyKeyRepository.findByIdempotencyKey(idempotencyKey).orElseThrow(() -> e);
+            replay(idempotencyKey, IdempotentRequest.of(stored), request, TransferMetrics.KEY_REPLAYED_FROM_DATABASE, true);
+            return;
+        }
+        seenIdempotencyKeys.remember(idempotencyKey, request);
+        transferMetrics.idempotencyCheck(TransferMetrics.KEY_NEW, lookedUp);
+    }
+
+    private void replay(String idempotencyKey, IdempotentRequest original, IdempotentRequest request,
+                        String result, boolean databaseLookup) {
+        if (!original.matches(request)) {
+            transferMetrics.idempotencyCheck(TransferMetrics.KEY_REUSED, databaseLookup);
+            throw new InvalidIdempotencyKeyException("Idempotency key was already used for a different transfer: " + idempotencyKey);
+        }
+        seenIdempotencyKeys.remember(idempotencyKey, original);
+        transferMetrics.idempotencyCheck(result, databaseLookup);
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.AccountNotFoundException;
+import org.example.config.TransferProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically checkpoints the ledger balance of every account into
+ * {@code ledger_checkpoint_balances}, and replays an account's balance at any point in time
+ * from the newest checkpoint taken before it.
+ * <p>
+ * Transaction rows are written asynchronously and take their ids from pooled sequence blocks,
+ * so ids are not in the order rows become visible and an id high-water mark alone would miss
+ * rows written late. A checkpoint therefore folds in exactly the rows that were written since
+ * the previous one, by stamping them with its id, and adds their successful transfers to the
+ * previous checkpoint's balances. Replaying reads only the rows not yet folded in or folded
+ * into a later checkpoint, so it costs time proportional to recent activity rather than to the
+ * whole history.
+ * <p>
+ * Each checkpoint inserts its own row first, so when instances checkpoint at the same time the
+ * primary key lets one of them through and fails the others.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "transfer.engine", havingValue = "jpa", matchIfMissing = true)
+public class LedgerCheckpointService {
+    private static final String FOLD_BALANCES_SQL = """
+            INSERT INTO ledger_checkpoint_balances (checkpoint_id, account_id, balance)
+            SELECT ?, a.account_id, COALESCE(p.balance, a.initial_balance) + COALESCE(r.amount, 0) - COALESCE(se.amount, 0)
+            FROM accounts a
+            LEFT JOIN ledger_checkpoint_balances p ON p.checkpoint_id = ? AND p.account_id = a.account_id
+            LEFT JOIN (SELECT destination_account_id AS account_id, SUM(amount) AS amount FROM transactions
+                       WHERE checkpoint_id = ? AND status = 'SUCCESS'
+                       GROUP BY destination_account_id) r ON r.account_id = a.account_id
+            LEFT JOIN (SELECT source_account_id AS account_id, SUM(amount) AS amount FROM transactions
+                       WHERE checkpoint_id = ? AND status = 'SUCCESS'
+                       GROUP BY source_account_id) se ON se.account_id = a.account_id
+            """;
+
+    private static final String REPLAY_SQL = """
+            SELECT COALESCE(SUM(CASE WHEN destination_account_id = ? THEN amount ELSE 0 END), 0)
+                 - COALESCE(SUM(CASE WHEN source_account_id = ? THEN amount ELSE 0 END), 0)
+            FROM transactions
+            WHERE (checkpoint_id IS NULL OR checkpoint_id > ?)
+              AND status = 'SUCCESS'
+              AND (source_account_id = ? OR destination_account_id = ?)
+              AND timestamp <= ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferProperties.LedgerCheckpoint properties;
+    private ScheduledExecutorService scheduler;
+
+    public LedgerCheckpointService(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   TransferProperties transferProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = transferProperties.getLedgerCheckpoint();
+    }
+
+    @PostConstruct
+    public void start() {
+        long intervalMillis = properties.getInterval().toMillis();
+        if (intervalMillis > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ledger-checkpoint");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::scheduledCheckpoint, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Folds the transactions written since the previous checkpoint into a new one and deletes
+     * the checkpoints beyond the retained number.
+     *
+     * @return the new checkpoint's id
+     */
+    public synchronized long checkpoint() {
+        return transactionTemplate.execute(status -> {
+            Long previous = latestCheckpointId();
+            long checkpointId = previous == null ? 1 : previous + 1;
+            long previousHighWaterMark = previous == null ? 0 : jdbcTemplate.queryForObject(
+                    "SELECT high_water_mark FROM ledger_checkpoints WHERE id = ?", Long.class, previous);
+            jdbcTemplate.update("INSERT INTO ledger_checkpoints (id, taken_at, high_water_mark) VALUES (?, ?, ?)",
+                    checkpointId, Timestamp.valueOf(LocalDateTime.now()), previousHighWaterMark);
+
+            jdbcTemplate.update("UPDATE transactions SET checkpoint_id = ? WHERE checkpoint_id IS NULL", checkpointId);
+            // Taken after the rows were stamped, so every row folded in was recorded before it.
+            LocalDateTime takenAt = LocalDateTime.now();
+            Long highWaterMark = jdbcTemplate.queryForObject(
+                    "SELECT MAX(id) FROM transactions WHERE checkpoint_id = ?", Long.class, checkpointId);
+
+            jdbcTemplate.update(FOLD_BALANCES_SQL, checkpointId, previous, checkpointId, checkpointId);
+            jdbcTemplate.update("UPDATE ledger_checkpoints SET taken_at = ?, high_water_mark = ? WHERE id = ?",
+                    Timestamp.valueOf(takenAt), highWaterMark == null ? previousHighWaterMark : Math.max(highWaterMark, previousHighWaterMark),
+                    checkpointId);
+
+            long oldestRetained = checkpointId - properties.getRetainedCheckpoints() + 1;
+            jdbcTemplate.update("DELETE FROM ledger_checkpoint_balances WHERE checkpoint_id < ?", oldestRetained);
+            jdbcTemplate.update("DELETE FROM ledger_checkpoints WHERE id < ?", oldestRetained);
+            return checkpointId;
+        });
+    }
+
+    /**
+     * @return the ledger balance {@code accountId} had at {@code pointInTime}: the balance in
+     * the newest checkpoint taken by then, or the initial balance if there is none, plus the
+     * successful transactions recorded by then that the checkpoint does not include
+     */
+    public BigDecimal balanceAt(long accountId, LocalDateTime pointInTime) {
+        BigDecimal initialBalance = jdbcTemplate.queryForList(
+                        "SELECT initial_balance FROM accounts WHERE account_id = ?", BigDecimal.class, accountId)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+
+        List<Long> checkpoints = jdbcTemplate.queryForList(
+                "SELECT id FROM ledger_checkpoints WHERE taken_at <= ? ORDER BY id DESC FETCH FIRST 1 ROWS ONLY",
+                Long.class, Timestamp.valueOf(pointInTime));
+        long checkpointId = checkpoints.isEmpty() ? 0 : checkpoints.get(0);
+        BigDecimal balance = checkpoints.isEmpty() ? initialBalance : jdbcTemplate.queryForList(
+                        "SELECT balance FROM ledger_checkpoint_balances WHERE checkpoint_id = ? AND account_id = ?",
+                        BigDecimal.class, checkpointId, accountId)
+                .stream()
+                .findFirst()
+                .orElse(initialBalance);
+
+        BigDecimal change = jdbcTemplate.queryForObject(REPLAY_SQL, BigDecimal.class,
+                accountId, accountId, checkpointId, accountId, accountId, Timestamp.valueOf(pointInTime));
+        return balance.add(change);
+    }
+
+    private Long latestCheckpointId() {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM ledger_checkpoints", Long.class);
+    }
+
+    private void scheduledCheckpoint() {
+        try {
+            long started = System.nanoTime();
+            long checkpointId = checkpoint();
+            log.info("Ledger checkpoint {} taken in {} ms", checkpointId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            log.error("Cannot checkpoint the ledger", e);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package org.example.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.AsyncTransferNotSupportedException;
+import org.example.BusinessException;
+import org.example.InsufficientBalanceException;
+import org.example.TransactionNotFoundException;
+import org.example.TransferQueueFullException;
+import org.example.config.TransferProperties;
+import org.example.converters.TransactionToTransactionEntityConverter;
+import org.example.entities.TransactionEntity;
+import org.example.entities.TransactionStatus;
+import org.example.models.Transaction;
+import org.example.models.TransferOutcome;
+import org.example.money.MinorUnits;
+import org.example.queue.QueuedTransfer;
+import org.example.queue.TransferQueue;
+import org.example.repositories.TransactionRepository;
+import org.example.service.AsyncTransactionService;
+import org.example.service.TransactionService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts transfers into a durable {@link TransferQueue} and applies them in the background
+ * through {@link TransactionService}.
+ * <p>
+ * Each consumer drains up to a batch of queued transfers and applies them with
+ * {@link TransactionService#transferEach} in one database transaction. The transfers are
+ * unrelated, so each is checked on its own and gets its own {@code SUCCESS} or {@code FAILED}
+ * row; none can spend money another one of the batch pays in. If the batch as a whole fails,
+ * its transfers are applied one at a time instead. The {@code transactions} row of a queued transfer is inserted in the same
+ * database transaction as the transfer, and {@code transfer_id} is unique, so a transfer
+ * recovered from the queue after a crash is never applied twice. Transfers that fail for
+ * reasons other than the transfer itself, such as the database being down, stay queued and
+ * are retried.
+ * <p>
+ * Queued transfers are applied in no particular order relative to each other.
+ * <p>
+ * The sharded engine applies transfers outside the database transaction, so rolling it back
+ * would not undo a transfer and a recovered or retried one would move money twice. Under
+ * that engine the queue is not started and {@link #submit} is rejected.
+ */
+@Slf4j
+@Service
+public class QueuedTransactionService implements AsyncTransactionService {
+    private final TransactionService transactionService;
+    private final TransactionRepository transactionRepository;
+    private final TransactionToTransactionEntityConverter transactionToTransactionEntityConverter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferProperties.Async properties;
+    private final boolean supported;
+    private final BlockingQueue<QueuedTransfer> ready = new LinkedBlockingQueue<>();
+    private final Set<Long> pendingTransferIds = ConcurrentHashMap.newKeySet();
+    private final List<Thread> consumers = new ArrayList<>();
+
+    private volatile boolean running;
+    private TransferQueue transferQueue;
+
+    public QueuedTransactionService(TransactionService transactionService,
+                                    TransactionRepository transactionRepository,
+                                    TransactionToTransactionEntityConverter transactionToTransactionEntityConverter,
+                                    PlatformTransactionManager transactionManager,
+                                    TransferProperties transferProperties) {
+        this.transactionService = transactionService;
+        this.transactionRepository = transactionRepository;
+        this.transactionToTransactionEntityConverter = transactionToTransactionEntityConverter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = transferProperties.getAsync();
+        this.supported = transferProperties.getEngine() == TransferProperties.Engine.JPA;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!supported) {
+            log.info("Transfer queue disabled: queued transfers are not supported by the {} transfer engine", TransferProperties.Engine.SHARDED);
+            return;
+        }
+        transferQueue = new TransferQueue(Path.of(properties.getDirectory()), (int) properties.getSegmentSize().toBytes());
+        for (QueuedTransfer transfer : transferQueue.recoveredTransfers()) {
+            pendingTransferIds.add(transfer.transferId());
+            ready.add(transfer);
+        }
+        if (!ready.isEmpty()) {
+            log.info("Recovered {} queued transfers", ready.size());
+        }
+
+        running = true;
+        for (int i = 0; i < properties.getConsumers(); i++) {
+            Thread consumer = new Thread(this::consume, "transfer-queue-consumer-" + i);
+            consumer.setDaemon(true);
+            consumers.add(consumer);
+            consumer.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread consumer : consumers) {
+            consumer.interrupt();
+        }
+        for (Thread consumer : consumers) {
+            consumer.join();
+        }
+        if (transferQueue != null) {
+            transferQueue.close();
+        }
+    }
+
+    @Override
+    public long submit(Transaction transaction) {
+        if (!supported) {
+            throw new AsyncTransferNotSupportedException("Queued transfers are not supported by the sharded transfer engine");
+        }
+        if (MinorUnits.of(transaction.getAmount()) <= 0) {
+            throw new InsufficientBalanceException("Transfer amount must be greater than zero");
+        }
+        if (pendingTransferIds.size() >= properties.getMaxPending()) {
+            throw new TransferQueueFullException("Transfer queue is full, retry later");
+        }
+        QueuedTransfer transfer = transferQueue.append(transaction.getSourceAccountId(),
+                transaction.getDestinationAccountId(), transaction.getAmount());
+        pendingTransferIds.add(transfer.transferId());
+        ready.add(transfer);
+        return transfer.transferId();
+    }
+
+    @Override
+    public Transaction getTransaction(Long transferId) {
+        TransactionStatus status = pendingTransferIds.contains(transferId)
+                ? TransactionStatus.PENDING
+                : transactionRepository.findStatusByTransferId(transferId)
+                        .orElseThrow(() -> new TransactionNotFoundException("Transaction not found: " + transferId));
+        return Transaction.builder()
+                .transferId(transferId)
+                .status(status)
+                .build();
+    }
+
+    private void consume() {
+        while (running) {
+            try {
+                processNextBatch(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Transfer queue consumer failed", e);
+            }
+        }
+    }
+
+    /**
+     * Waits up to {@code timeout} for a queued transfer and applies it together with any
+     * others already waiting, up to the batch size.
+     */
+    void processNextBatch(long timeout, TimeUnit unit) throws InterruptedException {
+        QueuedTransfer first = ready.poll(timeout, unit);
+        if (first == null) {
+            return;
+        }
+        List<QueuedTransfer> batch = new ArrayList<>(properties.getBatchSize());
+        batch.add(first);
+        ready.drainTo(batch, properties.getBatchSize() - 1);
+
+        if (batch.size() > 1 && applyBatch(batch)) {
+            return;
+        }
+        for (QueuedTransfer transfer : batch) {
+            apply(transfer);
+        }
+    }
+
+    private boolean applyBatch(List<QueuedTransfer> batch) {
+        List<Transaction> transactions = batch.stream().map(QueuedTransactionService::toTransaction).toList();
+        List<TransferOutcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> {
+                List<TransferOutcome> applied = transactionService.transferEach(transactions);
+                List<TransactionEntity> rows = new ArrayList<>(transactions.size());
+                for (int i = 0; i < transactions.size(); i++) {
+                    TransferOutcome outcome = applied.get(i);
+                    if (outcome.isApplied() || outcome.isRejected()) {
+                        rows.add(toEntity(transactions.get(i), outcome.isApplied() ? TransactionStatus.SUCCESS : TransactionStatus.FAILED));
+                    }
+                }
+                transactionRepository.saveAllAndFlush(rows);
+                return applied;
+            });
+        } catch (RuntimeException e) {
+            log.debug("Batch of {} queued transfers failed, applying them one at a time", batch.size(), e);
+            return false;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            TransferOutcome outcome = outcomes.get(i);
+            if (outcome.isApplied() || outcome.isRejected()) {
+                finish(batch.get(i));
+            } else {
+                log.warn("Queued transfer {} failed, retrying in {}: {}", batch.get(i).transferId(), properties.getRetryDelay(), outcome.getMessage());
+                retryLater(batch.get(i));
+            }
+        }
+        return true;
+    }
+
+    private void apply(QueuedTransfer transfer) {
+        Transaction transaction = toTransaction(transfer);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                transactionService.transferAmount(transaction);
+                transactionRepository.saveAndFlush(toEntity(transaction, TransactionStatus.SUCCESS));
+            });
+        } catch (BusinessException e) {
+            if (!recordFailure(transaction)) {
+                retryLater(transfer);
+                return;
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Queued transfer {} was already applied", transfer.transferId());
+        } catch (RuntimeException e) {
+            log.warn("Queued transfer {} failed, retrying in {}", transfer.transferId(), properties.getRetryDelay(), e);
+            retryLater(transfer);
+            return;
+        }
+        finish(transfer);
+    }
+
+    private boolean recordFailure(Transaction transaction) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    transactionRepository.saveAndFlush(toEntity(transaction, TransactionStatus.FAILED)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Queued transfer {} was already recorded", transaction.getTransferId());
+        } catch (RuntimeException e) {
+            log.warn("Cannot record failed queued transfer {}, retrying in {}", transaction.getTransferId(), properties.getRetryDelay(), e);
+            return false;
+        }
+        return true;
+    }
+
+    private void retryLater(QueuedTransfer transfer) {
+        try {
+            Thread.sleep(properties.getRetryDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ready.add(transfer);
+    }
+
+    private void finish(QueuedTransfer transfer) {
+        transferQueue.markConsumed(transfer);
+        pendingTransferIds.remove(transfer.transferId());
+    }
+
+    private TransactionEntity toEntity(Transaction transaction, TransactionStatus status) {
+        transaction.setStatus(status);
+        transaction.setTimestamp(LocalDateTime.now());
+        return transactionToTransactionEntityConverter.convert(transaction);
+    }
+
+    private static Transaction toTransaction(QueuedTransfer transfer) {
+        return Transaction.builder()
+                .transferId(transfer.transferId())
+                .sourceAccountId(transfer.sourceAccountId())
+                .destinationAccountId(transfer.destinationAccountId())
+                .amount(transfer.amount())
+                .build();
+    }
+}
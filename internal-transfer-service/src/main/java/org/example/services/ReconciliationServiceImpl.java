@@ -0,0 +1,236 @@
+package org.example.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.TransferProperties;
+import org.example.models.ReconciliationReport;
+import org.example.service.ReconciliationService;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reconciles the ledger in account id ranges on a dedicated {@link ForkJoinPool}.
+ * <p>
+ * The ranges are found by walking the {@code account_id} index one range at a time, each step
+ * a short query of its own. The list of ranges is then halved recursively and each range is
+ * verified by a single forward-only query that reads its accounts together with the sums of
+ * their stripes and successful transactions, in a read-only transaction that takes no locks.
+ * Partial results are merged as the halves are joined.
+ * <p>
+ * Ranges are verified at different moments, and transactions are recorded shortly after their
+ * transfer commits, so a transfer in progress during a run can make an account look
+ * mismatched. Reported accounts are verified again once the run is over and only listed if
+ * they still do not match. The totals are not re-verified: under load they may differ by the
+ * transfers that crossed ranges while the run was in progress.
+ */
+@Slf4j
+@Service
+public class ReconciliationServiceImpl implements ReconciliationService {
+    private static final String VERIFY_RANGE_SQL = """
+            SELECT a.account_id,
+                   a.balance + COALESCE(st.balance, 0),
+                   a.initial_balance,
+                   COALESCE(r.amount, 0) - COALESCE(se.amount, 0)
+            FROM accounts a
+            LEFT JOIN (SELECT account_id, SUM(balance) AS balance FROM account_stripes
+                       WHERE account_id BETWEEN ? AND ? GROUP BY account_id) st ON st.account_id = a.account_id
+            LEFT JOIN (SELECT destination_account_id AS account_id, SUM(amount) AS amount FROM transactions
+                       WHERE status = 'SUCCESS' AND destination_account_id BETWEEN ? AND ?
+                       GROUP BY destination_account_id) r ON r.account_id = a.account_id
+            LEFT JOIN (SELECT source_account_id AS account_id, SUM(amount) AS amount FROM transactions
+                       WHERE status = 'SUCCESS' AND source_account_id BETWEEN ? AND ?
+                       GROUP BY source_account_id) se ON se.account_id = a.account_id
+            WHERE a.account_id BETWEEN ? AND ?
+            ORDER BY a.account_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferProperties.Reconciliation properties;
+    private final ForkJoinPool pool;
+    private ScheduledExecutorService scheduler;
+
+    public ReconciliationServiceImpl(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     TransferProperties transferProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = transferProperties.getReconciliation();
+        this.pool = new ForkJoinPool(properties.getParallelism());
+    }
+
+    @PostConstruct
+    public void start() {
+        long intervalMillis = properties.getInterval().toMillis();
+        if (intervalMillis > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ledger-reconciliation");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::scheduledReconcile, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        pool.shutdownNow();
+    }
+
+    @Override
+    public synchronized ReconciliationReport reconcile() {
+        long started = System.nanoTime();
+        List<AccountRange> ranges = partition();
+        ReconciliationReport report = ranges.isEmpty()
+                ? new ReconciliationReport()
+                : pool.invoke(new VerifyRanges(ranges, 0, ranges.size()));
+        report.setRanges(ranges.size());
+
+        List<ReconciliationReport.Mismatch> confirmed = new ArrayList<>();
+        for (ReconciliationReport.Mismatch mismatch : report.getMismatches()) {
+            ReconciliationReport recheck = verify(new AccountRange(mismatch.getAccountId(), mismatch.getAccountId()));
+            confirmed.addAll(recheck.getMismatches());
+        }
+        report.setMismatchCount(report.getMismatchCount() - report.getMismatches().size() + confirmed.size());
+        report.setMismatches(confirmed);
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return report;
+    }
+
+    private void scheduledReconcile() {
+        try {
+            ReconciliationReport report = reconcile();
+            if (report.isConsistent()) {
+                log.info("Ledger reconciled: {} accounts in {} ms", report.getAccountsChecked(), report.getElapsedMillis());
+            } else {
+                log.warn("Ledger reconciliation found {} mismatched accounts {}, total balance {} against initial {}",
+                        report.getMismatchCount(),
+                        report.getMismatches().stream().map(ReconciliationReport.Mismatch::getAccountId).toList(),
+                        report.getTotalBalance(), report.getTotalInitialBalance());
+            }
+        } catch (RuntimeException e) {
+            log.error("Ledger reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Splits the account ids into ranges of {@code rangeSize} accounts. Each boundary is found
+     * with an index-only query that skips {@code rangeSize} ids from the previous one.
+     */
+    private List<AccountRange> partition() {
+        List<AccountRange> ranges = new ArrayList<>();
+        Long from = jdbcTemplate.queryForObject("SELECT MIN(account_id) FROM accounts", Long.class);
+        while (from != null) {
+            List<Long> next = jdbcTemplate.queryForList(
+                    "SELECT account_id FROM accounts WHERE account_id >= ? ORDER BY account_id OFFSET ? ROWS FETCH FIRST 1 ROWS ONLY",
+                    Long.class, from, properties.getRangeSize());
+            Long to = next.isEmpty() ? null : next.get(0);
+            ranges.add(new AccountRange(from, to == null ? Long.MAX_VALUE : to - 1));
+            from = to;
+        }
+        return ranges;
+    }
+
+    private ReconciliationReport verify(AccountRange range) {
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.execute((ConnectionCallback<ReconciliationReport>) connection -> verify(connection, range)));
+    }
+
+    private ReconciliationReport verify(Connection connection, AccountRange range) throws SQLException {
+        ReconciliationReport report = new ReconciliationReport();
+        try (PreparedStatement statement = connection.prepareStatement(VERIFY_RANGE_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(properties.getFetchSize());
+            for (int i = 1; i <= 8; i += 2) {
+                statement.setLong(i, range.from());
+                statement.setLong(i + 1, range.to());
+            }
+            BigDecimal totalBalance = BigDecimal.ZERO;
+            BigDecimal totalInitialBalance = BigDecimal.ZERO;
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    BigDecimal balance = rows.getBigDecimal(2);
+                    BigDecimal initialBalance = rows.getBigDecimal(3);
+                    BigDecimal expectedBalance = initialBalance.add(rows.getBigDecimal(4));
+                    report.setAccountsChecked(report.getAccountsChecked() + 1);
+                    totalBalance = totalBalance.add(balance);
+                    totalInitialBalance = totalInitialBalance.add(initialBalance);
+                    if (balance.compareTo(expectedBalance) != 0) {
+                        report.setMismatchCount(report.getMismatchCount() + 1);
+                        if (report.getMismatches().size() < properties.getMaxReportedMismatches()) {
+                            report.getMismatches().add(new ReconciliationReport.Mismatch(rows.getLong(1), balance, expectedBalance));
+                        }
+                    }
+                }
+            }
+            report.setTotalBalance(totalBalance);
+            report.setTotalInitialBalance(totalInitialBalance);
+        }
+        return report;
+    }
+
+    private ReconciliationReport merge(ReconciliationReport lower, ReconciliationReport upper) {
+        lower.setAccountsChecked(lower.getAccountsChecked() + upper.getAccountsChecked());
+        lower.setTotalBalance(lower.getTotalBalance().add(upper.getTotalBalance()));
+        lower.setTotalInitialBalance(lower.getTotalInitialBalance().add(upper.getTotalInitialBalance()));
+        lower.setMismatchCount(lower.getMismatchCount() + upper.getMismatchCount());
+        List<ReconciliationReport.Mismatch> mismatches = lower.getMismatches();
+        for (ReconciliationReport.Mismatch mismatch : upper.getMismatches()) {
+            if (mismatches.size() >= properties.getMaxReportedMismatches()) {
+                break;
+            }
+            mismatches.add(mismatch);
+        }
+        return lower;
+    }
+
+    /**
+     * Account ids from {@code from} to {@code to}, both inclusive.
+     */
+    private record AccountRange(long from, long to) {
+    }
+
+    private class VerifyRanges extends RecursiveTask<ReconciliationReport> {
+        private final List<AccountRange> ranges;
+        private final int from;
+        private final int to;
+
+        VerifyRanges(List<AccountRange> ranges, int from, int to) {
+            this.ranges = ranges;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ReconciliationReport compute() {
+            if (to - from == 1) {
+                return verify(ranges.get(from));
+            }
+            int middle = (from + to) >>> 1;
+            VerifyRanges lower = new VerifyRanges(ranges, from, middle);
+            lower.fork();
+            ReconciliationReport upper = new VerifyRanges(ranges, middle, to).compute();
+            return merge(lower.join(), upper);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.engine.ShardedTransferEngine;
+import org.example.models.Account;
+import org.example.service.AccountService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Serves balances from the sharded engine, which holds the only up-to-date copy
+ * while it is enabled. Account creation still goes through the database.
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transfer.engine", havingValue = "sharded")
+public class ShardedAccountService implements AccountService {
+    private final AccountServiceImpl accountServiceImpl;
+    private final ShardedTransferEngine shardedTransferEngine;
+
+    @Override
+    public void createAccount(Account account) {
+        accountServiceImpl.createAccount(account);
+    }
+
+    @Override
+    public Account getAccountByAccountNumber(Long accountId) {
+        return Account.builder()
+                .accountId(accountId)
+                .balance(shardedTransferEngine.balance(accountId))
+                .build();
+    }
+
+    /**
+     * The engine's in-memory balance is always current, so there is nothing to cache.
+     */
+    @Override
+    public Account getAccountByAccountNumber(Long accountId, Duration maxStaleness) {
+        return getAccountByAccountNumber(accountId);
+    }
+
+    @Override
+    public void markAccountHot(Long accountId, int stripes) {
+        accountServiceImpl.markAccountHot(accountId, stripes);
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.BatchTransferNotSupportedException;
+import org.example.BusinessException;
+import org.example.engine.ShardedTransferEngine;
+import org.example.models.Transaction;
+import org.example.models.TransferOutcome;
+import org.example.service.TransactionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transfer.engine", havingValue = "sharded")
+public class ShardedTransactionService implements TransactionService {
+    private final ShardedTransferEngine shardedTransferEngine;
+
+    @Override
+    public void transferAmount(Transaction transaction) {
+        shardedTransferEngine.transfer(transaction.getSourceAccountId(), transaction.getDestinationAccountId(), transaction.getAmount());
+    }
+
+    /**
+     * A batch must apply atomically, which the shards cannot do for transfers that span them,
+     * so batches are rejected rather than applied in part.
+     */
+    @Override
+    public void transferBatch(List<Transaction> transactions) {
+        throw new BatchTransferNotSupportedException("Batch transfers are not supported by the sharded transfer engine");
+    }
+
+    /**
+     * Applies transfers on different accounts in parallel, but waits for a transfer to finish,
+     * credit included, before submitting a later one that shares an account with it, so
+     * transfers on one account are applied in the given order. Transfers are durable one by
+     * one, so a failure is reported in the transfer's outcome rather than thrown.
+     */
+    @Override
+    public List<TransferOutcome> transferEach(List<Transaction> transactions) {
+        List<CompletableFuture<BigDecimal>> results = new ArrayList<>(transactions.size());
+        Map<Long, CompletableFuture<BigDecimal>> latestByAccount = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            awaitQuietly(latestByAccount.get(transaction.getSourceAccountId()));
+            awaitQuietly(latestByAccount.get(transaction.getDestinationAccountId()));
+            CompletableFuture<BigDecimal> result;
+            try {
+                result = shardedTransferEngine.transferAsync(transaction.getSourceAccountId(),
+                        transaction.getDestinationAccountId(), transaction.getAmount());
+            } catch (RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            latestByAccount.put(transaction.getSourceAccountId(), result);
+            latestByAccount.put(transaction.getDestinationAccountId(), result);
+            results.add(result);
+        }
+
+        List<TransferOutcome> outcomes = new ArrayList<>(transactions.size());
+        for (CompletableFuture<BigDecimal> result : results) {
+            try {
+                result.join();
+                outcomes.add(TransferOutcome.applied());
+            } catch (CompletionException e) {
+                outcomes.add(e.getCause() instanceof BusinessException rejection
+                        ? TransferOutcome.rejected(rejection.getCode(), rejection.getMessage())
+                        : TransferOutcome.failed(String.valueOf(e.getCause().getMessage())));
+            }
+        }
+        return outcomes;
+    }
+
+    private static void awaitQuietly(CompletableFuture<BigDecimal> result) {
+        if (result != null) {
+            result.exceptionally(failure -> null).join();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.services;
+
+import org.example.AccountNotFoundException;
+import org.example.config.TransferProperties;
+import org.example.entities.TransactionStatus;
+import org.example.models.Statement;
+import org.example.models.StatementLine;
+import org.example.repositories.AccountRepository;
+import org.example.service.StatementService;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads statements straight from JDBC, bypassing the persistence context, so no entity is
+ * managed or retained while a statement is written. Sent and received transfers are read
+ * through two forward-only cursors, each walking its {@code (accountId, timestamp, id)} index
+ * in order, and merged as they go; memory use is one fetch per cursor whatever the length of
+ * the statement.
+ * <p>
+ * Both cursors stay open in one read-only transaction for as long as the statement is being
+ * consumed, which holds a pooled connection for that time.
+ */
+@Service
+public class StatementServiceImpl implements StatementService {
+    private static final String COLUMNS = "t.id, t.transfer_id, t.timestamp, t.source_account_id, t.destination_account_id, t.amount, t.status";
+
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    public StatementServiceImpl(AccountRepository accountRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                TransferProperties transferProperties) {
+        this.accountRepository = accountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.fetchSize = transferProperties.getStatement().getFetchSize();
+    }
+
+    @Override
+    public Statement getStatement(Long accountId, LocalDateTime from, LocalDateTime to) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("Account not found: " + accountId);
+        }
+        return action -> transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    write(connection, accountId, from, to, action);
+                    return null;
+                }));
+    }
+
+    private void write(Connection connection, long accountId, LocalDateTime from, LocalDateTime to,
+                       Consumer<StatementLine> action) throws SQLException {
+        try (PreparedStatement sentQuery = prepare(connection, "source_account_id", accountId, from, to);
+             PreparedStatement receivedQuery = prepare(connection, "destination_account_id", accountId, from, to);
+             ResultSet sentRows = sentQuery.executeQuery();
+             ResultSet receivedRows = receivedQuery.executeQuery()) {
+            Row sent = Row.next(sentRows);
+            Row received = Row.next(receivedRows);
+            BigDecimal runningBalance = BigDecimal.ZERO;
+            while (sent != null || received != null) {
+                Row row;
+                int order = sent == null ? 1 : received == null ? -1 : sent.compareTo(received);
+                if (order <= 0) {
+                    row = sent;
+                    sent = Row.next(sentRows);
+                    // A transfer from the account to itself is read by both cursors
+                    if (order == 0) {
+                        received = Row.next(receivedRows);
+                    }
+                } else {
+                    row = received;
+                    received = Row.next(receivedRows);
+                }
+                if (row.status == TransactionStatus.SUCCESS) {
+                    if (row.sourceAccountId == accountId) {
+                        runningBalance = runningBalance.subtract(row.amount);
+                    }
+                    if (row.destinationAccountId == accountId) {
+                        runningBalance = runningBalance.add(row.amount);
+                    }
+                }
+                action.accept(new StatementLine(row.id, row.transferId, row.timestamp, row.sourceAccountId,
+                        row.destinationAccountId, row.amount, row.status, runningBalance));
+            }
+        }
+    }
+
+    private PreparedStatement prepare(Connection connection, String accountColumn, long accountId,
+                                      LocalDateTime from, LocalDateTime to) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS)
+                .append(" FROM transactions t WHERE t.").append(accountColumn).append(" = ?");
+        List<Object> parameters = new ArrayList<>(List.of(accountId));
+        if (from != null) {
+            sql.append(" AND t.timestamp >= ?");
+            parameters.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND t.timestamp < ?");
+            parameters.add(to);
+        }
+        sql.append(" ORDER BY t.timestamp, t.id");
+
+        PreparedStatement statement = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize);
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+        return statement;
+    }
+
+    private record Row(long id, Long transferId, LocalDateTime timestamp, long sourceAccountId,
+                       long destinationAccountId, BigDecimal amount, TransactionStatus status) implements Comparable<Row> {
+
+        static Row next(ResultSet resultSet) throws SQLException {
+            if (!resultSet.next()) {
+                return null;
+            }
+            return new Row(resultSet.getLong(1),
+                    resultSet.getObject(2, Long.class),
+                    resultSet.getObject(3, LocalDateTime.class),
+                    resultSet.getLong(4),
+                    resultSet.getLong(5),
+                    resultSet.getBigDecimal(6),
+                    TransactionStatus.valueOf(resultSet.getString(7)));
+        }
+
+        @Override
+        public int compareTo(Row other) {
+            int order = timestamp.compareTo(other.timestamp);
+            return order != 0 ? order : Long.compare(id, other.id);
+        }
+    }
+}
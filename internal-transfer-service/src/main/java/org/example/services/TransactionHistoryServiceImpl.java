@@ -0,0 +1,92 @@
+package org.example.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.AccountNotFoundException;
+import org.example.InvalidPageRequestException;
+import org.example.converters.TransactionEntityToTransactionConverter;
+import org.example.entities.TransactionEntity;
+import org.example.models.Transaction;
+import org.example.models.TransactionCursor;
+import org.example.models.TransactionHistoryPage;
+import org.example.repositories.AccountRepository;
+import org.example.repositories.TransactionRepository;
+import org.example.service.TransactionHistoryService;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads an account's history with keyset pagination: each page asks the indexes on
+ * {@code (sourceAccountId, timestamp, id)} and {@code (destinationAccountId, timestamp, id)}
+ * for the {@code limit + 1} rows just before the cursor, and merges the two. A page therefore
+ * reads the same number of index entries however deep into the history it is.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionHistoryServiceImpl implements TransactionHistoryService {
+    private static final int MAX_LIMIT = 500;
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final Comparator<TransactionEntity> NEWEST_FIRST =
+            Comparator.comparing(TransactionEntity::getTimestamp).thenComparing(TransactionEntity::getId).reversed();
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionEntityToTransactionConverter transactionEntityToTransactionConverter;
+
+    @Override
+    public TransactionHistoryPage getTransactions(Long accountId, LocalDateTime from, LocalDateTime to, TransactionCursor cursor, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + MAX_LIMIT + ": " + limit);
+        }
+        LocalDateTime lowerBound = from == null ? EARLIEST : from;
+        LocalDateTime beforeTimestamp = to == null ? LATEST : to;
+        long beforeId = Long.MIN_VALUE;
+        if (cursor != null && cursor.timestamp().isBefore(beforeTimestamp)) {
+            beforeTimestamp = cursor.timestamp();
+            beforeId = cursor.id();
+        }
+
+        List<TransactionEntity> sent = transactionRepository.findSentBefore(accountId, lowerBound, beforeTimestamp, beforeId, Limit.of(limit + 1));
+        List<TransactionEntity> received = transactionRepository.findReceivedBefore(accountId, lowerBound, beforeTimestamp, beforeId, Limit.of(limit + 1));
+        if (sent.isEmpty() && received.isEmpty() && !accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("Account not found: " + accountId);
+        }
+
+        List<TransactionEntity> merged = merge(sent, received);
+        List<Transaction> transactions = merged.stream()
+                .limit(limit)
+                .map(transactionEntityToTransactionConverter::convert)
+                .toList();
+        TransactionCursor nextCursor = merged.size() > limit ? TransactionCursor.of(transactions.get(limit - 1)) : null;
+        return new TransactionHistoryPage(transactions, nextCursor);
+    }
+
+    /**
+     * Merges two newest-first lists. A transfer from the account to itself is in both and is
+     * kept once.
+     */
+    private static List<TransactionEntity> merge(List<TransactionEntity> sent, List<TransactionEntity> received) {
+        List<TransactionEntity> merged = new ArrayList<>(sent.size() + received.size());
+        int i = 0;
+        int j = 0;
+        while (i < sent.size() || j < received.size()) {
+            if (j == received.size()) {
+                merged.add(sent.get(i++));
+            } else if (i == sent.size()) {
+                merged.add(received.get(j++));
+            } else {
+                int order = NEWEST_FIRST.compare(sent.get(i), received.get(j));
+                if (order == 0) {
+                    j++;
+                }
+                merged.add(order <= 0 ? sent.get(i++) : received.get(j++));
+            }
+        }
+        return merged;
+    }
+}
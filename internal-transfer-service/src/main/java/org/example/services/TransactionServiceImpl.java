@@ -3,44 +3,360 @@ package org.example.services;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.example.AccountNotFoundException;
+import org.example.BusinessException;
 import org.example.InsufficientBalanceException;
+import org.example.cache.AccountBalanceCache;
+import org.example.config.TransferProperties;
 import org.example.entities.AccountEntity;
+import org.example.journal.TransactionJournalWriter;
+import org.example.metrics.TransferMetrics;
 import org.example.models.Transaction;
+import org.example.models.TransferOutcome;
+import org.example.money.MinorUnits;
 import org.example.repositories.AccountRepository;
 import org.example.service.TransactionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "transfer.engine", havingValue = "jpa", matchIfMissing = true)
 public class TransactionServiceImpl implements TransactionService {
     private final AccountRepository accountRepository;
+    private final TransferProperties transferProperties;
+    private final TransactionJournalWriter transactionJournalWriter;
+    private final AccountStripingService accountStripingService;
+    private final AccountBalanceCache accountBalanceCache;
+    private final TransferMetrics transferMetrics;
 
     @Override
     @Transactional
     public void transferAmount(Transaction transaction) {
-        if (transaction.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new InsufficientBalanceException("Transfer amount must be greater than zero");
+        TransferMetrics.Sample sample = transferMetrics.startTransfer(transferProperties.getLockingMode().name());
+        try {
+            applyTransfer(transaction);
+        } catch (RuntimeException e) {
+            sample.failed(e);
+            throw e;
+        } finally {
+            sample.stop();
+        }
+    }
+
+    private void applyTransfer(Transaction transaction) {
+        transactionJournalWriter.recordOnCompletion(transaction);
+        accountBalanceCache.invalidateAfterCommit(List.of(transaction.getSourceAccountId(), transaction.getDestinationAccountId()));
+
+        long amount = amountOf(transaction);
+
+        if (transferProperties.getLockingMode() == TransferProperties.LockingMode.CONDITIONAL_UPDATE) {
+            transferWithConditionalUpdates(transaction);
+            return;
+        }
+
+        AccountEntity sourceAccount;
+        AccountEntity destinationAccount;
+        int destinationStripes = 0;
+
+        if (transferProperties.getLockingMode() == TransferProperties.LockingMode.ORDERED) {
+            Map<Long, AccountEntity> lockedAccounts = transferMetrics.timeLock("ordered", () -> accountRepository
+                            .findAllByAccountIdInForUpdate(List.of(transaction.getSourceAccountId(), transaction.getDestinationAccountId())))
+                    .stream()
+                    .collect(Collectors.toMap(AccountEntity::getAccountId, Function.identity()));
+
+            sourceAccount = lockedAccounts.get(transaction.getSourceAccountId());
+            if (sourceAccount == null) {
+                stripeCountOrThrow(transaction.getSourceAccountId(), "Source account not found: ");
+            }
+
+            destinationAccount = lockedAccounts.get(transaction.getDestinationAccountId());
+            if (destinationAccount == null) {
+                destinationStripes = stripeCountOrThrow(transaction.getDestinationAccountId(), "Destination account not found: ");
+            }
+        } else {
+            sourceAccount = transferMetrics.timeLock("source", () -> accountRepository
+                            .findByAccountIdForUpdate(transaction.getSourceAccountId()))
+                    .orElse(null);
+            if (sourceAccount == null) {
+                stripeCountOrThrow(transaction.getSourceAccountId(), "Source account not found: ");
+            }
+
+            destinationAccount = transferMetrics.timeLock("destination", () -> accountRepository
+                            .findByAccountIdForUpdate(transaction.getDestinationAccountId()))
+                    .orElse(null);
+            if (destinationAccount == null) {
+                destinationStripes = stripeCountOrThrow(transaction.getDestinationAccountId(), "Destination account not found: ");
+            }
         }
 
-        AccountEntity sourceAccount = accountRepository
-                .findByAccountIdForUpdate(transaction.getSourceAccountId())
-                .orElseThrow(() -> new AccountNotFoundException("Source account not found: " + transaction.getSourceAccountId()));
+        moveMoney(transaction, amount, sourceAccount, destinationAccount, destinationStripes);
+    }
 
-        AccountEntity destinationAccount = accountRepository
-                .findByAccountIdForUpdate(transaction.getDestinationAccountId())
-                .orElseThrow(() -> new AccountNotFoundException("Destination account not found: " + transaction.getDestinationAccountId()));
+    /**
+     * Moves {@code amount} minor units between accounts whose rows, unless they are hot, are
+     * already locked.
+     */
+    private void moveMoney(Transaction transaction, long amount, AccountEntity sourceAccount,
+                           AccountEntity destinationAccount, int destinationStripes) {
+        if (sourceAccount == null || destinationAccount == null) {
+            transferWithStripes(transaction, amount, sourceAccount, destinationAccount, destinationStripes);
+            return;
+        }
 
-        if (sourceAccount.getBalance().compareTo(transaction.getAmount()) < 0) {
+        long sourceBalance = MinorUnits.of(sourceAccount.getBalance());
+        if (sourceBalance < amount) {
             throw new InsufficientBalanceException("Insufficient balance in source account: " + transaction.getSourceAccountId());
         }
 
-        sourceAccount.setBalance(sourceAccount.getBalance().subtract(transaction.getAmount()));
-        destinationAccount.setBalance(destinationAccount.getBalance().add(transaction.getAmount()));
+        sourceAccount.setBalance(MinorUnits.toBigDecimal(MinorUnits.subtract(sourceBalance, amount)));
+        destinationAccount.setBalance(MinorUnits.toBigDecimal(MinorUnits.add(MinorUnits.of(destinationAccount.getBalance()), amount)));
 
         accountRepository.save(sourceAccount);
         accountRepository.save(destinationAccount);
     }
 
+    @Override
+    @Transactional
+    public void transferBatch(List<Transaction> transactions) {
+        transactionJournalWriter.recordOnCompletion(transactions);
+
+        Map<Long, Long> netChanges = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            long amount = amountOf(transaction);
+            netChanges.merge(transaction.getSourceAccountId(), -amount, MinorUnits::add);
+            netChanges.merge(transaction.getDestinationAccountId(), amount, MinorUnits::add);
+        }
+
+        if (netChanges.isEmpty()) {
+            return;
+        }
+        accountBalanceCache.invalidateAfterCommit(netChanges.keySet());
+
+        Map<Long, AccountEntity> lockedAccounts = accountRepository
+                .findAllByAccountIdInForUpdate(netChanges.keySet())
+                .stream()
+                .collect(Collectors.toMap(AccountEntity::getAccountId, Function.identity()));
+
+        List<AccountEntity> changedAccounts = new ArrayList<>();
+        for (Map.Entry<Long, Long> netChange : netChanges.entrySet()) {
+            AccountEntity account = lockedAccounts.get(netChange.getKey());
+            if (account == null) {
+                int stripes = stripeCountOrThrow(netChange.getKey(), "Account not found: ");
+                applyToStripes(netChange.getKey(), stripes, netChange.getValue());
+                continue;
+            }
+
+            if (netChange.getValue() == 0) {
+                continue;
+            }
+
+            long newBalance = MinorUnits.add(MinorUnits.of(account.getBalance()), netChange.getValue());
+            if (newBalance < 0) {
+                throw new InsufficientBalanceException("Insufficient balance in account: " + netChange.getKey());
+            }
+
+            account.setBalance(MinorUnits.toBigDecimal(newBalance));
+            changedAccounts.add(account);
+        }
+
+        accountRepository.saveAll(changedAccounts);
+    }
+
+    /**
+     * Locks every account row the transfers touch in one round trip, then applies the
+     * transfers in order against the locked rows, so each balance check sees the transfers
+     * before it and none after it.
+     */
+    @Override
+    @Transactional
+    public List<TransferOutcome> transferEach(List<Transaction> transactions) {
+        Set<Long> accountIds = new TreeSet<>();
+        for (Transaction transaction : transactions) {
+            accountIds.add(transaction.getSourceAccountId());
+            accountIds.add(transaction.getDestinationAccountId());
+        }
+        List<TransferOutcome> outcomes = new ArrayList<>(transactions.size());
+        if (accountIds.isEmpty()) {
+            return outcomes;
+        }
+        accountBalanceCache.invalidateAfterCommit(accountIds);
+
+        Map<Long, AccountEntity> lockedAccounts = transferMetrics.timeLock("ordered", () -> accountRepository
+                        .findAllByAccountIdInForUpdate(accountIds))
+                .stream()
+                .collect(Collectors.toMap(AccountEntity::getAccountId, Function.identity()));
+
+        List<Transaction> applied = new ArrayList<>(transactions.size());
+        List<Transaction> rejected = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            try {
+                applyToLockedAccounts(transaction, lockedAccounts);
+                applied.add(transaction);
+                outcomes.add(TransferOutcome.applied());
+            } catch (BusinessException e) {
+                rejected.add(transaction);
+                outcomes.add(TransferOutcome.rejected(e.getCode(), e.getMessage()));
+            }
+        }
+        transactionJournalWriter.recordOnCompletion(applied);
+        transactionJournalWriter.recordRejected(rejected);
+        return outcomes;
+    }
+
+    private void applyToLockedAccounts(Transaction transaction, Map<Long, AccountEntity> lockedAccounts) {
+        long amount = amountOf(transaction);
+        Long sourceAccountId = transaction.getSourceAccountId();
+        Long destinationAccountId = transaction.getDestinationAccountId();
+
+        AccountEntity sourceAccount = lockedAccounts.get(sourceAccountId);
+        if (sourceAccount == null) {
+            stripeCountOrThrow(sourceAccountId, "Source account not found: ");
+        }
+        AccountEntity destinationAccount = lockedAccounts.get(destinationAccountId);
+        int destinationStripes = destinationAccount == null
+                ? stripeCountOrThrow(destinationAccountId, "Destination account not found: ")
+                : 0;
+
+        if (sourceAccount == null && destinationAccount == null && sourceAccountId > destinationAccountId) {
+            // Between two hot accounts the lower id, here the destination, is credited before
+            // the source is debited, so a rejection would leave the credit behind.
+            try {
+                transferWithStripes(transaction, amount, null, null, destinationStripes);
+            } catch (BusinessException e) {
+                throw new IllegalStateException("Transfer between hot accounts rejected after its credit: " + e.getMessage(), e);
+            }
+            return;
+        }
+        moveMoney(transaction, amount, sourceAccount, destinationAccount, destinationStripes);
+    }
+
+    /**
+     * Applies a transfer as two guarded UPDATEs without reading either account first. The
+     * lower account id is updated first so that opposing transfers lock rows in the same order.
+     * The database does the arithmetic, so the amount is bound as it was given.
+     */
+    private void transferWithConditionalUpdates(Transaction transaction) {
+        Long sourceAccountId = transaction.getSourceAccountId();
+        Long destinationAccountId = transaction.getDestinationAccountId();
+        BigDecimal amount = transaction.getAmount();
+
+        if (sourceAccountId <= destinationAccountId) {
+            debitConditionally(sourceAccountId, amount);
+            creditConditionally(destinationAccountId, amount);
+        } else {
+            creditConditionally(destinationAccountId, amount);
+            debitConditionally(sourceAccountId, amount);
+        }
+    }
+
+    private void debitConditionally(Long sourceAccountId, BigDecimal amount) {
+        if (transferMetrics.timeLock("conditional_debit", () -> accountRepository.debitIfSufficient(sourceAccountId, amount)) == 1) {
+            return;
+        }
+        if (accountStripingService.stripeCount(sourceAccountId) > 0) {
+            debitStripes(sourceAccountId, amount);
+            return;
+        }
+        if (!accountRepository.existsById(sourceAccountId)) {
+            throw new AccountNotFoundException("Source account not found: " + sourceAccountId);
+        }
+        throw new InsufficientBalanceException("Insufficient balance in source account: " + sourceAccountId);
+    }
+
+    private void creditConditionally(Long destinationAccountId, BigDecimal amount) {
+        if (transferMetrics.timeLock("conditional_credit", () -> accountRepository.credit(destinationAccountId, amount)) == 1) {
+            return;
+        }
+        int stripes = stripeCountOrThrow(destinationAccountId, "Destination account not found: ");
+        accountStripingService.credit(destinationAccountId, stripes, amount);
+    }
+
+    /**
+     * Completes a transfer where at least one side is a hot account. Account rows are
+     * already locked; stripes are locked afterwards in ascending account id order.
+     */
+    private void transferWithStripes(Transaction transaction, long minorUnits, AccountEntity sourceAccount,
+                                     AccountEntity destinationAccount, int destinationStripes) {
+        Long sourceAccountId = transaction.getSourceAccountId();
+        Long destinationAccountId = transaction.getDestinationAccountId();
+        BigDecimal amount = transaction.getAmount();
+
+        if (sourceAccountId.equals(destinationAccountId)) {
+            if (MinorUnits.of(accountStripingService.totalBalance(sourceAccountId)) < minorUnits) {
+                throw new InsufficientBalanceException("Insufficient balance in source account: " + sourceAccountId);
+            }
+            return;
+        }
+
+        if (sourceAccount != null) {
+            long sourceBalance = MinorUnits.of(sourceAccount.getBalance());
+            if (sourceBalance < minorUnits) {
+                throw new InsufficientBalanceException("Insufficient balance in source account: " + sourceAccountId);
+            }
+            sourceAccount.setBalance(MinorUnits.toBigDecimal(MinorUnits.subtract(sourceBalance, minorUnits)));
+            accountRepository.save(sourceAccount);
+            accountStripingService.credit(destinationAccountId, destinationStripes, amount);
+            return;
+        }
+
+        if (destinationAccount != null) {
+            debitStripes(sourceAccountId, amount);
+            destinationAccount.setBalance(MinorUnits.toBigDecimal(MinorUnits.add(MinorUnits.of(destinationAccount.getBalance()), minorUnits)));
+            accountRepository.save(destinationAccount);
+            return;
+        }
+
+        if (sourceAccountId < destinationAccountId) {
+            debitStripes(sourceAccountId, amount);
+            accountStripingService.credit(destinationAccountId, destinationStripes, amount);
+        } else {
+            accountStripingService.credit(destinationAccountId, destinationStripes, amount);
+            debitStripes(sourceAccountId, amount);
+        }
+    }
+
+    private void debitStripes(Long sourceAccountId, BigDecimal amount) {
+        if (!accountStripingService.debit(sourceAccountId, amount)) {
+            throw new InsufficientBalanceException("Insufficient balance in source account: " + sourceAccountId);
+        }
+    }
+
+    private void applyToStripes(Long accountId, int stripes, long netChange) {
+        if (netChange > 0) {
+            accountStripingService.credit(accountId, stripes, MinorUnits.toBigDecimal(netChange));
+        } else if (netChange < 0 && !accountStripingService.debit(accountId, MinorUnits.toBigDecimal(netChange).negate())) {
+            throw new InsufficientBalanceException("Insufficient balance in account: " + accountId);
+        }
+    }
+
+    /**
+     * @return the transfer's amount in {@link MinorUnits}
+     * @throws InsufficientBalanceException if it is not positive
+     */
+    private static long amountOf(Transaction transaction) {
+        long amount = MinorUnits.of(transaction.getAmount());
+        if (amount <= 0) {
+            throw new InsufficientBalanceException("Transfer amount must be greater than zero");
+        }
+        return amount;
+    }
+
+    private int stripeCountOrThrow(Long accountId, String notFoundMessage) {
+        int stripes = accountStripingService.stripeCount(accountId);
+        if (stripes == 0) {
+            throw new AccountNotFoundException(notFoundMessage + accountId);
+        }
+        return stripes;
+    }
+
 }
@@ -0,0 +1,174 @@
+package org.example.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.AccountNotFoundException;
+import org.example.config.ReplicaReads;
+import org.example.config.TransferProperties;
+import org.example.models.Account;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("AccountBalanceCache Tests")
+class AccountBalanceCacheTest {
+
+    private static final Duration STALENESS = Duration.ofMinutes(1);
+
+    private MeterRegistry meterRegistry;
+    private AccountBalanceCache accountBalanceCache;
+    private AtomicInteger loads;
+    private Function<Long, Account> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        TransferProperties transferProperties = new TransferProperties();
+        transferProperties.getBalanceCache().setExpireAfterWrite(Duration.ofMinutes(5));
+        accountBalanceCache = new AccountBalanceCache(transferProperties,
+                new ReplicaReads(transferProperties, mock(PlatformTransactionManager.class)),
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+
+        loads = new AtomicInteger();
+        loader = accountId -> Account.builder()
+                .accountId(accountId)
+                .balance(new BigDecimal(loads.incrementAndGet() * 100))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load a balance once and serve repeated reads from the cache")
+    void shouldServeRepeatedReadsFromCache() {
+        // When
+        Account first = accountBalanceCache.get(1001L, STALENESS, loader);
+        Account second = accountBalanceCache.get(1001L, STALENESS, loader);
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(second.getBalance()).isEqualByComparingTo(first.getBalance());
+        assertThat(second).isNotSameAs(first);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", AccountBalanceCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", AccountBalanceCache.CACHE_NAME).tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should always read through when no staleness is accepted")
+    void shouldReadThroughWithZeroStaleness() {
+        // Given
+        accountBalanceCache.get(1001L, STALENESS, loader);
+
+        // When
+        Account account = accountBalanceCache.get(1001L, Duration.ZERO, loader);
+
+        // Then
+        assertThat(loads).hasValue(2);
+        assertThat(account.getBalance()).isEqualByComparingTo("200");
+        assertThat(accountBalanceCache.get(1001L, STALENESS, loader).getBalance()).isEqualByComparingTo("100");
+    }
+
+    @Test
+    @DisplayName("Should reload an entry older than the accepted staleness")
+    void shouldReloadEntryOlderThanAcceptedStaleness() throws InterruptedException {
+        // Given
+        accountBalanceCache.get(1001L, STALENESS, loader);
+        Thread.sleep(5);
+
+        // When
+        Account account = accountBalanceCache.get(1001L, Duration.ofMillis(1), loader);
+
+        // Then
+        assertThat(loads).hasValue(2);
+        assertThat(account.getBalance()).isEqualByComparingTo("200");
+    }
+
+    @Test
+    @DisplayName("Should invalidate straight away outside a transaction")
+    void shouldInvalidateImmediatelyWithoutTransaction() {
+        // Given
+        accountBalanceCache.get(1001L, STALENESS, loader);
+
+        // When
+        accountBalanceCache.invalidateAfterCommit(1001L);
+
+        // Then
+        assertThat(accountBalanceCache.get(1001L, STALENESS, loader).getBalance()).isEqualByComparingTo("200");
+    }
+
+    @Test
+    @DisplayName("Should only invalidate once the surrounding transaction commits")
+    void shouldInvalidateOnlyAfterCommit() {
+        // Given
+        accountBalanceCache.get(1001L, STALENESS, loader);
+        accountBalanceCache.get(1002L, STALENESS, loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        accountBalanceCache.invalidateAfterCommit(List.of(1001L, 1002L));
+
+        // Then
+        assertThat(accountBalanceCache.get(1001L, STALENESS, loader).getBalance()).isEqualByComparingTo("100");
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(accountBalanceCache.get(1001L, STALENESS, loader).getBalance()).isEqualByComparingTo("300");
+        assertThat(accountBalanceCache.get(1002L, STALENESS, loader).getBalance()).isEqualByComparingTo("400");
+    }
+
+    @Test
+    @DisplayName("Should keep the cached balance when the transaction rolls back")
+    void shouldKeepCachedBalanceOnRollback() {
+        // Given
+        accountBalanceCache.get(1001L, STALENESS, loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        accountBalanceCache.invalidateAfterCommit(1001L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertThat(accountBalanceCache.get(1001L, STALENESS, loader).getBalance()).isEqualByComparingTo("100");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache missing accounts")
+    void shouldNotCacheMissingAccounts() {
+        // Given
+        Function<Long, Account> missing = accountId -> {
+            loads.incrementAndGet();
+            throw new AccountNotFoundException("Account not found: " + accountId);
+        };
+
+        // When & Then
+        assertThatThrownBy(() -> accountBalanceCache.get(99999L, STALENESS, missing))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Account not found: 99999");
+        assertThatThrownBy(() -> accountBalanceCache.get(99999L, STALENESS, missing))
+                .isInstanceOf(AccountNotFoundException.class);
+        assertThat(loads).hasValue(2);
+    }
+}
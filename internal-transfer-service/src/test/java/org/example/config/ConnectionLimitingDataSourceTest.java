@@ -0,0 +1,107 @@
+package org.example.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConnectionLimitingDataSource Tests")
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(targetDataSource, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Should hold a permit until the connection is closed")
+    void shouldHoldPermitUntilConnectionClosed() throws SQLException {
+        // Given
+        Connection target = mock(Connection.class);
+        when(targetDataSource.getConnection()).thenReturn(target);
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+        connection.close();
+        verify(target).close();
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should release the permit only once when a connection is closed twice")
+    void shouldReleasePermitOnce() throws SQLException {
+        // Given
+        when(targetDataSource.getConnection()).thenReturn(mock(Connection.class));
+        Connection connection = dataSource.getConnection();
+
+        // When
+        connection.close();
+        connection.close();
+
+        // Then
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should time out when every permit is held")
+    void shouldTimeOutWhenNoPermitAvailable() throws SQLException {
+        // Given
+        when(targetDataSource.getConnection()).thenReturn(mock(Connection.class));
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        // When & Then
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(dataSource.availablePermits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the pool fails to hand out a connection")
+    void shouldReleasePermitWhenPoolFails() throws SQLException {
+        // Given
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // When & Then
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLException.class);
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should delegate other calls to the pooled connection")
+    void shouldDelegateToPooledConnection() throws SQLException {
+        // Given
+        Connection target = mock(Connection.class);
+        when(target.getAutoCommit()).thenReturn(true);
+        when(targetDataSource.getConnection()).thenReturn(target);
+
+        // When
+        Connection connection = dataSource.getConnection();
+
+        // Then
+        assertThat(connection.getAutoCommit()).isTrue();
+    }
+}
@@ -25,7 +25,6 @@ class AccountEntityToAccountConverterTest {
     void shouldConvertAccountEntityToAccount() {
         // Given
         AccountEntity accountEntity = new AccountEntity()
-                .setId(1L)
                 .setAccountId(12345L)
                 .setBalance(new BigDecimal("2500.50"));
 
@@ -43,7 +42,6 @@ class AccountEntityToAccountConverterTest {
     void shouldHandleZeroBalance() {
         // Given
         AccountEntity accountEntity = new AccountEntity()
-                .setId(2L)
                 .setAccountId(67890L)
                 .setBalance(BigDecimal.ZERO);
 
@@ -61,7 +59,6 @@ class AccountEntityToAccountConverterTest {
     void shouldHandlePrecisionInBalance() {
         // Given
         AccountEntity accountEntity = new AccountEntity()
-                .setId(3L)
                 .setAccountId(11111L)
                 .setBalance(new BigDecimal("123.45678"));
 
@@ -0,0 +1,69 @@
+package org.example.converters;
+
+import org.example.entities.TransactionEntity;
+import org.example.entities.TransactionStatus;
+import org.example.models.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TransactionToTransactionEntityConverter Tests")
+class TransactionToTransactionEntityConverterTest {
+
+    private TransactionToTransactionEntityConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        converter = new TransactionToTransactionEntityConverter();
+    }
+
+    @Test
+    @DisplayName("Should convert Transaction to TransactionEntity successfully")
+    void shouldConvertTransactionToTransactionEntity() {
+        // Given
+        LocalDateTime timestamp = LocalDateTime.of(2025, 1, 15, 10, 30);
+        Transaction transaction = Transaction.builder()
+                .sourceAccountId(1001L)
+                .destinationAccountId(1002L)
+                .amount(new BigDecimal("250.12345"))
+                .status(TransactionStatus.SUCCESS)
+                .timestamp(timestamp)
+                .build();
+
+        // When
+        TransactionEntity result = converter.convert(transaction);
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.getId()).isNull();
+        assertThat(result.getSourceAccountId()).isEqualTo(1001L);
+        assertThat(result.getDestinationAccountId()).isEqualTo(1002L);
+        assertThat(result.getAmount()).isEqualByComparingTo(new BigDecimal("250.12345"));
+        assertThat(result.getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(result.getTimestamp()).isEqualTo(timestamp);
+    }
+
+    @Test
+    @DisplayName("Should keep failed status")
+    void shouldKeepFailedStatus() {
+        // Given
+        Transaction transaction = Transaction.builder()
+                .sourceAccountId(1001L)
+                .destinationAccountId(1002L)
+                .amount(new BigDecimal("10.00"))
+                .status(TransactionStatus.FAILED)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        // When
+        TransactionEntity result = converter.convert(transaction);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TransactionStatus.FAILED);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BalanceCheckpoint Tests")
+class BalanceCheckpointTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back what was written")
+    void shouldRoundTrip() {
+        // Given
+        BalanceCheckpoint checkpoint = checkpoint(7L);
+
+        // When
+        checkpoint.write(directory);
+        List<Path> files = BalanceCheckpoint.list(directory);
+        BalanceCheckpoint read = BalanceCheckpoint.read(files.get(0));
+
+        // Then
+        assertThat(files).hasSize(1);
+        assertThat(BalanceCheckpoint.sequenceOf(files.get(0))).isEqualTo(7L);
+        assertThat(read.sequence()).isEqualTo(7L);
+        assertThat(read.takenAt()).isEqualTo(1_700_000_000_000L);
+        assertThat(read.lastTransferId()).isEqualTo(42L);
+        assertThat(read.journalOffsets()).containsExactly(Map.entry("shard-0.journal", 128L), Map.entry("shard-1.journal", 0L));
+        assertThat(read.inFlightDebits()).containsExactly(
+                new JournalRecord(41L, JournalRecordType.DEBIT, 1001L, 2001L, 500L, 1_700_000_000_000L));
+        assertThat(read.accountIds()).containsExactly(1001L, 1002L);
+        assertThat(read.balances()).containsExactly(9_500L, 10_000L);
+        assertThat(read.deltaAccountIds()).containsExactly(3001L);
+        assertThat(read.deltas()).containsExactly(-250L);
+    }
+
+    @Test
+    @DisplayName("Should reject a checkpoint whose contents were damaged")
+    void shouldRejectCorruptCheckpoint() throws IOException {
+        // Given
+        checkpoint(1L).write(directory);
+        Path file = BalanceCheckpoint.list(directory).get(0);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+
+        // When & Then
+        assertThat(BalanceCheckpoint.read(file)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should list checkpoints newest first and prune the oldest")
+    void shouldPruneOldestCheckpoints() {
+        // Given
+        for (long sequence = 1; sequence <= 12; sequence++) {
+            checkpoint(sequence).write(directory);
+        }
+
+        // When
+        BalanceCheckpoint.prune(directory, 3);
+
+        // Then
+        assertThat(BalanceCheckpoint.list(directory))
+                .extracting(BalanceCheckpoint::sequenceOf)
+                .containsExactly(12L, 11L, 10L);
+    }
+
+    private static BalanceCheckpoint checkpoint(long sequence) {
+        Map<String, Long> journalOffsets = new LinkedHashMap<>();
+        journalOffsets.put("shard-0.journal", 128L);
+        journalOffsets.put("shard-1.journal", 0L);
+        return new BalanceCheckpoint(sequence, 1_700_000_000_000L, 42L, journalOffsets,
+                List.of(new JournalRecord(41L, JournalRecordType.DEBIT, 1001L, 2001L, 500L, 1_700_000_000_000L)),
+                new long[]{1001L, 1002L}, new long[]{9_500L, 10_000L},
+                new long[]{3001L}, new long[]{-250L});
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Journal Tests")
+class JournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should replay flushed records in append order")
+    void shouldReplayFlushedRecords() {
+        // Given
+        Path file = directory.resolve("shard-0.journal");
+        try (Journal journal = new Journal(file)) {
+            journal.append(1L, JournalRecordType.TRANSFER, 1001L, 1002L, 10_000_000L, 1_700_000_000_000L);
+            journal.append(2L, JournalRecordType.DEBIT, 1001L, 2001L, 1L, 1_700_000_000_001L);
+            journal.flush();
+        }
+        List<JournalRecord> records = new ArrayList<>();
+
+        // When
+        long count = Journal.replay(file, records::add);
+
+        // Then
+        assertThat(count).isEqualTo(2);
+        assertThat(records).containsExactly(
+                new JournalRecord(1L, JournalRecordType.TRANSFER, 1001L, 1002L, 10_000_000L, 1_700_000_000_000L),
+                new JournalRecord(2L, JournalRecordType.DEBIT, 1001L, 2001L, 1L, 1_700_000_000_001L));
+    }
+
+    @Test
+    @DisplayName("Should drop a torn tail and keep appending after the last complete record")
+    void shouldDropTornTail() throws IOException {
+        // Given
+        Path file = directory.resolve("shard-0.journal");
+        try (Journal journal = new Journal(file)) {
+            journal.append(1L, JournalRecordType.TRANSFER, 1001L, 1002L, 1_000_000L, 0L);
+            journal.append(2L, JournalRecordType.TRANSFER, 1001L, 1002L, 2_000_000L, 0L);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 3);
+        }
+
+        // When
+        List<JournalRecord> records = new ArrayList<>();
+        Journal.replay(file, records::add);
+        try (Journal journal = new Journal(file)) {
+            journal.append(3L, JournalRecordType.CREDIT, 1002L, 1001L, 3_000_000L, 0L);
+        }
+        List<JournalRecord> afterAppend = new ArrayList<>();
+        Journal.replay(file, afterAppend::add);
+
+        // Then
+        assertThat(records).extracting(JournalRecord::transferId).containsExactly(1L);
+        assertThat(afterAppend).extracting(JournalRecord::transferId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should replay records whose amount was written as a variable-length decimal without a timestamp")
+    void shouldReplayVariableLengthAmounts() throws IOException {
+        // Given
+        Path file = directory.resolve("shard-0.journal");
+        Files.write(file, legacyFrame(1L, JournalRecordType.DEBIT, 1001L, 2001L, new BigDecimal("12.34")));
+        try (Journal journal = new Journal(file)) {
+            journal.append(2L, JournalRecordType.CREDIT, 2001L, 1001L, 1_234_000L, 1_700_000_000_000L);
+        }
+        List<JournalRecord> records = new ArrayList<>();
+
+        // When
+        Journal.replay(file, records::add);
+
+        // Then
+        assertThat(records).containsExactly(
+                new JournalRecord(1L, JournalRecordType.DEBIT, 1001L, 2001L, 1_234_000L, 0L),
+                new JournalRecord(2L, JournalRecordType.CREDIT, 2001L, 1001L, 1_234_000L, 1_700_000_000_000L));
+    }
+
+    @Test
+    @DisplayName("Should read only the records appended after a position, leaving a torn tail in place")
+    void shouldReadFromPosition() throws IOException {
+        // Given
+        Path file = directory.resolve("shard-0.journal");
+        long position;
+        try (Journal journal = new Journal(file)) {
+            journal.append(1L, JournalRecordType.TRANSFER, 1001L, 1002L, 1_000_000L, 0L);
+            journal.flush();
+            position = journal.position();
+            journal.append(2L, JournalRecordType.TRANSFER, 1001L, 1002L, 2_000_000L, 0L);
+            journal.append(3L, JournalRecordType.TRANSFER, 1001L, 1002L, 3_000_000L, 0L);
+        }
+        long length = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(length - 3);
+        }
+        List<JournalRecord> records = new ArrayList<>();
+
+        // When
+        long count = Journal.read(file, position, records::add);
+
+        // Then
+        assertThat(count).isEqualTo(1);
+        assertThat(records).extracting(JournalRecord::transferId).containsExactly(2L);
+        assertThat(Files.size(file)).isEqualTo(length - 3);
+    }
+
+    @Test
+    @DisplayName("Should replay nothing when the journal does not exist")
+    void shouldReplayNothingForMissingFile() {
+        assertThat(Journal.replay(directory.resolve("missing.journal"), record -> { })).isZero();
+    }
+
+    private static byte[] legacyFrame(long transferId, JournalRecordType type, long accountId,
+                                      long counterpartyAccountId, BigDecimal amount) {
+        byte[] unscaled = amount.unscaledValue().toByteArray();
+        ByteBuffer payload = ByteBuffer.allocate(8 + 1 + 8 + 8 + 4 + 1 + unscaled.length)
+                .putLong(transferId)
+                .put((byte) type.ordinal())
+                .putLong(accountId)
+                .putLong(counterpartyAccountId)
+                .putInt(amount.scale())
+                .put((byte) unscaled.length)
+                .put(unscaled);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.array());
+        return ByteBuffer.allocate(4 + payload.capacity() + 4)
+                .putInt(payload.capacity())
+                .put(payload.array())
+                .putInt((int) crc.getValue())
+                .array();
+    }
+}
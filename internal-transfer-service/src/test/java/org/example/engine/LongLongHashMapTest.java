@@ -0,0 +1,47 @@
+package org.example.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LongLongHashMap Tests")
+class LongLongHashMapTest {
+
+    @Test
+    @DisplayName("Should return the last value put for a key and MISSING for an absent key")
+    void shouldGetAndPut() {
+        // Given
+        LongLongHashMap map = new LongLongHashMap(4);
+
+        // When
+        map.put(0L, 10L);
+        map.put(-7L, 20L);
+        map.put(0L, 30L);
+
+        // Then
+        assertThat(map.get(0L)).isEqualTo(30L);
+        assertThat(map.get(-7L)).isEqualTo(20L);
+        assertThat(map.get(1L)).isEqualTo(LongLongHashMap.MISSING);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep every entry while growing")
+    void shouldKeepEntriesWhileGrowing() {
+        // Given
+        LongLongHashMap map = new LongLongHashMap(4);
+
+        // When
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key << 20, key);
+        }
+
+        // Then
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(map.get(key << 20)).isEqualTo(key);
+        }
+        assertThat(map.get(10_000L << 20)).isEqualTo(LongLongHashMap.MISSING);
+    }
+}
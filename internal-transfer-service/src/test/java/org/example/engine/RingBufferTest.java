@@ -0,0 +1,123 @@
+package org.example.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RingBuffer Tests")
+class RingBufferTest {
+
+    @Test
+    @DisplayName("Should reject capacities that are not a power of two")
+    void shouldRejectNonPowerOfTwoCapacity() {
+        assertThatThrownBy(() -> new RingBuffer<>(3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("power of two");
+    }
+
+    @Test
+    @DisplayName("Should return elements in publication order")
+    void shouldReturnElementsInOrder() {
+        // Given
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(4);
+
+        // When
+        ringBuffer.offer(1);
+        ringBuffer.offer(2);
+        ringBuffer.offer(3);
+
+        // Then
+        assertThat(ringBuffer.poll()).isEqualTo(1);
+        assertThat(ringBuffer.poll()).isEqualTo(2);
+        assertThat(ringBuffer.poll()).isEqualTo(3);
+        assertThat(ringBuffer.poll()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse offers when full and accept them again after a poll")
+    void shouldRefuseOffersWhenFull() {
+        // Given
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(2);
+        ringBuffer.offer(1);
+        ringBuffer.offer(2);
+
+        // When & Then
+        assertThat(ringBuffer.offer(3)).isFalse();
+        assertThat(ringBuffer.poll()).isEqualTo(1);
+        assertThat(ringBuffer.offer(3)).isTrue();
+        assertThat(ringBuffer.poll()).isEqualTo(2);
+        assertThat(ringBuffer.poll()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drain at most the requested number of elements")
+    void shouldDrainAtMostMaxElements() {
+        // Given
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            ringBuffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        // When
+        int count = ringBuffer.drainTo(drained, 3);
+
+        // Then
+        assertThat(count).isEqualTo(3);
+        assertThat(drained).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    @DisplayName("Should deliver every element exactly once with concurrent producers")
+    void shouldDeliverEveryElementWithConcurrentProducers() throws InterruptedException {
+        // Given
+        int producers = 4;
+        int perProducer = 2_000;
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ringBuffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        // When
+        start.countDown();
+        Set<Integer> received = new HashSet<>();
+        while (received.size() < producers * perProducer) {
+            Integer element = ringBuffer.poll();
+            if (element != null) {
+                assertThat(received.add(element)).isTrue();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(ringBuffer.poll()).isNull();
+    }
+}
@@ -0,0 +1,368 @@
+package org.example.engine;
+
+import org.example.AccountNotFoundException;
+import org.example.AmountOutOfRangeException;
+import org.example.InsufficientBalanceException;
+import org.example.config.TransferProperties;
+import org.example.entities.AccountEntity;
+import org.example.models.Transaction;
+import org.example.models.TransferOutcome;
+import org.example.money.MinorUnits;
+import org.example.repositories.AccountRepository;
+import org.example.services.AccountStripingService;
+import org.example.services.ShardedTransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ShardedTransferEngine Tests")
+class ShardedTransferEngineTest {
+
+    private static final long MISSING_ACCOUNT_BASE = 9_000L;
+    private static final long HOT_ACCOUNT = 8_999L;
+    private static final int CONCURRENT_CLIENTS = 8;
+    private static final int TRANSFERS_PER_CLIENT = 250;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountStripingService accountStripingService;
+
+    @TempDir
+    Path journalDirectory;
+
+    private TransferProperties transferProperties;
+    private ShardedTransferEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        transferProperties = new TransferProperties();
+        transferProperties.getSharded().setShards(4);
+        transferProperties.getSharded().setRingBufferSize(64);
+        transferProperties.getSharded().setJournalDirectory(journalDirectory.toString());
+
+        when(accountRepository.findById(anyLong())).thenAnswer(invocation -> {
+            long accountId = invocation.getArgument(0);
+            if (accountId >= MISSING_ACCOUNT_BASE) {
+                return Optional.empty();
+            }
+            if (accountId == HOT_ACCOUNT) {
+                return Optional.of(new AccountEntity().setAccountId(accountId).setBalance(BigDecimal.ZERO).setHot(true));
+            }
+            return Optional.of(new AccountEntity().setAccountId(accountId).setBalance(new BigDecimal("1000.00")));
+        });
+
+        engine = startEngine();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.stop();
+    }
+
+    @Test
+    @DisplayName("Should transfer between accounts on the same shard")
+    void shouldTransferWithinShard() {
+        // Given
+        long[] pair = findPair(true);
+
+        // When
+        engine.transfer(pair[0], pair[1], new BigDecimal("100.00"));
+
+        // Then
+        assertThat(engine.balance(pair[0])).isEqualByComparingTo("900.00");
+        assertThat(engine.balance(pair[1])).isEqualByComparingTo("1100.00");
+    }
+
+    @Test
+    @DisplayName("Should transfer between accounts on different shards")
+    void shouldTransferAcrossShards() {
+        // Given
+        long[] pair = findPair(false);
+
+        // When
+        engine.transfer(pair[0], pair[1], new BigDecimal("250.00"));
+
+        // Then
+        assertThat(engine.balance(pair[0])).isEqualByComparingTo("750.00");
+        assertThat(engine.balance(pair[1])).isEqualByComparingTo("1250.00");
+    }
+
+    @Test
+    @DisplayName("Should apply a group of transfers on shared accounts in the given order")
+    void shouldApplyEachTransferInOrder() {
+        // Given
+        long[] pair = findPair(false);
+        ShardedTransactionService transactionService = new ShardedTransactionService(engine);
+
+        // When
+        List<TransferOutcome> outcomes = transactionService.transferEach(List.of(
+                transaction(pair[0], pair[1], "1000.00"),
+                transaction(pair[1], pair[0], "2000.00"),
+                transaction(pair[1], pair[0], "0.01")));
+
+        // Then
+        assertThat(outcomes).extracting(TransferOutcome::isApplied).containsExactly(true, true, false);
+        assertThat(outcomes.get(2).getCode()).isEqualTo("AC_03");
+        assertThat(engine.balance(pair[0])).isEqualByComparingTo("2000.00");
+        assertThat(engine.balance(pair[1])).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    @DisplayName("Should reject a transfer larger than the source balance")
+    void shouldRejectInsufficientBalance() {
+        // Given
+        long[] pair = findPair(false);
+
+        // When & Then
+        assertThatThrownBy(() -> engine.transfer(pair[0], pair[1], new BigDecimal("1000.01")))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessageContaining("Insufficient balance in source account: " + pair[0]);
+        assertThat(engine.balance(pair[0])).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive amount")
+    void shouldRejectNonPositiveAmount() {
+        assertThatThrownBy(() -> engine.transfer(1L, 2L, BigDecimal.ZERO))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessageContaining("Transfer amount must be greater than zero");
+    }
+
+    @Test
+    @DisplayName("Should reject a transfer from a missing source account")
+    void shouldRejectMissingSource() {
+        assertThatThrownBy(() -> engine.transfer(MISSING_ACCOUNT_BASE, 1L, new BigDecimal("1.00")))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Source account not found: " + MISSING_ACCOUNT_BASE);
+    }
+
+    @Test
+    @DisplayName("Should refund the source when the destination on another shard is missing")
+    void shouldRefundWhenCrossShardDestinationMissing() {
+        // Given
+        long source = 1L;
+        long destination = MISSING_ACCOUNT_BASE;
+        while (engine.shardFor(destination) == engine.shardFor(source)) {
+            destination++;
+        }
+        long missingDestination = destination;
+
+        // When & Then
+        assertThatThrownBy(() -> engine.transfer(source, missingDestination, new BigDecimal("10.00")))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Destination account not found: " + missingDestination);
+        assertThat(engine.balance(source)).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    @DisplayName("Should reject an amount finer than a minor unit")
+    void shouldRejectExcessPrecision() {
+        assertThatThrownBy(() -> engine.transfer(1L, 2L, new BigDecimal("0.000001")))
+                .isInstanceOf(AmountOutOfRangeException.class);
+    }
+
+    @Test
+    @DisplayName("Should refund the source when a cross-shard credit would overflow the destination")
+    void shouldRefundWhenCreditOverflows() {
+        // Given
+        when(accountStripingService.totalBalance(HOT_ACCOUNT)).thenReturn(MinorUnits.toBigDecimal(Long.MAX_VALUE));
+        long source = 1L;
+        while (engine.shardFor(source) == engine.shardFor(HOT_ACCOUNT)) {
+            source++;
+        }
+        long crossShardSource = source;
+
+        // When & Then
+        assertThatThrownBy(() -> engine.transfer(crossShardSource, HOT_ACCOUNT, new BigDecimal("10.00")))
+                .isInstanceOf(AmountOutOfRangeException.class);
+        assertThat(engine.balance(crossShardSource)).isEqualByComparingTo("1000.00");
+        assertThat(engine.balance(HOT_ACCOUNT)).isEqualByComparingTo(MinorUnits.toBigDecimal(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Should load the balance of a hot account from its stripes")
+    void shouldLoadHotAccountBalanceFromStripes() {
+        // Given
+        when(accountStripingService.totalBalance(HOT_ACCOUNT)).thenReturn(new BigDecimal("5000.00"));
+
+        // When & Then
+        assertThat(engine.balance(HOT_ACCOUNT)).isEqualByComparingTo("5000.00");
+    }
+
+    @Test
+    @DisplayName("Should rebuild balances from the journal after a restart")
+    void shouldRecoverBalancesFromJournal() throws InterruptedException {
+        // Given
+        long[] local = findPair(1L, true);
+        long[] remote = findPair(local[1] + 1, false);
+        engine.transfer(local[0], local[1], new BigDecimal("10.00"));
+        engine.transfer(remote[0], remote[1], new BigDecimal("20.00"));
+        engine.stop();
+
+        // When
+        engine = startEngine();
+
+        // Then
+        assertThat(engine.balance(local[0])).isEqualByComparingTo("990.00");
+        assertThat(engine.balance(local[1])).isEqualByComparingTo("1010.00");
+        assertThat(engine.balance(remote[0])).isEqualByComparingTo("980.00");
+        assertThat(engine.balance(remote[1])).isEqualByComparingTo("1020.00");
+    }
+
+    @Test
+    @DisplayName("Should recover from the last checkpoint and the journal written after it")
+    void shouldRecoverFromCheckpointAndJournalTail() throws InterruptedException {
+        // Given
+        engine.stop();
+        transferProperties.getSharded().setCheckpointInterval(Duration.ZERO);
+        engine = startEngine();
+        long[] local = findPair(1L, true);
+        long[] remote = findPair(local[1] + 1, false);
+        engine.transfer(local[0], local[1], new BigDecimal("10.00"));
+        engine.checkpoint();
+        engine.transfer(remote[0], remote[1], new BigDecimal("20.00"));
+        engine.stop();
+        when(accountRepository.findById(local[0]))
+                .thenReturn(Optional.of(new AccountEntity().setAccountId(local[0]).setBalance(new BigDecimal("5000.00"))));
+
+        // When
+        engine = startEngine();
+
+        // Then
+        assertThat(engine.balance(local[0])).isEqualByComparingTo("990.00");
+        assertThat(engine.balance(local[1])).isEqualByComparingTo("1010.00");
+        assertThat(engine.balance(remote[0])).isEqualByComparingTo("980.00");
+        assertThat(engine.balance(remote[1])).isEqualByComparingTo("1020.00");
+    }
+
+    @Test
+    @DisplayName("Should keep only the configured number of checkpoints")
+    void shouldPruneCheckpoints() {
+        // Given
+        transferProperties.getSharded().setRetainedCheckpoints(2);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            engine.transfer(1L, 2L, new BigDecimal("1.00"));
+            engine.checkpoint();
+        }
+
+        // Then
+        assertThat(BalanceCheckpoint.list(journalDirectory))
+                .extracting(BalanceCheckpoint::sequenceOf)
+                .containsExactly(4L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should replay the balance an account had at a past instant")
+    void shouldReplayBalanceAtInstant() throws InterruptedException {
+        // Given
+        long[] pair = findPair(false);
+        engine.transfer(pair[0], pair[1], new BigDecimal("10.00"));
+        engine.checkpoint();
+        engine.transfer(pair[0], pair[1], new BigDecimal("20.00"));
+        Thread.sleep(5);
+        Instant pointInTime = Instant.now();
+        Thread.sleep(5);
+        engine.transfer(pair[0], pair[1], new BigDecimal("40.00"));
+        engine.checkpoint();
+
+        // When & Then
+        assertThat(engine.balanceAt(pair[0], pointInTime)).isEqualByComparingTo("970.00");
+        assertThat(engine.balanceAt(pair[1], pointInTime)).isEqualByComparingTo("1030.00");
+        assertThat(engine.balanceAt(pair[0], Instant.now())).isEqualByComparingTo("930.00");
+        assertThat(engine.balanceAt(pair[1] + 1, pointInTime)).isEqualByComparingTo("1000.00");
+        assertThatThrownBy(() -> engine.balanceAt(MISSING_ACCOUNT_BASE, pointInTime))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should conserve money under concurrent opposing transfers")
+    void shouldConserveMoneyUnderConcurrency() throws Exception {
+        // Given
+        long[] pair = findPair(false);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> clients = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < CONCURRENT_CLIENTS; t++) {
+            boolean forward = t % 2 == 0;
+            clients.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_CLIENT; i++) {
+                    engine.transfer(forward ? pair[0] : pair[1], forward ? pair[1] : pair[0], new BigDecimal("1.00"));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> client : clients) {
+                client.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertThat(engine.balance(pair[0])).isEqualByComparingTo("1000.00");
+        assertThat(engine.balance(pair[1])).isEqualByComparingTo("1000.00");
+    }
+
+    private ShardedTransferEngine startEngine() {
+        ShardedTransferEngine shardedTransferEngine = new ShardedTransferEngine(accountRepository, accountStripingService, transferProperties);
+        shardedTransferEngine.start();
+        return shardedTransferEngine;
+    }
+
+    private long[] findPair(boolean sameShard) {
+        return findPair(1L, sameShard);
+    }
+
+    private long[] findPair(long source, boolean sameShard) {
+        for (long destination = source + 1; destination < MISSING_ACCOUNT_BASE; destination++) {
+            if ((engine.shardFor(source) == engine.shardFor(destination)) == sameShard) {
+                return new long[]{source, destination};
+            }
+        }
+        throw new IllegalStateException("No account pair found");
+    }
+
+    private static Transaction transaction(long sourceAccountId, long destinationAccountId, String amount) {
+        return Transaction.builder()
+                .sourceAccountId(sourceAccountId)
+                .destinationAccountId(destinationAccountId)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package org.example.journal;
+
+import org.example.config.TransferProperties;
+import org.example.converters.TransactionToTransactionEntityConverter;
+import org.example.entities.TransactionEntity;
+import org.example.entities.TransactionStatus;
+import org.example.models.Transaction;
+import org.example.repositories.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionJournalWriter Tests")
+class TransactionJournalWriterTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionJournalWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write a full batch in a single saveAll")
+    @SuppressWarnings("unchecked")
+    void shouldWriteFullBatch() {
+        // Given
+        writer = startWriter(3, Duration.ofSeconds(30));
+
+        // When
+        writer.record(transaction(1001L), TransactionStatus.SUCCESS);
+        writer.record(transaction(1002L), TransactionStatus.SUCCESS);
+        writer.record(transaction(1003L), TransactionStatus.FAILED);
+
+        // Then
+        ArgumentCaptor<List<TransactionEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository, timeout(5_000)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(TransactionEntity::getSourceAccountId, TransactionEntity::getStatus)
+                .containsExactly(
+                        tuple(1001L, TransactionStatus.SUCCESS),
+                        tuple(1002L, TransactionStatus.SUCCESS),
+                        tuple(1003L, TransactionStatus.FAILED));
+        assertThat(captor.getValue()).allSatisfy(entity -> assertThat(entity.getTimestamp()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("Should write a partial batch once the flush interval elapses")
+    @SuppressWarnings("unchecked")
+    void shouldWritePartialBatchAfterFlushInterval() {
+        // Given
+        writer = startWriter(100, Duration.ofMillis(50));
+
+        // When
+        writer.record(transaction(1001L), TransactionStatus.SUCCESS);
+
+        // Then
+        ArgumentCaptor<List<TransactionEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository, timeout(5_000)).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should write buffered records on stop")
+    @SuppressWarnings("unchecked")
+    void shouldWriteBufferedRecordsOnStop() throws InterruptedException {
+        // Given
+        writer = startWriter(100, Duration.ofSeconds(30));
+        writer.record(transaction(1001L), TransactionStatus.SUCCESS);
+        writer.record(transaction(1002L), TransactionStatus.SUCCESS);
+
+        // When
+        writer.stop();
+        writer = null;
+
+        // Then
+        ArgumentCaptor<List<TransactionEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should keep retrying a batch that cannot be written until it is")
+    @SuppressWarnings("unchecked")
+    void shouldRetryFailedBatchUntilWritten() {
+        // Given
+        writer = startWriter(1, Duration.ofMillis(10));
+        when(transactionRepository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("Connection refused"))
+                .thenThrow(new IllegalStateException("Connection refused"))
+                .thenThrow(new IllegalStateException("Connection refused"))
+                .thenThrow(new IllegalStateException("Connection refused"))
+                .thenReturn(List.of());
+
+        // When
+        writer.record(transaction(1001L), TransactionStatus.SUCCESS);
+
+        // Then
+        ArgumentCaptor<List<TransactionEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository, timeout(5_000).times(5)).saveAll(captor.capture());
+        assertThat(captor.getAllValues()).allSatisfy(batch -> assertThat(batch)
+                .extracting(TransactionEntity::getSourceAccountId)
+                .containsExactly(1001L));
+    }
+
+    @Test
+    @DisplayName("Should write a record directly when interrupted while the queue is full")
+    @SuppressWarnings("unchecked")
+    void shouldWriteRecordDirectlyWhenInterrupted() {
+        // Given
+        writer = writer(1, Duration.ofSeconds(30), 1);
+        writer.record(transaction(1001L), TransactionStatus.SUCCESS);
+        Thread.currentThread().interrupt();
+
+        // When
+        writer.record(transaction(1002L), TransactionStatus.SUCCESS);
+        boolean interrupted = Thread.interrupted();
+
+        // Then
+        assertThat(interrupted).isTrue();
+        ArgumentCaptor<List<TransactionEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(TransactionEntity::getSourceAccountId).containsExactly(1002L);
+    }
+
+    @Test
+    @DisplayName("Should record as successful when no database transaction is active")
+    @SuppressWarnings("unchecked")
+    void shouldRecordImmediatelyWithoutTransaction() {
+        // Given
+        writer = startWriter(1, Duration.ofSeconds(30));
+        Transaction transaction = transaction(1001L);
+
+        // When
+        writer.recordOnCompletion(transaction);
+
+        // Then
+        ArgumentCaptor<List<TransactionEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository, timeout(5_000)).saveAll(captor.capture());
+        assertThat(captor.getValue().get(0).getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(transaction.getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+    }
+
+    @Test
+    @DisplayName("Should skip queued transfers, whose rows are written by the queue consumer")
+    void shouldSkipQueuedTransfers() throws InterruptedException {
+        // Given
+        writer = startWriter(1, Duration.ofMillis(10));
+        Transaction queued = transaction(1001L);
+        queued.setTransferId(7L);
+
+        // When
+        writer.recordOnCompletion(queued);
+        writer.stop();
+
+        // Then
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    private TransactionJournalWriter startWriter(int batchSize, Duration flushInterval) {
+        TransactionJournalWriter journalWriter = writer(batchSize, flushInterval, new TransferProperties().getJournalWriter().getQueueCapacity());
+        journalWriter.start();
+        return journalWriter;
+    }
+
+    private TransactionJournalWriter writer(int batchSize, Duration flushInterval, int queueCapacity) {
+        TransferProperties transferProperties = new TransferProperties();
+        transferProperties.getJournalWriter().setBatchSize(batchSize);
+        transferProperties.getJournalWriter().setFlushInterval(flushInterval);
+        transferProperties.getJournalWriter().setRetryBackoff(Duration.ofMillis(1));
+        transferProperties.getJournalWriter().setQueueCapacity(queueCapacity);
+        return new TransactionJournalWriter(transactionRepository,
+                new TransactionToTransactionEntityConverter(), transactionManager, transferProperties);
+    }
+
+    private static Transaction transaction(long sourceAccountId) {
+        return Transaction.builder()
+                .sourceAccountId(sourceAccountId)
+                .destinationAccountId(2001L)
+                .amount(new BigDecimal("10.00"))
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.AccountNotFoundException;
+import org.example.InsufficientBalanceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TransferMetrics Tests")
+class TransferMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TransferMetrics transferMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transferMetrics = new TransferMetrics(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should classify failures into outcomes")
+    void shouldClassifyFailures() {
+        assertThat(TransferMetrics.outcomeOf(new InsufficientBalanceException("x"))).isEqualTo(TransferMetrics.INSUFFICIENT_BALANCE);
+        assertThat(TransferMetrics.outcomeOf(new AccountNotFoundException("x"))).isEqualTo(TransferMetrics.NOT_FOUND);
+        assertThat(TransferMetrics.outcomeOf(new CannotAcquireLockException("x"))).isEqualTo(TransferMetrics.LOCK_FAILURE);
+        assertThat(TransferMetrics.outcomeOf(new IllegalStateException("x"))).isEqualTo(TransferMetrics.ERROR);
+    }
+
+    @Test
+    @DisplayName("Should record a transfer and its commit time only once the transaction commits")
+    void shouldRecordTransferAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        TransferMetrics.Sample sample = transferMetrics.startTransfer("ORDERED");
+
+        // When
+        sample.stop();
+
+        // Then
+        assertThat(meterRegistry.find("transfer.duration").timer()).isNull();
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(meterRegistry.get("transfer.duration").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("transfer.commit").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record a commit failure when the transaction rolls back without an exception in the transfer")
+    void shouldRecordCommitFailure() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        TransferMetrics.Sample sample = transferMetrics.startTransfer("ORDERED");
+
+        // When
+        sample.stop();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        assertThat(meterRegistry.get("transfer.duration").tag("outcome", "commit_failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("transfer.commit").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should time a locking query and return its result")
+    void shouldTimeLockingQuery() {
+        // When
+        String result = transferMetrics.timeLock("ordered", () -> "locked");
+
+        // Then
+        assertThat(result).isEqualTo("locked");
+        assertThat(meterRegistry.get("transfer.lock.wait").tag("query", "ordered").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.money;
+
+import org.example.AmountOutOfRangeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MinorUnits Tests")
+class MinorUnitsTest {
+
+    @Test
+    @DisplayName("Should convert amounts exactly in both directions")
+    void shouldConvertExactly() {
+        assertThat(MinorUnits.of(new BigDecimal("100.12345"))).isEqualTo(10_012_345L);
+        assertThat(MinorUnits.of(new BigDecimal("0.1"))).isEqualTo(10_000L);
+        assertThat(MinorUnits.of(new BigDecimal("1E+3"))).isEqualTo(100_000_000L);
+        assertThat(MinorUnits.of(new BigDecimal("-2.50"))).isEqualTo(-250_000L);
+        assertThat(MinorUnits.toBigDecimal(10_012_345L)).isEqualTo(new BigDecimal("100.12345"));
+        assertThat(MinorUnits.toBigDecimal(Long.MAX_VALUE)).isEqualTo(new BigDecimal("92233720368547.75807"));
+    }
+
+    @Test
+    @DisplayName("Should reject amounts with more precision than a minor unit")
+    void shouldRejectExcessPrecision() {
+        assertThatThrownBy(() -> MinorUnits.of(new BigDecimal("0.000001")))
+                .isInstanceOf(AmountOutOfRangeException.class)
+                .hasMessageContaining("decimal places");
+    }
+
+    @Test
+    @DisplayName("Should reject amounts outside the long range")
+    void shouldRejectOutOfRange() {
+        assertThatThrownBy(() -> MinorUnits.of(new BigDecimal("92233720368547.75808")))
+                .isInstanceOf(AmountOutOfRangeException.class);
+        assertThatThrownBy(() -> MinorUnits.of(new BigDecimal("-92233720368547.75809")))
+                .isInstanceOf(AmountOutOfRangeException.class);
+        assertThat(MinorUnits.of(new BigDecimal("-92233720368547.75808"))).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    @DisplayName("Should throw instead of wrapping on overflow")
+    void shouldThrowOnOverflow() {
+        assertThat(MinorUnits.add(Long.MAX_VALUE - 1, 1)).isEqualTo(Long.MAX_VALUE);
+        assertThat(MinorUnits.subtract(Long.MIN_VALUE + 1, 1)).isEqualTo(Long.MIN_VALUE);
+        assertThatThrownBy(() -> MinorUnits.add(Long.MAX_VALUE, 1)).isInstanceOf(AmountOutOfRangeException.class);
+        assertThatThrownBy(() -> MinorUnits.add(Long.MIN_VALUE, -1)).isInstanceOf(AmountOutOfRangeException.class);
+        assertThatThrownBy(() -> MinorUnits.subtract(Long.MIN_VALUE, 1)).isInstanceOf(AmountOutOfRangeException.class);
+        assertThatThrownBy(() -> MinorUnits.subtract(0, Long.MIN_VALUE)).isInstanceOf(AmountOutOfRangeException.class);
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.queue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("TransferQueue Tests")
+class TransferQueueTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should recover appended transfers in append order")
+    void shouldRecoverAppendedTransfers() {
+        // Given
+        try (TransferQueue queue = new TransferQueue(directory, SEGMENT_SIZE)) {
+            queue.append(1001L, 1002L, new BigDecimal("100.00000"));
+            queue.append(1002L, 1003L, new BigDecimal("0.00001"));
+        }
+
+        // When
+        List<QueuedTransfer> recovered;
+        try (TransferQueue queue = new TransferQueue(directory, SEGMENT_SIZE)) {
+            recovered = queue.recoveredTransfers();
+        }
+
+        // Then
+        assertThat(recovered)
+                .extracting(QueuedTransfer::transferId, QueuedTransfer::sourceAccountId,
+                        QueuedTransfer::destinationAccountId, QueuedTransfer::amount)
+                .containsExactly(
+                        tuple(1L, 1001L, 1002L, new BigDecimal("100.00000")),
+                        tuple(2L, 1002L, 1003L, new BigDecimal("0.00001")));
+    }
+
+    @Test
+    @DisplayName("Should not recover consumed transfers")
+    void shouldNotRecoverConsumedTransfers() {
+        // Given
+        try (TransferQueue queue = new TransferQueue(directory, SEGMENT_SIZE)) {
+            QueuedTransfer consumed = queue.append(1001L, 1002L, new BigDecimal("10.00"));
+            queue.append(1001L, 1002L, new BigDecimal("20.00"));
+            queue.markConsumed(consumed);
+        }
+
+        // When
+        List<QueuedTransfer> recovered;
+        try (TransferQueue queue = new TransferQueue(directory, SEGMENT_SIZE)) {
+            recovered = queue.recoveredTransfers();
+        }
+
+        // Then
+        assertThat(recovered).extracting(QueuedTransfer::transferId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should delete full segments once every transfer in them is consumed")
+    void shouldDeleteConsumedSegments() throws IOException {
+        // Given
+        TransferQueue queue = new TransferQueue(directory, 1024);
+        List<QueuedTransfer> transfers = Stream.generate(() -> queue.append(1001L, 1002L, new BigDecimal("1.00")))
+                .limit(50)
+                .toList();
+        assertThat(segmentCount()).isGreaterThan(1);
+
+        // When
+        transfers.forEach(queue::markConsumed);
+
+        // Then
+        assertThat(segmentCount()).isEqualTo(1);
+        queue.close();
+    }
+
+    @Test
+    @DisplayName("Should keep transfer ids increasing after every transfer was consumed")
+    void shouldKeepTransferIdsIncreasingAcrossRestarts() {
+        // Given
+        try (TransferQueue queue = new TransferQueue(directory, 1024)) {
+            for (int i = 0; i < 50; i++) {
+                queue.markConsumed(queue.append(1001L, 1002L, new BigDecimal("1.00")));
+            }
+        }
+
+        // When
+        QueuedTransfer next;
+        try (TransferQueue queue = new TransferQueue(directory, 1024)) {
+            next = queue.append(1001L, 1002L, new BigDecimal("1.00"));
+        }
+
+        // Then
+        assertThat(next.transferId()).isEqualTo(51L);
+    }
+
+    @Test
+    @DisplayName("Should drop a corrupt frame and everything after it")
+    void shouldDropCorruptTail() throws IOException {
+        // Given
+        try (TransferQueue queue = new TransferQueue(directory, SEGMENT_SIZE)) {
+            queue.append(1001L, 1002L, new BigDecimal("10.00"));
+            queue.append(1001L, 1002L, new BigDecimal("20.00"));
+            queue.append(1001L, 1002L, new BigDecimal("30.00"));
+        }
+        Path segment = onlySegment();
+        int frameLength = 4 + 1 + readInt(segment, 0) + 4;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), frameLength + 12);
+        }
+
+        // When
+        List<QueuedTransfer> recovered;
+        QueuedTransfer next;
+        try (TransferQueue queue = new TransferQueue(directory, SEGMENT_SIZE)) {
+            recovered = queue.recoveredTransfers();
+            next = queue.append(1001L, 1002L, new BigDecimal("40.00"));
+        }
+        List<QueuedTransfer> recoveredAgain;
+        try (TransferQueue queue = new TransferQueue(directory, SEGMENT_SIZE)) {
+            recoveredAgain = queue.recoveredTransfers();
+        }
+
+        // Then
+        assertThat(recovered).extracting(QueuedTransfer::transferId).containsExactly(1L);
+        assertThat(next.transferId()).isEqualTo(2L);
+        assertThat(recoveredAgain).extracting(QueuedTransfer::amount)
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("40.00"));
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+
+    private static int readInt(Path file, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(buffer, position);
+            return buffer.flip().getInt();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.config.TransferProperties;
+import org.example.entities.AccountEntity;
+import org.example.models.Account;
+import org.example.models.Transaction;
+import org.example.repositories.AccountRepository;
+import org.example.repositories.AccountStripeRepository;
+import org.example.service.AccountService;
+import org.example.service.TransactionService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "transfer.locking-mode=ORDERED",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=caffeine-jcache.conf",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@DisplayName("AccountEntity Second-Level Cache Integration Tests")
+class AccountEntityCacheIntegrationTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountStripeRepository accountStripeRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        accountStripeRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountRepository.save(new AccountEntity().setAccountId(1001L).setBalance(new BigDecimal("1000.00")));
+        accountRepository.save(new AccountEntity().setAccountId(1002L).setBalance(new BigDecimal("500.00")));
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ORDERED);
+        accountStripeRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should answer a repeated lookup from the second-level cache")
+    void shouldServeRepeatedLookupFromCache() {
+        // Given
+        accountRepository.findById(1001L);
+
+        // When
+        long statementsBefore = statistics.getPrepareStatementCount();
+        AccountEntity account = accountRepository.findById(1001L).orElseThrow();
+
+        // Then
+        assertThat(account.getBalance()).isEqualByComparingTo("1000.00");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should update cached accounts when a locking transfer commits")
+    void shouldUpdateCacheAfterLockingTransfer() {
+        // Given
+        accountRepository.findById(1001L);
+        accountRepository.findById(1002L);
+
+        // When
+        transactionService.transferAmount(transfer("100.00"));
+
+        // Then
+        assertThat(entityManagerFactory.getCache().contains(AccountEntity.class, 1001L)).isTrue();
+        assertThat(accountRepository.findById(1001L).orElseThrow().getBalance()).isEqualByComparingTo("900.00");
+        assertThat(accountRepository.findById(1002L).orElseThrow().getBalance()).isEqualByComparingTo("600.00");
+    }
+
+    @Test
+    @DisplayName("Should not serve stale balances after a conditional-update transfer")
+    void shouldEvictCacheAfterConditionalUpdateTransfer() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.CONDITIONAL_UPDATE);
+        accountRepository.findById(1001L);
+        accountRepository.findById(1002L);
+
+        // When
+        transactionService.transferAmount(transfer("100.00"));
+
+        // Then
+        assertThat(accountRepository.findById(1001L).orElseThrow().getBalance()).isEqualByComparingTo("900.00");
+        assertThat(accountRepository.findById(1002L).orElseThrow().getBalance()).isEqualByComparingTo("600.00");
+    }
+
+    @Test
+    @DisplayName("Should keep other accounts cached when an account is created")
+    void shouldKeepCacheWhenAccountIsCreated() {
+        // Given
+        accountRepository.findById(1001L);
+
+        // When
+        accountService.createAccount(Account.builder().accountId(1003L).balance(new BigDecimal("10.00")).build());
+
+        // Then
+        assertThat(entityManagerFactory.getCache().contains(AccountEntity.class, 1001L)).isTrue();
+        assertThat(accountRepository.findById(1003L).orElseThrow().getBalance()).isEqualByComparingTo("10.00");
+    }
+
+    private static Transaction transfer(String amount) {
+        return Transaction.builder()
+                .sourceAccountId(1001L)
+                .destinationAccountId(1002L)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
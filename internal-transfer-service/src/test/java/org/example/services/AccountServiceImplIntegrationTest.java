@@ -0,0 +1,101 @@
+package org.example.services;
+
+import org.example.AccountAlreadyExistsException;
+import org.example.entities.AccountEntity;
+import org.example.models.Account;
+import org.example.repositories.AccountRepository;
+import org.example.service.AccountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("AccountServiceImpl Integration Tests")
+class AccountServiceImplIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many concurrent creates of the same account succeed")
+    void shouldLetOneConcurrentCreateSucceed() throws Exception {
+        // Given
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        accountService.createAccount(account(42L));
+                        return true;
+                    } catch (AccountAlreadyExistsException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            created += result.get() ? 1 : 0;
+        }
+        assertThat(created).isEqualTo(1);
+        assertThat(accountRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should create accounts alongside accounts saved through Hibernate")
+    void shouldCreateAccountsAlongsideHibernateInserts() {
+        // Given
+        accountRepository.saveAndFlush(new AccountEntity().setAccountId(1L).setBalance(BigDecimal.TEN));
+
+        // When
+        accountService.createAccount(account(2L));
+        accountRepository.saveAndFlush(new AccountEntity().setAccountId(3L).setBalance(BigDecimal.TEN));
+        accountService.createAccount(account(4L));
+
+        // Then
+        assertThat(accountRepository.findAll()).extracting(AccountEntity::getAccountId).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThatThrownBy(() -> accountService.createAccount(account(3L)))
+                .isInstanceOf(AccountAlreadyExistsException.class);
+    }
+
+    private static Account account(Long accountId) {
+        return Account.builder()
+                .accountId(accountId)
+                .balance(new BigDecimal("100"))
+                .build();
+    }
+}
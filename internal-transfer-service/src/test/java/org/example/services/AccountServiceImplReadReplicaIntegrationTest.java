@@ -0,0 +1,162 @@
+package org.example.services;
+
+import org.example.config.ReadReplicaDataSource;
+import org.example.entities.AccountEntity;
+import org.example.models.Transaction;
+import org.example.repositories.AccountRepository;
+import org.example.repositories.AccountStripeRepository;
+import org.example.service.AccountService;
+import org.example.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=PostgreSQL",
+        "transfer.read-replica.enabled=true",
+        "transfer.read-replica.url=" + AccountServiceImplReadReplicaIntegrationTest.REPLICA_URL,
+        "transfer.read-replica.username=sa",
+        "transfer.read-replica.lag-query=SELECT lag_ms FROM replica_lag",
+        "transfer.read-replica.lag-check-interval=1h"
+})
+@ActiveProfiles("test")
+@DisplayName("AccountServiceImpl Read Replica Integration Tests")
+class AccountServiceImplReadReplicaIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    private static final Duration UNCACHED = Duration.ofNanos(1);
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountStripeRepository accountStripeRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeAll
+    static void createReplicaSchema() {
+        replica.execute("""
+                CREATE TABLE IF NOT EXISTS accounts (
+                    account_id BIGINT PRIMARY KEY,
+                    balance NUMERIC(19, 5) NOT NULL,
+                    initial_balance NUMERIC(19, 5) DEFAULT 0 NOT NULL,
+                    hot BOOLEAN DEFAULT FALSE NOT NULL)
+                """);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_ms BIGINT NOT NULL)");
+    }
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+        account(1001L, "1000.00", "990.00");
+        account(1002L, "500.00", "500.00");
+        replica.update("INSERT INTO replica_lag (lag_ms) VALUES (0)");
+        ((ReadReplicaDataSource) dataSource).checkReplicaLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountStripeRepository.deleteAll();
+        accountRepository.deleteAll();
+        replica.update("DELETE FROM accounts");
+        replica.update("DELETE FROM replica_lag");
+    }
+
+    @Test
+    @DisplayName("Should serve balance reads from the replica")
+    void shouldReadBalanceFromReplica() {
+        // When
+        BigDecimal balance = accountService.getAccountByAccountNumber(1001L, UNCACHED).getBalance();
+
+        // Then
+        assertThat(balance).isEqualByComparingTo("990.00");
+    }
+
+    @Test
+    @DisplayName("Should keep reads that did not opt in on the primary")
+    void shouldKeepOtherReadsOnPrimary() {
+        // When
+        BigDecimal balance = accountRepository.findById(1001L).orElseThrow().getBalance();
+
+        // Then
+        assertThat(balance).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    @DisplayName("Should read from the primary when no staleness is accepted")
+    void shouldReadFromPrimaryWithoutStaleness() {
+        // When
+        BigDecimal balance = accountService.getAccountByAccountNumber(1001L, Duration.ZERO).getBalance();
+
+        // Then
+        assertThat(balance).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    @DisplayName("Should read an account from the primary right after a transfer changed it")
+    void shouldReadYourWrites() {
+        // Given
+        account(2001L, "300.00", "300.00");
+        account(2002L, "0.00", "0.00");
+
+        // When
+        transactionService.transferAmount(Transaction.builder()
+                .sourceAccountId(2001L)
+                .destinationAccountId(2002L)
+                .amount(new BigDecimal("100.00"))
+                .build());
+
+        // Then
+        assertThat(accountService.getAccountByAccountNumber(2001L, UNCACHED).getBalance()).isEqualByComparingTo("200.00");
+        assertThat(accountService.getAccountByAccountNumber(2002L, UNCACHED).getBalance()).isEqualByComparingTo("100.00");
+        assertThat(accountService.getAccountByAccountNumber(1001L, UNCACHED).getBalance()).isEqualByComparingTo("990.00");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags")
+    void shouldFallBackToPrimaryWhileReplicaLags() {
+        // Given
+        replica.update("UPDATE replica_lag SET lag_ms = 5000");
+        ((ReadReplicaDataSource) dataSource).checkReplicaLag();
+
+        // When
+        BigDecimal lagging = accountService.getAccountByAccountNumber(1001L, UNCACHED).getBalance();
+        replica.update("UPDATE replica_lag SET lag_ms = 10");
+        ((ReadReplicaDataSource) dataSource).checkReplicaLag();
+        BigDecimal caughtUp = accountService.getAccountByAccountNumber(1001L, UNCACHED).getBalance();
+
+        // Then
+        assertThat(lagging).isEqualByComparingTo("1000.00");
+        assertThat(caughtUp).isEqualByComparingTo("990.00");
+    }
+
+    private void account(Long accountId, String primaryBalance, String replicaBalance) {
+        accountRepository.save(new AccountEntity().setAccountId(accountId).setBalance(new BigDecimal(primaryBalance)));
+        replica.update("INSERT INTO accounts (account_id, balance, initial_balance) VALUES (?, ?, ?)",
+                accountId, new BigDecimal(replicaBalance), new BigDecimal(replicaBalance));
+    }
+}
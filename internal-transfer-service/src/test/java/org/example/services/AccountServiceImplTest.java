@@ -3,25 +3,32 @@ package org.example.services;
 import org.example.AccountAlreadyExistsException;
 import org.example.AccountNotFoundException;
 import org.example.InsufficientBalanceException;
+import org.example.cache.AccountBalanceCache;
+import org.example.config.ReplicaReads;
 import org.example.converters.AccountEntityToAccountConverter;
-import org.example.converters.AccountToAccountEntityConverter;
 import org.example.entities.AccountEntity;
+import org.example.metrics.TransferMetrics;
 import org.example.models.Account;
 import org.example.repositories.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,10 +39,21 @@ class AccountServiceImplTest {
     private AccountRepository accountRepository;
 
     @Mock
-    private AccountToAccountEntityConverter accountToAccountEntityConverter;
+    private AccountEntityToAccountConverter accountEntityToAccountConverter;
 
     @Mock
-    private AccountEntityToAccountConverter accountEntityToAccountConverter;
+    private AccountStripingService accountStripingService;
+
+    @Mock
+    private AccountBalanceCache accountBalanceCache;
+
+    @Mock
+    private ReplicaReads replicaReads;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TransferMetrics transferMetrics = new TransferMetrics(meterRegistry);
 
     @InjectMocks
     private AccountServiceImpl accountService;
@@ -59,33 +77,28 @@ class AccountServiceImplTest {
     @DisplayName("Should create account successfully")
     void shouldCreateAccountSuccessfully() {
         // Given
-        when(accountRepository.findByAccountId(testAccount.getAccountId())).thenReturn(Optional.empty());
-        when(accountToAccountEntityConverter.convert(testAccount)).thenReturn(testAccountEntity);
-        when(accountRepository.save(testAccountEntity)).thenReturn(testAccountEntity);
+        when(accountRepository.insertIfAbsent(12345L, new BigDecimal("1000.00"))).thenReturn(1);
 
         // When
         accountService.createAccount(testAccount);
 
         // Then
-        verify(accountRepository).findByAccountId(testAccount.getAccountId());
-        verify(accountToAccountEntityConverter).convert(testAccount);
-        verify(accountRepository).save(testAccountEntity);
+        verify(accountRepository).insertIfAbsent(12345L, new BigDecimal("1000.00"));
+        verify(accountRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Should throw AccountAlreadyExistsException when account already exists")
     void shouldThrowExceptionWhenAccountAlreadyExists() {
         // Given
-        when(accountRepository.findByAccountId(testAccount.getAccountId()))
-                .thenReturn(Optional.of(testAccountEntity));
+        when(accountRepository.insertIfAbsent(12345L, new BigDecimal("1000.00"))).thenReturn(0);
 
         // When & Then
         assertThatThrownBy(() -> accountService.createAccount(testAccount))
                 .isInstanceOf(AccountAlreadyExistsException.class)
                 .hasMessageContaining("Account already exists: 12345");
 
-        verify(accountRepository).findByAccountId(testAccount.getAccountId());
-        verify(accountRepository, never()).save(any());
+        verify(accountBalanceCache, never()).invalidateAfterCommit(anyLong());
     }
 
     @Test
@@ -96,15 +109,13 @@ class AccountServiceImplTest {
                 .accountId(12345L)
                 .balance(BigDecimal.ZERO)
                 .build();
-        when(accountRepository.findByAccountId(zeroBalanceAccount.getAccountId())).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> accountService.createAccount(zeroBalanceAccount))
                 .isInstanceOf(InsufficientBalanceException.class)
                 .hasMessageContaining("Account balance should be greater than 0");
 
-        verify(accountRepository).findByAccountId(zeroBalanceAccount.getAccountId());
-        verify(accountRepository, never()).save(any());
+        verify(accountRepository, never()).insertIfAbsent(any(), any());
     }
 
     @Test
@@ -115,22 +126,20 @@ class AccountServiceImplTest {
                 .accountId(12345L)
                 .balance(new BigDecimal("-100.00"))
                 .build();
-        when(accountRepository.findByAccountId(negativeBalanceAccount.getAccountId())).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> accountService.createAccount(negativeBalanceAccount))
                 .isInstanceOf(InsufficientBalanceException.class)
                 .hasMessageContaining("Account balance should be greater than 0");
 
-        verify(accountRepository).findByAccountId(negativeBalanceAccount.getAccountId());
-        verify(accountRepository, never()).save(any());
+        verify(accountRepository, never()).insertIfAbsent(any(), any());
     }
 
     @Test
     @DisplayName("Should get account by account number successfully")
     void shouldGetAccountByAccountNumberSuccessfully() {
         // Given
-        when(accountRepository.findByAccountId(12345L)).thenReturn(Optional.of(testAccountEntity));
+        when(accountRepository.findById(12345L)).thenReturn(Optional.of(testAccountEntity));
         when(accountEntityToAccountConverter.convert(testAccountEntity)).thenReturn(testAccount);
 
         // When
@@ -141,7 +150,7 @@ class AccountServiceImplTest {
         assertThat(result.getAccountId()).isEqualTo(12345L);
         assertThat(result.getBalance()).isEqualByComparingTo(new BigDecimal("1000.00"));
 
-        verify(accountRepository).findByAccountId(12345L);
+        verify(accountRepository).findById(12345L);
         verify(accountEntityToAccountConverter).convert(testAccountEntity);
     }
 
@@ -149,14 +158,14 @@ class AccountServiceImplTest {
     @DisplayName("Should throw AccountNotFoundException when account not found")
     void shouldThrowExceptionWhenAccountNotFound() {
         // Given
-        when(accountRepository.findByAccountId(99999L)).thenReturn(Optional.empty());
+        when(accountRepository.findById(99999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> accountService.getAccountByAccountNumber(99999L))
                 .isInstanceOf(AccountNotFoundException.class)
                 .hasMessageContaining("Account not found: 99999");
 
-        verify(accountRepository).findByAccountId(99999L);
+        verify(accountRepository).findById(99999L);
         verify(accountEntityToAccountConverter, never()).convert(any());
     }
 
@@ -168,18 +177,131 @@ class AccountServiceImplTest {
                 .accountId(12345L)
                 .balance(new BigDecimal("0.01"))
                 .build();
-        AccountEntity minBalanceEntity = new AccountEntity()
+        when(accountRepository.insertIfAbsent(12345L, new BigDecimal("0.01"))).thenReturn(1);
+
+        // When
+        accountService.createAccount(minBalanceAccount);
+
+        // Then
+        verify(accountRepository).insertIfAbsent(12345L, new BigDecimal("0.01"));
+    }
+
+    @Test
+    @DisplayName("Should return the sum of the stripes for a hot account")
+    void shouldReturnStripeSumForHotAccount() {
+        // Given
+        AccountEntity hotAccountEntity = new AccountEntity()
                 .setAccountId(12345L)
-                .setBalance(new BigDecimal("0.01"));
+                .setBalance(BigDecimal.ZERO)
+                .setHot(true);
+        when(accountRepository.findById(12345L)).thenReturn(Optional.of(hotAccountEntity));
+        when(accountEntityToAccountConverter.convert(hotAccountEntity))
+                .thenReturn(Account.builder().accountId(12345L).balance(BigDecimal.ZERO).build());
+        when(accountStripingService.totalBalance(12345L)).thenReturn(new BigDecimal("7500.00"));
 
-        when(accountRepository.findByAccountId(12345L)).thenReturn(Optional.empty());
-        when(accountToAccountEntityConverter.convert(minBalanceAccount)).thenReturn(minBalanceEntity);
-        when(accountRepository.save(minBalanceEntity)).thenReturn(minBalanceEntity);
+        // When
+        Account result = accountService.getAccountByAccountNumber(12345L);
+
+        // Then
+        assertThat(result.getBalance()).isEqualByComparingTo(new BigDecimal("7500.00"));
+    }
+
+    @Test
+    @DisplayName("Should stripe an account when marking it hot")
+    void shouldStripeAccountWhenMarkingHot() {
+        // Given
+        when(accountRepository.findByAccountIdForUpdate(12345L)).thenReturn(Optional.of(testAccountEntity));
 
         // When
-        accountService.createAccount(minBalanceAccount);
+        accountService.markAccountHot(12345L, 8);
+
+        // Then
+        verify(accountStripingService).stripe(testAccountEntity, 8);
+        verify(accountRepository).save(testAccountEntity);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when marking an already hot account")
+    void shouldDoNothingWhenAccountAlreadyHot() {
+        // Given
+        when(accountRepository.findByAccountIdForUpdate(12345L)).thenReturn(Optional.empty());
+        when(accountRepository.findById(12345L)).thenReturn(Optional.of(testAccountEntity.setHot(true)));
+
+        // When
+        accountService.markAccountHot(12345L, 8);
+
+        // Then
+        verify(accountStripingService, never()).stripe(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException when marking a missing account hot")
+    void shouldThrowExceptionWhenMarkingMissingAccountHot() {
+        // Given
+        when(accountRepository.findByAccountIdForUpdate(99999L)).thenReturn(Optional.empty());
+        when(accountRepository.findById(99999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> accountService.markAccountHot(99999L, 8))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Account not found: 99999");
+    }
+
+    @Test
+    @DisplayName("Should serve balances through the cache with the requested staleness")
+    void shouldServeBalanceThroughCache() {
+        // Given
+        Account cachedAccount = Account.builder().accountId(12345L).balance(new BigDecimal("1000.00")).build();
+        when(accountBalanceCache.get(eq(12345L), eq(Duration.ofSeconds(2)), any())).thenReturn(cachedAccount);
+
+        // When
+        Account result = accountService.getAccountByAccountNumber(12345L, Duration.ofSeconds(2));
+
+        // Then
+        assertThat(result).isSameAs(cachedAccount);
+        verify(accountRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should invalidate the cached balance when an account is created")
+    void shouldInvalidateCacheOnCreate() {
+        // Given
+        when(accountRepository.insertIfAbsent(12345L, new BigDecimal("1000.00"))).thenReturn(1);
+
+        // When
+        accountService.createAccount(testAccount);
+
+        // Then
+        verify(accountBalanceCache).invalidateAfterCommit(12345L);
+    }
+
+    @Test
+    @DisplayName("Should count account reads by outcome")
+    void shouldCountAccountReadsByOutcome() {
+        // Given
+        when(accountBalanceCache.get(eq(99999L), any(), any()))
+                .thenThrow(new AccountNotFoundException("Account not found: 99999"));
+
+        // When
+        assertThatThrownBy(() -> accountService.getAccountByAccountNumber(99999L, null))
+                .isInstanceOf(AccountNotFoundException.class);
+
+        // Then
+        assertThat(meterRegistry.get("account.read.duration").tag("outcome", "not_found").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count account creations by outcome")
+    void shouldCountAccountCreationsByOutcome() {
+        // Given
+        when(accountRepository.insertIfAbsent(12345L, new BigDecimal("1000.00"))).thenReturn(0);
+
+        // When
+        assertThatThrownBy(() -> accountService.createAccount(testAccount))
+                .isInstanceOf(AccountAlreadyExistsException.class);
 
         // Then
-        verify(accountRepository).save(minBalanceEntity);
+        assertThat(meterRegistry.get("account.create.duration").tag("outcome", "already_exists").timer().count())
+                .isEqualTo(1);
     }
 }
@@ -0,0 +1,134 @@
+package org.example.services;
+
+import org.example.entities.AccountEntity;
+import org.example.entities.AccountStripeEntity;
+import org.example.repositories.AccountStripeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountStripingService Tests")
+class AccountStripingServiceTest {
+
+    @Mock
+    private AccountStripeRepository accountStripeRepository;
+
+    @InjectMocks
+    private AccountStripingService accountStripingService;
+
+    @Test
+    @DisplayName("Should split the balance across stripes without losing the remainder")
+    @SuppressWarnings("unchecked")
+    void shouldSplitBalanceAcrossStripes() {
+        // Given
+        AccountEntity account = new AccountEntity()
+                .setAccountId(1001L)
+                .setBalance(new BigDecimal("100.00001"));
+
+        // When
+        accountStripingService.stripe(account, 3);
+
+        // Then
+        ArgumentCaptor<List<AccountStripeEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(accountStripeRepository).saveAll(captor.capture());
+        List<AccountStripeEntity> stripes = captor.getValue();
+        assertThat(stripes).extracting(AccountStripeEntity::getStripeIndex).containsExactly(0, 1, 2);
+        assertThat(stripes).allSatisfy(stripe -> assertThat(stripe.getAccountId()).isEqualTo(1001L));
+        assertThat(stripes.get(1).getBalance()).isEqualByComparingTo("33.33333");
+        assertThat(stripes.stream().map(AccountStripeEntity::getBalance).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo("100.00001");
+        assertThat(account.isHot()).isTrue();
+        assertThat(account.getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should debit a single stripe when one can cover the amount")
+    void shouldDebitSingleStripe() {
+        // Given
+        AccountStripeEntity stripe = stripe(2, "500.00");
+        when(accountStripeRepository.findDebitCandidatesSkipLocked(1001L, new BigDecimal("100.00"), Limit.of(1)))
+                .thenReturn(List.of(stripe));
+
+        // When
+        boolean debited = accountStripingService.debit(1001L, new BigDecimal("100.00"));
+
+        // Then
+        assertThat(debited).isTrue();
+        assertThat(stripe.getBalance()).isEqualByComparingTo("400.00");
+        verify(accountStripeRepository, never()).findAllByAccountIdForUpdate(any());
+    }
+
+    @Test
+    @DisplayName("Should combine stripes when no single stripe can cover the amount")
+    void shouldCombineStripes() {
+        // Given
+        AccountStripeEntity first = stripe(0, "60.00");
+        AccountStripeEntity second = stripe(1, "30.00");
+        AccountStripeEntity third = stripe(2, "20.00");
+        when(accountStripeRepository.findDebitCandidatesSkipLocked(eq(1001L), any(), any())).thenReturn(List.of());
+        when(accountStripeRepository.findAllByAccountIdForUpdate(1001L)).thenReturn(List.of(first, second, third));
+
+        // When
+        boolean debited = accountStripingService.debit(1001L, new BigDecimal("80.00"));
+
+        // Then
+        assertThat(debited).isTrue();
+        assertThat(first.getBalance()).isEqualByComparingTo("0.00");
+        assertThat(second.getBalance()).isEqualByComparingTo("10.00");
+        assertThat(third.getBalance()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    @DisplayName("Should refuse a debit larger than the sum of all stripes")
+    void shouldRefuseDebitLargerThanTotal() {
+        // Given
+        AccountStripeEntity first = stripe(0, "60.00");
+        AccountStripeEntity second = stripe(1, "30.00");
+        when(accountStripeRepository.findDebitCandidatesSkipLocked(eq(1001L), any(), any())).thenReturn(List.of());
+        when(accountStripeRepository.findAllByAccountIdForUpdate(1001L)).thenReturn(List.of(first, second));
+
+        // When
+        boolean debited = accountStripingService.debit(1001L, new BigDecimal("90.01"));
+
+        // Then
+        assertThat(debited).isFalse();
+        assertThat(first.getBalance()).isEqualByComparingTo("60.00");
+        assertThat(second.getBalance()).isEqualByComparingTo("30.00");
+        verify(accountStripeRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should credit one of the account's stripes")
+    void shouldCreditOneStripe() {
+        // When
+        accountStripingService.credit(1001L, 4, new BigDecimal("25.00"));
+
+        // Then
+        ArgumentCaptor<Integer> stripeIndex = ArgumentCaptor.forClass(Integer.class);
+        verify(accountStripeRepository).creditStripe(eq(1001L), stripeIndex.capture(), eq(new BigDecimal("25.00")));
+        assertThat(stripeIndex.getValue()).isBetween(0, 3);
+        verify(accountStripeRepository, times(1)).creditStripe(anyLong(), anyInt(), any());
+    }
+
+    private static AccountStripeEntity stripe(int stripeIndex, String balance) {
+        return new AccountStripeEntity()
+                .setAccountId(1001L)
+                .setStripeIndex(stripeIndex)
+                .setBalance(new BigDecimal(balance));
+    }
+}
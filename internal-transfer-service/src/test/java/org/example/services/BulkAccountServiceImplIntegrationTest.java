@@ -0,0 +1,119 @@
+package org.example.services;
+
+import org.example.InvalidBulkInputException;
+import org.example.entities.AccountEntity;
+import org.example.models.Account;
+import org.example.models.BulkAccountResult;
+import org.example.repositories.AccountRepository;
+import org.example.service.BulkAccountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "transfer.bulk-accounts.chunk-size=4")
+@ActiveProfiles("test")
+@DisplayName("BulkAccountServiceImpl Integration Tests")
+class BulkAccountServiceImplIntegrationTest {
+
+    @Autowired
+    private BulkAccountService bulkAccountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should create accounts across several chunks")
+    void shouldCreateAccountsAcrossChunks() {
+        // When
+        BulkAccountResult result = bulkAccountService.createAccounts(LongStream.rangeClosed(1, 10)
+                .mapToObj(accountId -> account(accountId, "100"))
+                .iterator());
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(10);
+        assertThat(result.getFailures()).isEmpty();
+        assertThat(accountRepository.count()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should report duplicates and invalid accounts per item and create the rest")
+    void shouldReportFailuresPerItem() {
+        // Given
+        accountRepository.save(new AccountEntity().setAccountId(3L).setBalance(new BigDecimal("5")));
+
+        // When
+        BulkAccountResult result = bulkAccountService.createAccounts(List.of(
+                account(1L, "100"),
+                account(2L, "0"),
+                account(3L, "100"),
+                account(null, "100"),
+                account(4L, "100"),
+                account(4L, "100"),
+                account(5L, "100")).iterator());
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(3);
+        assertThat(result.getFailures())
+                .extracting(BulkAccountResult.Failure::getIndex, BulkAccountResult.Failure::getAccountId, BulkAccountResult.Failure::getCode)
+                .containsExactly(tuple(1L, 2L, "AC_03"), tuple(2L, 3L, "AC_02"), tuple(3L, null, "AC_04"), tuple(5L, 4L, "AC_02"));
+        assertThat(accountRepository.findById(3L)).get()
+                .extracting(AccountEntity::getBalance)
+                .satisfies(balance -> assertThat(balance).isEqualByComparingTo("5"));
+        assertThat(accountRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should keep the accounts read before malformed input")
+    void shouldKeepAccountsBeforeMalformedInput() {
+        // Given
+        Iterator<Account> accounts = new Iterator<>() {
+            private long next = 1;
+
+            @Override
+            public boolean hasNext() {
+                if (next > 2) {
+                    throw new InvalidBulkInputException("Malformed input: unexpected end-of-input");
+                }
+                return true;
+            }
+
+            @Override
+            public Account next() {
+                return account(next++, "100");
+            }
+        };
+
+        // When
+        BulkAccountResult result = bulkAccountService.createAccounts(accounts);
+
+        // Then
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailures())
+                .extracting(BulkAccountResult.Failure::getIndex, BulkAccountResult.Failure::getCode)
+                .containsExactly(tuple(2L, "AC_04"));
+        assertThat(accountRepository.count()).isEqualTo(2);
+    }
+
+    private static Account account(Long accountId, String balance) {
+        return Account.builder()
+                .accountId(accountId)
+                .balance(new BigDecimal(balance))
+                .build();
+    }
+}
@@ -0,0 +1,189 @@
+package org.example.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.InsufficientBalanceException;
+import org.example.InvalidIdempotencyKeyException;
+import org.example.config.TransferProperties;
+import org.example.entities.IdempotencyKeyEntity;
+import org.example.idempotency.SeenIdempotencyKeys;
+import org.example.metrics.TransferMetrics;
+import org.example.models.Transaction;
+import org.example.repositories.IdempotencyKeyRepository;
+import org.example.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotentTransactionServiceImpl Tests")
+class IdempotentTransactionServiceImplTest {
+
+    private static final String KEY = "3f0c9a1e-key";
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SeenIdempotencyKeys seenIdempotencyKeys;
+    private IdempotentTransactionServiceImpl idempotentTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        seenIdempotencyKeys = new SeenIdempotencyKeys(new TransferProperties());
+        idempotentTransactionService = new IdempotentTransactionServiceImpl(transactionService, idempotencyKeyRepository,
+                seenIdempotencyKeys, new TransferMetrics(meterRegistry), transactionManager, new TransferProperties());
+    }
+
+    @Test
+    @DisplayName("Should store the key and apply the transfer without a lookup for an unseen key")
+    void shouldApplyTransferForUnseenKey() {
+        // Given
+        Transaction transaction = transaction(new BigDecimal("10.00"));
+
+        // When
+        idempotentTransactionService.transferAmount(transaction, KEY);
+
+        // Then
+        verify(idempotencyKeyRepository).saveAndFlush(any(IdempotencyKeyEntity.class));
+        verify(transactionService).transferAmount(transaction);
+        verify(idempotencyKeyRepository, never()).findByIdempotencyKey(anyString());
+        assertThat(checks(TransferMetrics.KEY_NEW, false)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should answer a retry from memory without touching the database")
+    void shouldReplayRetryFromMemory() {
+        // Given
+        idempotentTransactionService.transferAmount(transaction(new BigDecimal("10.00")), KEY);
+
+        // When
+        idempotentTransactionService.transferAmount(transaction(new BigDecimal("10.0")), KEY);
+
+        // Then
+        verify(transactionService, times(1)).transferAmount(any());
+        verify(idempotencyKeyRepository, times(1)).saveAndFlush(any(IdempotencyKeyEntity.class));
+        assertThat(checks(TransferMetrics.KEY_REPLAYED_FROM_MEMORY, false)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replay the stored request when the key was completed by another instance")
+    void shouldReplayKeyCompletedElsewhere() {
+        // Given
+        when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKeyEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyKeyRepository.findByIdempotencyKey(KEY)).thenReturn(Optional.of(stored(new BigDecimal("10.00000"))));
+
+        // When
+        idempotentTransactionService.transferAmount(transaction(new BigDecimal("10.00")), KEY);
+
+        // Then
+        verify(transactionService, never()).transferAmount(any());
+        assertThat(checks(TransferMetrics.KEY_REPLAYED_FROM_DATABASE, true)).isEqualTo(1);
+        assertThat(seenIdempotencyKeys.recent(KEY)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a key under the sharded engine without applying the transfer")
+    void shouldRejectKeyUnderShardedEngine() {
+        // Given
+        TransferProperties transferProperties = new TransferProperties();
+        transferProperties.setEngine(TransferProperties.Engine.SHARDED);
+        IdempotentTransactionServiceImpl shardedService = new IdempotentTransactionServiceImpl(transactionService,
+                idempotencyKeyRepository, seenIdempotencyKeys, new TransferMetrics(meterRegistry), transactionManager,
+                transferProperties);
+
+        // When / Then
+        assertThatThrownBy(() -> shardedService.transferAmount(transaction(new BigDecimal("10.00")), KEY))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+        verify(transactionService, never()).transferAmount(any());
+        verify(idempotencyKeyRepository, never()).saveAndFlush(any(IdempotencyKeyEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different transfer")
+    void shouldRejectReusedKey() {
+        // Given
+        idempotentTransactionService.transferAmount(transaction(new BigDecimal("10.00")), KEY);
+
+        // When / Then
+        assertThatThrownBy(() -> idempotentTransactionService.transferAmount(transaction(new BigDecimal("20.00")), KEY))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+        verify(transactionService, times(1)).transferAmount(any());
+        assertThat(checks(TransferMetrics.KEY_REUSED, false)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not remember the key of a failed transfer")
+    void shouldNotRememberFailedTransfer() {
+        // Given
+        Transaction transaction = transaction(new BigDecimal("10.00"));
+        doThrow(new InsufficientBalanceException("Insufficient balance")).when(transactionService).transferAmount(transaction);
+
+        // When / Then
+        assertThatThrownBy(() -> idempotentTransactionService.transferAmount(transaction, KEY))
+                .isInstanceOf(InsufficientBalanceException.class);
+        assertThat(seenIdempotencyKeys.recent(KEY)).isNull();
+        assertThat(seenIdempotencyKeys.mightHaveSeen(KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should rethrow a constraint violation that is not caused by the key")
+    void shouldRethrowUnrelatedConstraintViolation() {
+        // Given
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("other constraint");
+        when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKeyEntity.class))).thenThrow(violation);
+        when(idempotencyKeyRepository.findByIdempotencyKey(KEY)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> idempotentTransactionService.transferAmount(transaction(new BigDecimal("10.00")), KEY))
+                .isSameAs(violation);
+    }
+
+    private double checks(String result, boolean databaseLookup) {
+        return meterRegistry.get("transfer.idempotency.checks")
+                .tag("result", result)
+                .tag("database_lookup", String.valueOf(databaseLookup))
+                .counter().count();
+    }
+
+    private static Transaction transaction(BigDecimal amount) {
+        return Transaction.builder()
+                .sourceAccountId(1L)
+                .destinationAccountId(2L)
+                .amount(amount)
+                .build();
+    }
+
+    private static IdempotencyKeyEntity stored(BigDecimal amount) {
+        return new IdempotencyKeyEntity()
+                .setIdempotencyKey(KEY)
+                .setSourceAccountId(1L)
+                .setDestinationAccountId(2L)
+                .setAmount(amount);
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.services;
+
+import org.example.AccountNotFoundException;
+import org.example.entities.AccountEntity;
+import org.example.entities.TransactionEntity;
+import org.example.entities.TransactionStatus;
+import org.example.repositories.AccountRepository;
+import org.example.repositories.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {"transfer.ledger-checkpoint.interval=0", "transfer.ledger-checkpoint.retained-checkpoints=2"})
+@ActiveProfiles("test")
+@DisplayName("LedgerCheckpointService Integration Tests")
+class LedgerCheckpointServiceIntegrationTest {
+
+    @Autowired
+    private LedgerCheckpointService ledgerCheckpointService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+        account(1L, "100.00");
+        account(2L, "100.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM ledger_checkpoint_balances");
+        jdbcTemplate.update("DELETE FROM ledger_checkpoints");
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should checkpoint the balances of successful transactions")
+    void shouldCheckpointBalances() {
+        // Given
+        transfer(1L, 2L, "30.00", TransactionStatus.SUCCESS, LocalDateTime.now());
+        transfer(2L, 1L, "50.00", TransactionStatus.FAILED, LocalDateTime.now());
+        transfer(1L, 1L, "10.00", TransactionStatus.SUCCESS, LocalDateTime.now());
+
+        // When
+        long checkpointId = ledgerCheckpointService.checkpoint();
+
+        // Then
+        assertThat(checkpointId).isEqualTo(1);
+        assertThat(checkpointBalance(checkpointId, 1L)).isEqualByComparingTo("70.00");
+        assertThat(checkpointBalance(checkpointId, 2L)).isEqualByComparingTo("130.00");
+        assertThat(ledgerCheckpointService.balanceAt(1L, LocalDateTime.now())).isEqualByComparingTo("70.00");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE checkpoint_id IS NULL", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replay the transactions recorded after the latest checkpoint")
+    void shouldReplayTransactionsAfterCheckpoint() {
+        // Given
+        transfer(1L, 2L, "30.00", TransactionStatus.SUCCESS, LocalDateTime.now().minusHours(2));
+        ledgerCheckpointService.checkpoint();
+        transfer(2L, 1L, "5.00", TransactionStatus.SUCCESS, LocalDateTime.now());
+
+        // When
+        BigDecimal beforeTransfers = ledgerCheckpointService.balanceAt(1L, LocalDateTime.now().minusHours(3));
+        BigDecimal beforeCheckpoint = ledgerCheckpointService.balanceAt(1L, LocalDateTime.now().minusHours(1));
+        BigDecimal afterCheckpoint = ledgerCheckpointService.balanceAt(1L, LocalDateTime.now());
+
+        // Then
+        assertThat(beforeTransfers).isEqualByComparingTo("100.00");
+        assertThat(beforeCheckpoint).isEqualByComparingTo("70.00");
+        assertThat(afterCheckpoint).isEqualByComparingTo("75.00");
+    }
+
+    @Test
+    @DisplayName("Should include transactions recorded after a checkpoint with an earlier timestamp")
+    void shouldIncludeTransactionsRecordedLate() {
+        // Given
+        transfer(1L, 2L, "30.00", TransactionStatus.SUCCESS, LocalDateTime.now());
+        ledgerCheckpointService.checkpoint();
+        transfer(1L, 2L, "20.00", TransactionStatus.SUCCESS, LocalDateTime.now().minusMinutes(1));
+
+        // When
+        BigDecimal replayed = ledgerCheckpointService.balanceAt(2L, LocalDateTime.now());
+        long checkpointId = ledgerCheckpointService.checkpoint();
+
+        // Then
+        assertThat(replayed).isEqualByComparingTo("150.00");
+        assertThat(checkpointBalance(checkpointId, 2L)).isEqualByComparingTo("150.00");
+        assertThat(ledgerCheckpointService.balanceAt(2L, LocalDateTime.now())).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    @DisplayName("Should keep only the retained checkpoints")
+    void shouldPruneOldCheckpoints() {
+        // Given
+        transfer(1L, 2L, "10.00", TransactionStatus.SUCCESS, LocalDateTime.now());
+        ledgerCheckpointService.checkpoint();
+        transfer(1L, 2L, "10.00", TransactionStatus.SUCCESS, LocalDateTime.now());
+        ledgerCheckpointService.checkpoint();
+        account(3L, "40.00");
+
+        // When
+        long checkpointId = ledgerCheckpointService.checkpoint();
+
+        // Then
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM ledger_checkpoints ORDER BY id", Long.class))
+                .containsExactly(checkpointId - 1, checkpointId);
+        assertThat(checkpointBalance(checkpointId, 1L)).isEqualByComparingTo("80.00");
+        assertThat(checkpointBalance(checkpointId, 3L)).isEqualByComparingTo("40.00");
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException for an unknown account")
+    void shouldRejectUnknownAccount() {
+        // When & Then
+        assertThatThrownBy(() -> ledgerCheckpointService.balanceAt(9L, LocalDateTime.now()))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    private BigDecimal checkpointBalance(long checkpointId, Long accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT balance FROM ledger_checkpoint_balances WHERE checkpoint_id = ? AND account_id = ?",
+                BigDecimal.class, checkpointId, accountId);
+    }
+
+    private void account(Long accountId, String balance) {
+        accountRepository.save(new AccountEntity()
+                .setAccountId(accountId)
+                .setBalance(new BigDecimal(balance))
+                .setInitialBalance(new BigDecimal(balance)));
+    }
+
+    private void transfer(Long sourceAccountId, Long destinationAccountId, String amount, TransactionStatus status,
+                          LocalDateTime timestamp) {
+        transactionRepository.save(new TransactionEntity()
+                .setSourceAccountId(sourceAccountId)
+                .setDestinationAccountId(destinationAccountId)
+                .setAmount(new BigDecimal(amount))
+                .setStatus(status)
+                .setTimestamp(timestamp));
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.services;
+
+import org.example.entities.AccountEntity;
+import org.example.entities.TransactionEntity;
+import org.example.entities.TransactionStatus;
+import org.example.models.Transaction;
+import org.example.repositories.AccountRepository;
+import org.example.repositories.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "transfer.async.consumers=0")
+@ActiveProfiles("test")
+@DisplayName("QueuedTransactionService Integration Tests")
+class QueuedTransactionServiceIntegrationTest {
+
+    @TempDir
+    static Path queueDirectory;
+
+    @Autowired
+    private QueuedTransactionService asyncTransactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @DynamicPropertySource
+    static void queueProperties(DynamicPropertyRegistry registry) {
+        registry.add("transfer.async.directory", queueDirectory::toString);
+    }
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        accountRepository.save(new AccountEntity().setAccountId(1001L).setBalance(new BigDecimal("1000.00")));
+        accountRepository.save(new AccountEntity().setAccountId(1002L).setBalance(new BigDecimal("1000.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should apply queued transfers and report their outcome")
+    void shouldApplyQueuedTransfers() throws InterruptedException {
+        // Given
+        long applied = asyncTransactionService.submit(transaction(1001L, 1002L, "100.00"));
+        long rejected = asyncTransactionService.submit(transaction(1001L, 1002L, "5000.00"));
+
+        // When
+        asyncTransactionService.processNextBatch(0, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertThat(asyncTransactionService.getTransaction(applied).getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(asyncTransactionService.getTransaction(rejected).getStatus()).isEqualTo(TransactionStatus.FAILED);
+        assertThat(accountRepository.findById(1001L).orElseThrow().getBalance())
+                .isEqualByComparingTo(new BigDecimal("900.00"));
+        assertThat(accountRepository.findById(1002L).orElseThrow().getBalance())
+                .isEqualByComparingTo(new BigDecimal("1100.00"));
+    }
+
+    @ParameterizedTest(name = "source balance {0}")
+    @ValueSource(strings = {"0.00", "50.00"})
+    @DisplayName("Should not let opposing transfers in one batch pay for each other")
+    void shouldCheckOpposingTransfersOnTheirOwn(String balance) throws InterruptedException {
+        // Given
+        accountRepository.save(new AccountEntity().setAccountId(2001L).setBalance(new BigDecimal(balance)));
+        accountRepository.save(new AccountEntity().setAccountId(2002L).setBalance(BigDecimal.ZERO));
+        long forward = asyncTransactionService.submit(transaction(2001L, 2002L, "100.00"));
+        long backward = asyncTransactionService.submit(transaction(2002L, 2001L, "100.00"));
+
+        // When
+        asyncTransactionService.processNextBatch(0, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertThat(asyncTransactionService.getTransaction(forward).getStatus()).isEqualTo(TransactionStatus.FAILED);
+        assertThat(asyncTransactionService.getTransaction(backward).getStatus()).isEqualTo(TransactionStatus.FAILED);
+        assertThat(accountRepository.findById(2001L).orElseThrow().getBalance())
+                .isEqualByComparingTo(new BigDecimal(balance));
+        assertThat(accountRepository.findById(2002L).orElseThrow().getBalance())
+                .isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should apply a batch transfer that is covered by an earlier one of the batch")
+    void shouldApplyBatchTransfersInOrder() throws InterruptedException {
+        // Given
+        long first = asyncTransactionService.submit(transaction(1001L, 1002L, "1000.00"));
+        long second = asyncTransactionService.submit(transaction(1002L, 1001L, "2000.00"));
+        long third = asyncTransactionService.submit(transaction(1001L, 1002L, "1.00"));
+
+        // When
+        asyncTransactionService.processNextBatch(0, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertThat(asyncTransactionService.getTransaction(first).getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(asyncTransactionService.getTransaction(second).getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(asyncTransactionService.getTransaction(third).getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+        assertThat(accountRepository.findById(1001L).orElseThrow().getBalance())
+                .isEqualByComparingTo(new BigDecimal("1999.00"));
+        assertThat(accountRepository.findById(1002L).orElseThrow().getBalance())
+                .isEqualByComparingTo(new BigDecimal("1.00"));
+    }
+
+    @Test
+    @DisplayName("Should reject a second row for the same transfer id")
+    void shouldRejectDuplicateTransferId() {
+        // Given
+        transactionRepository.saveAndFlush(entity(Long.MAX_VALUE));
+
+        // When & Then
+        assertThatThrownBy(() -> transactionRepository.saveAndFlush(entity(Long.MAX_VALUE)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private static Transaction transaction(long sourceAccountId, long destinationAccountId, String amount) {
+        return Transaction.builder()
+                .sourceAccountId(sourceAccountId)
+                .destinationAccountId(destinationAccountId)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    private static TransactionEntity entity(long transferId) {
+        return new TransactionEntity()
+                .setTransferId(transferId)
+                .setSourceAccountId(1001L)
+                .setDestinationAccountId(1002L)
+                .setAmount(BigDecimal.ONE)
+                .setStatus(TransactionStatus.SUCCESS)
+                .setTimestamp(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,301 @@
+package org.example.services;
+
+import org.example.AmountOutOfRangeException;
+import org.example.AsyncTransferNotSupportedException;
+import org.example.InsufficientBalanceException;
+import org.example.TransactionNotFoundException;
+import org.example.TransferQueueFullException;
+import org.example.config.TransferProperties;
+import org.example.converters.TransactionToTransactionEntityConverter;
+import org.example.entities.TransactionEntity;
+import org.example.entities.TransactionStatus;
+import org.example.models.Transaction;
+import org.example.models.TransferOutcome;
+import org.example.repositories.TransactionRepository;
+import org.example.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QueuedTransactionService Tests")
+class QueuedTransactionServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private TransferProperties transferProperties;
+    private QueuedTransactionService queuedTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        transferProperties = new TransferProperties();
+        transferProperties.getAsync().setDirectory(directory.toString());
+        transferProperties.getAsync().setConsumers(0);
+        transferProperties.getAsync().setRetryDelay(Duration.ZERO);
+        queuedTransactionService = startService();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queuedTransactionService.stop();
+    }
+
+    @Test
+    @DisplayName("Should queue a transfer as pending without applying it")
+    void shouldQueueTransferAsPending() {
+        // When
+        long transferId = queuedTransactionService.submit(transaction(1001L, "100.00"));
+
+        // Then
+        assertThat(transferId).isEqualTo(1L);
+        assertThat(queuedTransactionService.getTransaction(transferId).getStatus()).isEqualTo(TransactionStatus.PENDING);
+        verify(transactionService, never()).transferAmount(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive amount before queueing it")
+    void shouldRejectNonPositiveAmount() {
+        // When & Then
+        assertThatThrownBy(() -> queuedTransactionService.submit(transaction(1001L, "0.00")))
+                .isInstanceOf(InsufficientBalanceException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject an amount finer than a minor unit before queueing it")
+    void shouldRejectAmountFinerThanMinorUnit() {
+        // When & Then
+        assertThatThrownBy(() -> queuedTransactionService.submit(transaction(1001L, "1.000001")))
+                .isInstanceOf(AmountOutOfRangeException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject transfers once the queue is full")
+    void shouldRejectWhenQueueFull() {
+        // Given
+        transferProperties.getAsync().setMaxPending(1);
+        queuedTransactionService.submit(transaction(1001L, "100.00"));
+
+        // When & Then
+        assertThatThrownBy(() -> queuedTransactionService.submit(transaction(1001L, "100.00")))
+                .isInstanceOf(TransferQueueFullException.class);
+    }
+
+    @Test
+    @DisplayName("Should apply queued transfers as one batch and record each outcome")
+    @SuppressWarnings("unchecked")
+    void shouldApplyQueuedTransfersAsBatch() throws InterruptedException {
+        // Given
+        long first = queuedTransactionService.submit(transaction(1001L, "100.00"));
+        long second = queuedTransactionService.submit(transaction(1002L, "5000.00"));
+        when(transactionService.transferEach(anyList())).thenReturn(List.of(
+                TransferOutcome.applied(),
+                TransferOutcome.rejected("AC_03", "Insufficient balance in source account: 1002")));
+        when(transactionRepository.findStatusByTransferId(first)).thenReturn(Optional.of(TransactionStatus.SUCCESS));
+
+        // When
+        queuedTransactionService.processNextBatch(0, TimeUnit.MILLISECONDS);
+
+        // Then
+        verify(transactionService).transferEach(argThat(transactions -> transactions.size() == 2));
+        verify(transactionService, never()).transferBatch(anyList());
+        ArgumentCaptor<List<TransactionEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAllAndFlush(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(TransactionEntity::getTransferId, TransactionEntity::getStatus)
+                .containsExactly(tuple(first, TransactionStatus.SUCCESS), tuple(second, TransactionStatus.FAILED));
+        assertThat(queuedTransactionService.getTransaction(first).getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+    }
+
+    @Test
+    @DisplayName("Should keep a batch transfer queued when it fails for an unrelated reason")
+    @SuppressWarnings("unchecked")
+    void shouldRetryFailedBatchTransfer() throws InterruptedException {
+        // Given
+        long first = queuedTransactionService.submit(transaction(1001L, "100.00"));
+        long second = queuedTransactionService.submit(transaction(1002L, "50.00"));
+        when(transactionService.transferEach(anyList())).thenReturn(List.of(
+                TransferOutcome.applied(),
+                TransferOutcome.failed("Journal unavailable")));
+
+        // When
+        queuedTransactionService.processNextBatch(0, TimeUnit.MILLISECONDS);
+
+        // Then
+        ArgumentCaptor<List<TransactionEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAllAndFlush(captor.capture());
+        assertThat(captor.getValue()).extracting(TransactionEntity::getTransferId).containsExactly(first);
+        assertThat(queuedTransactionService.getTransaction(second).getStatus()).isEqualTo(TransactionStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should apply transfers one at a time and record failures when the batch fails")
+    void shouldFallBackToSingleTransfers() throws InterruptedException {
+        // Given
+        long first = queuedTransactionService.submit(transaction(1001L, "100.00"));
+        long second = queuedTransactionService.submit(transaction(1002L, "5000.00"));
+        when(transactionService.transferEach(anyList())).thenThrow(new IllegalStateException("Deadlock detected"));
+        lenient().doThrow(new InsufficientBalanceException("Insufficient balance in source account: 1002"))
+                .when(transactionService).transferAmount(argThat(transaction -> transaction.getTransferId() == second));
+
+        // When
+        queuedTransactionService.processNextBatch(0, TimeUnit.MILLISECONDS);
+
+        // Then
+        verify(transactionService, times(2)).transferAmount(any());
+        verify(transactionRepository).saveAndFlush(argThat(entity ->
+                entity.getTransferId() == first && entity.getStatus() == TransactionStatus.SUCCESS));
+        verify(transactionRepository).saveAndFlush(argThat(entity ->
+                entity.getTransferId() == second && entity.getStatus() == TransactionStatus.FAILED));
+    }
+
+    @Test
+    @DisplayName("Should record a transfer the engine rejects for its amount as failed")
+    void shouldRecordRejectedAmountAsFailed() throws InterruptedException {
+        // Given
+        long transferId = queuedTransactionService.submit(transaction(1001L, "100.00"));
+        doThrow(new AmountOutOfRangeException("Amount is out of range"))
+                .when(transactionService).transferAmount(any());
+
+        // When
+        queuedTransactionService.processNextBatch(0, TimeUnit.MILLISECONDS);
+
+        // Then
+        verify(transactionService).transferAmount(any());
+        verify(transactionRepository).saveAndFlush(argThat(entity ->
+                entity.getTransferId() == transferId && entity.getStatus() == TransactionStatus.FAILED));
+    }
+
+    @Test
+    @DisplayName("Should treat a duplicate transfer id as already applied")
+    void shouldTreatDuplicateAsApplied() throws InterruptedException {
+        // Given
+        long transferId = queuedTransactionService.submit(transaction(1001L, "100.00"));
+        when(transactionRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate transfer_id"));
+        when(transactionRepository.findStatusByTransferId(transferId)).thenReturn(Optional.of(TransactionStatus.SUCCESS));
+
+        // When
+        queuedTransactionService.processNextBatch(0, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertThat(queuedTransactionService.getTransaction(transferId).getStatus()).isEqualTo(TransactionStatus.SUCCESS);
+    }
+
+    @Test
+    @DisplayName("Should keep a transfer queued when it fails for an unrelated reason")
+    void shouldRetryOnUnexpectedFailure() throws InterruptedException {
+        // Given
+        long transferId = queuedTransactionService.submit(transaction(1001L, "100.00"));
+        doThrow(new IllegalStateException("database unavailable"))
+                .doNothing()
+                .when(transactionService).transferAmount(any());
+
+        // When
+        queuedTransactionService.processNextBatch(0, TimeUnit.MILLISECONDS);
+
+        // Then
+        assertThat(queuedTransactionService.getTransaction(transferId).getStatus()).isEqualTo(TransactionStatus.PENDING);
+        queuedTransactionService.processNextBatch(0, TimeUnit.MILLISECONDS);
+        verify(transactionService, times(2)).transferAmount(any());
+        verify(transactionRepository).saveAndFlush(argThat(entity -> entity.getTransferId() == transferId));
+    }
+
+    @Test
+    @DisplayName("Should resume pending transfers after a restart")
+    void shouldResumePendingTransfersAfterRestart() throws InterruptedException {
+        // Given
+        long transferId = queuedTransactionService.submit(transaction(1001L, "100.00"));
+        queuedTransactionService.stop();
+
+        // When
+        queuedTransactionService = startService();
+
+        // Then
+        assertThat(queuedTransactionService.getTransaction(transferId).getStatus()).isEqualTo(TransactionStatus.PENDING);
+        queuedTransactionService.processNextBatch(0, TimeUnit.MILLISECONDS);
+        verify(transactionService).transferAmount(argThat(transaction -> transaction.getTransferId() == transferId
+                && transaction.getAmount().compareTo(new BigDecimal("100.00")) == 0));
+    }
+
+    @Test
+    @DisplayName("Should neither accept nor apply queued transfers under the sharded engine")
+    void shouldRejectQueuedTransfersUnderShardedEngine() throws InterruptedException {
+        // Given
+        queuedTransactionService.submit(transaction(1001L, "100.00"));
+        queuedTransactionService.stop();
+        transferProperties.setEngine(TransferProperties.Engine.SHARDED);
+
+        // When
+        queuedTransactionService = startService();
+        queuedTransactionService.processNextBatch(0, TimeUnit.MILLISECONDS);
+
+        // Then
+        verify(transactionService, never()).transferAmount(any());
+        assertThatThrownBy(() -> queuedTransactionService.submit(transaction(1001L, "100.00")))
+                .isInstanceOf(AsyncTransferNotSupportedException.class);
+    }
+
+    @Test
+    @DisplayName("Should throw TransactionNotFoundException for an unknown transfer id")
+    void shouldThrowForUnknownTransferId() {
+        // Given
+        when(transactionRepository.findStatusByTransferId(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> queuedTransactionService.getTransaction(99L))
+                .isInstanceOf(TransactionNotFoundException.class)
+                .hasMessage("Transaction not found: 99");
+    }
+
+    private QueuedTransactionService startService() {
+        QueuedTransactionService service = new QueuedTransactionService(transactionService, transactionRepository,
+                new TransactionToTransactionEntityConverter(), transactionManager, transferProperties);
+        service.start();
+        return service;
+    }
+
+    private static Transaction transaction(long sourceAccountId, String amount) {
+        return Transaction.builder()
+                .sourceAccountId(sourceAccountId)
+                .destinationAccountId(2001L)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+}
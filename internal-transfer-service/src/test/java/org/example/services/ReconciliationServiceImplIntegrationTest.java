@@ -0,0 +1,143 @@
+package org.example.services;
+
+import org.example.entities.AccountEntity;
+import org.example.entities.AccountStripeEntity;
+import org.example.entities.TransactionEntity;
+import org.example.entities.TransactionStatus;
+import org.example.models.ReconciliationReport;
+import org.example.repositories.AccountRepository;
+import org.example.repositories.AccountStripeRepository;
+import org.example.repositories.TransactionRepository;
+import org.example.service.ReconciliationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "transfer.reconciliation.range-size=2")
+@ActiveProfiles("test")
+@DisplayName("ReconciliationServiceImpl Integration Tests")
+class ReconciliationServiceImplIntegrationTest {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountStripeRepository accountStripeRepository;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+        account(1L, "90.00", "100.00", false);
+        account(2L, "110.00", "100.00", false);
+        account(3L, "100.00", "100.00", false);
+        account(5L, "0.00", "100.00", true);
+        accountStripeRepository.save(new AccountStripeEntity().setAccountId(5L).setStripeIndex(0).setBalance(new BigDecimal("60.00")));
+        accountStripeRepository.save(new AccountStripeEntity().setAccountId(5L).setStripeIndex(1).setBalance(new BigDecimal("45.00")));
+        transfer(1L, 2L, "10.00", TransactionStatus.SUCCESS);
+        transfer(2L, 1L, "50.00", TransactionStatus.FAILED);
+        transfer(3L, 5L, "5.00", TransactionStatus.SUCCESS);
+        transfer(5L, 3L, "5.00", TransactionStatus.SUCCESS);
+        transfer(3L, 3L, "1.00", TransactionStatus.SUCCESS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        accountStripeRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should find no mismatch in a consistent ledger split across several ranges")
+    void shouldReconcileConsistentLedger() {
+        // Given
+        transfer(3L, 5L, "5.00", TransactionStatus.SUCCESS);
+        accountRepository.findById(3L).ifPresent(account -> accountRepository.save(account.setBalance(new BigDecimal("95.00"))));
+
+        // When
+        ReconciliationReport report = reconciliationService.reconcile();
+
+        // Then
+        assertThat(report.isConsistent()).isTrue();
+        assertThat(report.getAccountsChecked()).isEqualTo(4);
+        assertThat(report.getRanges()).isEqualTo(2);
+        assertThat(report.getTotalBalance()).isEqualByComparingTo("400.00");
+        assertThat(report.getTotalInitialBalance()).isEqualByComparingTo("400.00");
+        assertThat(report.getMismatchCount()).isZero();
+        assertThat(report.getMismatches()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report accounts whose balance does not match their transactions")
+    void shouldReportMismatchedAccounts() {
+        // Given
+        account(4L, "150.00", "100.00", false);
+        transfer(1L, 6L, "20.00", TransactionStatus.SUCCESS);
+
+        // When
+        ReconciliationReport report = reconciliationService.reconcile();
+
+        // Then
+        assertThat(report.isConsistent()).isFalse();
+        assertThat(report.getAccountsChecked()).isEqualTo(5);
+        assertThat(report.getRanges()).isEqualTo(3);
+        assertThat(report.getTotalBalance()).isEqualByComparingTo("555.00");
+        assertThat(report.getTotalInitialBalance()).isEqualByComparingTo("500.00");
+        assertThat(report.getMismatchCount()).isEqualTo(3);
+        assertThat(report.getMismatches())
+                .extracting(ReconciliationReport.Mismatch::getAccountId, ReconciliationReport.Mismatch::getBalance,
+                        ReconciliationReport.Mismatch::getExpectedBalance)
+                .containsExactly(
+                        tuple(1L, new BigDecimal("90.00000"), new BigDecimal("70.00000")),
+                        tuple(4L, new BigDecimal("150.00000"), new BigDecimal("100.00000")),
+                        tuple(5L, new BigDecimal("105.00000"), new BigDecimal("100.00000")));
+    }
+
+    @Test
+    @DisplayName("Should report an empty ledger as consistent")
+    void shouldReconcileEmptyLedger() {
+        // Given
+        tearDown();
+
+        // When
+        ReconciliationReport report = reconciliationService.reconcile();
+
+        // Then
+        assertThat(report.isConsistent()).isTrue();
+        assertThat(report.getAccountsChecked()).isZero();
+        assertThat(report.getRanges()).isZero();
+    }
+
+    private void account(Long accountId, String balance, String initialBalance, boolean hot) {
+        accountRepository.save(new AccountEntity()
+                .setAccountId(accountId)
+                .setBalance(new BigDecimal(balance))
+                .setInitialBalance(new BigDecimal(initialBalance))
+                .setHot(hot));
+    }
+
+    private void transfer(Long sourceAccountId, Long destinationAccountId, String amount, TransactionStatus status) {
+        transactionRepository.save(new TransactionEntity()
+                .setSourceAccountId(sourceAccountId)
+                .setDestinationAccountId(destinationAccountId)
+                .setAmount(new BigDecimal(amount))
+                .setStatus(status)
+                .setTimestamp(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.services;
+
+import org.example.AccountNotFoundException;
+import org.example.entities.AccountEntity;
+import org.example.entities.TransactionEntity;
+import org.example.entities.TransactionStatus;
+import org.example.models.StatementLine;
+import org.example.repositories.AccountRepository;
+import org.example.repositories.TransactionRepository;
+import org.example.service.StatementService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "transfer.statement.fetch-size=2")
+@ActiveProfiles("test")
+@DisplayName("StatementServiceImpl Integration Tests")
+class StatementServiceImplIntegrationTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountRepository.save(new AccountEntity().setAccountId(1L).setBalance(BigDecimal.TEN));
+        accountRepository.save(new AccountEntity().setAccountId(2L).setBalance(BigDecimal.TEN));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should list sent and received transfers oldest first with a running balance")
+    void shouldListTransfersWithRunningBalance() {
+        // Given
+        transfer(2L, 1L, "5.00000", TransactionStatus.SUCCESS, START.plusMinutes(1));
+        transfer(1L, 2L, "2.00000", TransactionStatus.SUCCESS, START.plusMinutes(2));
+        transfer(1L, 2L, "100.00000", TransactionStatus.FAILED, START.plusMinutes(3));
+        transfer(1L, 1L, "1.00000", TransactionStatus.SUCCESS, START.plusMinutes(4));
+        transfer(2L, 2L, "1.00000", TransactionStatus.SUCCESS, START.plusMinutes(5));
+        transfer(2L, 1L, "0.50000", TransactionStatus.SUCCESS, START.plusMinutes(6));
+
+        // When
+        List<StatementLine> lines = read(1L, null, null);
+
+        // Then
+        assertThat(lines)
+                .extracting(StatementLine::sourceAccountId, StatementLine::amount, StatementLine::status, StatementLine::runningBalance)
+                .containsExactly(
+                        tuple(2L, new BigDecimal("5.00000"), TransactionStatus.SUCCESS, new BigDecimal("5.00000")),
+                        tuple(1L, new BigDecimal("2.00000"), TransactionStatus.SUCCESS, new BigDecimal("3.00000")),
+                        tuple(1L, new BigDecimal("100.00000"), TransactionStatus.FAILED, new BigDecimal("3.00000")),
+                        tuple(1L, new BigDecimal("1.00000"), TransactionStatus.SUCCESS, new BigDecimal("3.00000")),
+                        tuple(2L, new BigDecimal("0.50000"), TransactionStatus.SUCCESS, new BigDecimal("3.50000")));
+    }
+
+    @Test
+    @DisplayName("Should only list transfers in the requested time range")
+    void shouldFilterByTimeRange() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            transfer(1L, 2L, "1.00000", TransactionStatus.SUCCESS, START.plusHours(i));
+        }
+
+        // When
+        List<StatementLine> lines = read(2L, START.plusHours(3), START.plusHours(7));
+
+        // Then
+        assertThat(lines).extracting(StatementLine::timestamp)
+                .containsExactly(START.plusHours(3), START.plusHours(4), START.plusHours(5), START.plusHours(6));
+        assertThat(lines.get(lines.size() - 1).runningBalance()).isEqualByComparingTo("4");
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException before reading anything")
+    void shouldThrowForUnknownAccount() {
+        assertThatThrownBy(() -> statementService.getStatement(99L, null, null))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    private List<StatementLine> read(Long accountId, LocalDateTime from, LocalDateTime to) {
+        List<StatementLine> lines = new ArrayList<>();
+        statementService.getStatement(accountId, from, to).forEachLine(lines::add);
+        return lines;
+    }
+
+    private void transfer(Long sourceAccountId, Long destinationAccountId, String amount, TransactionStatus status, LocalDateTime timestamp) {
+        transactionRepository.save(new TransactionEntity()
+                .setSourceAccountId(sourceAccountId)
+                .setDestinationAccountId(destinationAccountId)
+                .setAmount(new BigDecimal(amount))
+                .setStatus(status)
+                .setTimestamp(timestamp));
+    }
+}
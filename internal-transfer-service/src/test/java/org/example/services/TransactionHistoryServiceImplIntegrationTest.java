@@ -0,0 +1,147 @@
+package org.example.services;
+
+import org.example.AccountNotFoundException;
+import org.example.InvalidPageRequestException;
+import org.example.entities.AccountEntity;
+import org.example.entities.TransactionEntity;
+import org.example.entities.TransactionStatus;
+import org.example.models.Transaction;
+import org.example.models.TransactionCursor;
+import org.example.models.TransactionHistoryPage;
+import org.example.repositories.AccountRepository;
+import org.example.repositories.TransactionRepository;
+import org.example.service.TransactionHistoryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("TransactionHistoryServiceImpl Integration Tests")
+class TransactionHistoryServiceImplIntegrationTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private TransactionHistoryService transactionHistoryService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountRepository.save(new AccountEntity().setAccountId(1L).setBalance(BigDecimal.TEN));
+        accountRepository.save(new AccountEntity().setAccountId(2L).setBalance(BigDecimal.TEN));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should page through sent and received transfers newest first without gaps or repeats")
+    void shouldPageThroughHistory() {
+        // Given
+        List<TransactionEntity> saved = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            saved.add(i % 3 == 0 ? transfer(2L, 1L, START.plusMinutes(i)) : transfer(1L, 2L, START.plusMinutes(i)));
+        }
+        // Two transfers sharing a timestamp are told apart by id
+        saved.add(transfer(1L, 2L, START.plusMinutes(10)));
+        saved.add(transfer(1L, 1L, START.plusMinutes(30)));
+        transfer(2L, 2L, START.plusMinutes(5));
+
+        // When
+        List<Transaction> pages = new ArrayList<>();
+        int pageCount = 0;
+        TransactionCursor cursor = null;
+        do {
+            TransactionHistoryPage page = transactionHistoryService.getTransactions(1L, null, null, cursor, 4);
+            assertThat(page.getTransactions()).hasSizeLessThanOrEqualTo(4);
+            pages.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+            pageCount++;
+        } while (cursor != null);
+
+        // Then
+        assertThat(pageCount).isEqualTo(7);
+        assertThat(pages).extracting(Transaction::getId)
+                .containsExactlyElementsOf(saved.stream()
+                        .sorted((a, b) -> a.getTimestamp().equals(b.getTimestamp())
+                                ? b.getId().compareTo(a.getId())
+                                : b.getTimestamp().compareTo(a.getTimestamp()))
+                        .map(TransactionEntity::getId)
+                        .toList());
+    }
+
+    @Test
+    @DisplayName("Should only return transfers in the requested time range")
+    void shouldFilterByTimeRange() {
+        // Given
+        for (int i = 0; i < 10; i++) {
+            transfer(1L, 2L, START.plusHours(i));
+        }
+
+        // When
+        TransactionHistoryPage page = transactionHistoryService.getTransactions(2L, START.plusHours(3), START.plusHours(7), null, 50);
+
+        // Then
+        assertThat(page.getTransactions()).extracting(Transaction::getTimestamp)
+                .containsExactly(START.plusHours(6), START.plusHours(5), START.plusHours(4), START.plusHours(3));
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return an empty page for an account without transfers")
+    void shouldReturnEmptyPageForAccountWithoutTransfers() {
+        // When
+        TransactionHistoryPage page = transactionHistoryService.getTransactions(1L, null, null, null, 10);
+
+        // Then
+        assertThat(page.getTransactions()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException for an unknown account")
+    void shouldThrowForUnknownAccount() {
+        assertThatThrownBy(() -> transactionHistoryService.getTransactions(99L, null, null, null, 10))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a page limit outside 1 to 500")
+    void shouldRejectLimitOutOfRange() {
+        assertThatThrownBy(() -> transactionHistoryService.getTransactions(1L, null, null, null, 0))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> transactionHistoryService.getTransactions(1L, null, null, null, 501))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    private TransactionEntity transfer(Long sourceAccountId, Long destinationAccountId, LocalDateTime timestamp) {
+        return transactionRepository.save(new TransactionEntity()
+                .setSourceAccountId(sourceAccountId)
+                .setDestinationAccountId(destinationAccountId)
+                .setAmount(BigDecimal.ONE)
+                .setStatus(TransactionStatus.SUCCESS)
+                .setTimestamp(timestamp));
+    }
+}
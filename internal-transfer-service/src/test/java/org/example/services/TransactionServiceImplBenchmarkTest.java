@@ -0,0 +1,131 @@
+package org.example.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.TransferProperties;
+import org.example.entities.AccountEntity;
+import org.example.models.Transaction;
+import org.example.repositories.AccountRepository;
+import org.example.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares transfer throughput of the locking modes against the same database.
+ * Skipped unless run with {@code -Dbenchmark=true}, e.g.
+ * {@code mvn -pl internal-transfer-service test -Dtest=TransactionServiceImplBenchmarkTest -Dbenchmark=true}.
+ * Point {@code spring.datasource.*} at PostgreSQL for numbers that mean anything.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("TransactionServiceImpl Benchmark")
+class TransactionServiceImplBenchmarkTest {
+
+    private static final int ACCOUNTS = 100;
+    private static final int THREADS = 8;
+    private static final int WARMUP_TRANSFERS_PER_THREAD = 200;
+    private static final int TRANSFERS_PER_THREAD = 2_000;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        List<AccountEntity> accounts = new ArrayList<>(ACCOUNTS);
+        for (long accountId = 1; accountId <= ACCOUNTS; accountId++) {
+            accounts.add(new AccountEntity().setAccountId(accountId).setBalance(INITIAL_BALANCE));
+        }
+        accountRepository.saveAll(accounts);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ORDERED);
+        accountRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @EnumSource(TransferProperties.LockingMode.class)
+    @DisplayName("Should measure transfer throughput per locking mode")
+    void shouldMeasureTransferThroughput(TransferProperties.LockingMode lockingMode) throws Exception {
+        // Given
+        transferProperties.setLockingMode(lockingMode);
+        runTransfers(WARMUP_TRANSFERS_PER_THREAD);
+
+        // When
+        long started = System.nanoTime();
+        int failures = runTransfers(TRANSFERS_PER_THREAD);
+        long elapsedNanos = System.nanoTime() - started;
+
+        // Then
+        int transfers = THREADS * TRANSFERS_PER_THREAD;
+        log.info("{}: {} transfers in {} ms, {} transfers/s, {} failed", lockingMode, transfers,
+                elapsedNanos / 1_000_000, transfers * 1_000_000_000L / elapsedNanos, failures);
+        BigDecimal total = accountRepository.findAll().stream()
+                .map(AccountEntity::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(total).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)));
+    }
+
+    private int runTransfers(int transfersPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < transfersPerThread; i++) {
+                    long sourceAccountId = random.nextLong(1, ACCOUNTS + 1);
+                    long destinationAccountId = random.nextLong(1, ACCOUNTS + 1);
+                    try {
+                        transactionService.transferAmount(Transaction.builder()
+                                .sourceAccountId(sourceAccountId)
+                                .destinationAccountId(destinationAccountId)
+                                .amount(new BigDecimal("1.00"))
+                                .build());
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        return failures.get();
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.services;
+
+import org.example.config.TransferProperties;
+import org.example.entities.AccountEntity;
+import org.example.models.Transaction;
+import org.example.repositories.AccountRepository;
+import org.example.repositories.AccountStripeRepository;
+import org.example.service.AccountService;
+import org.example.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "transfer.locking-mode=ORDERED")
+@ActiveProfiles("test")
+@DisplayName("TransactionServiceImpl Concurrency Tests")
+class TransactionServiceImplConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 100;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferProperties transferProperties;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountStripeRepository accountStripeRepository;
+
+    @BeforeEach
+    void setUp() {
+        accountStripeRepository.deleteAll();
+        accountRepository.deleteAll();
+        accountRepository.save(new AccountEntity().setAccountId(1001L).setBalance(new BigDecimal("10000.00")));
+        accountRepository.save(new AccountEntity().setAccountId(1002L).setBalance(new BigDecimal("10000.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ORDERED);
+        accountStripeRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should complete opposing transfers on the same account pair without deadlocks")
+    void shouldCompleteOpposingTransfersWithoutDeadlocks() throws Exception {
+        // Given
+        assertThat(transferProperties.getLockingMode()).isEqualTo(TransferProperties.LockingMode.ORDERED);
+
+        // When
+        List<Throwable> failures = runOpposingTransfers();
+
+        // Then
+        assertThat(failures).isEmpty();
+        assertThat(accountRepository.findById(1001L).orElseThrow().getBalance())
+                .isEqualByComparingTo(new BigDecimal("10000.00"));
+        assertThat(accountRepository.findById(1002L).orElseThrow().getBalance())
+                .isEqualByComparingTo(new BigDecimal("10000.00"));
+    }
+
+    @Test
+    @DisplayName("Should complete opposing transfers with conditional updates without deadlocks")
+    void shouldCompleteOpposingTransfersWithConditionalUpdates() throws Exception {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.CONDITIONAL_UPDATE);
+
+        // When
+        List<Throwable> failures = runOpposingTransfers();
+
+        // Then
+        assertThat(failures).isEmpty();
+        assertThat(accountRepository.findById(1001L).orElseThrow().getBalance())
+                .isEqualByComparingTo(new BigDecimal("10000.00"));
+        assertThat(accountRepository.findById(1002L).orElseThrow().getBalance())
+                .isEqualByComparingTo(new BigDecimal("10000.00"));
+    }
+
+    @Test
+    @DisplayName("Should keep the total balance when many transfers hit a hot account concurrently")
+    void shouldKeepTotalBalanceWithHotAccount() throws Exception {
+        // Given
+        accountService.markAccountHot(1001L, 4);
+
+        // When
+        List<Throwable> failures = runOpposingTransfers();
+
+        // Then
+        assertThat(failures).isEmpty();
+        assertThat(accountStripeRepository.countByAccountId(1001L)).isEqualTo(4);
+        assertThat(accountService.getAccountByAccountNumber(1001L).getBalance())
+                .isEqualByComparingTo(new BigDecimal("10000.00"));
+        assertThat(accountRepository.findById(1002L).orElseThrow().getBalance())
+                .isEqualByComparingTo(new BigDecimal("10000.00"));
+    }
+
+    private List<Throwable> runOpposingTransfers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            boolean forward = t % 2 == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    try {
+                        transactionService.transferAmount(Transaction.builder()
+                                .sourceAccountId(forward ? 1001L : 1002L)
+                                .destinationAccountId(forward ? 1002L : 1001L)
+                                .amount(new BigDecimal("1.00"))
+                                .build());
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        return new ArrayList<>(failures);
+    }
+}
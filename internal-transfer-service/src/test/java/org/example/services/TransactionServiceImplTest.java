@@ -1,23 +1,35 @@
 package org.example.services;
 
 import org.example.AccountNotFoundException;
+import org.example.AmountOutOfRangeException;
 import org.example.InsufficientBalanceException;
+import org.example.cache.AccountBalanceCache;
+import org.example.config.TransferProperties;
 import org.example.entities.AccountEntity;
+import org.example.journal.TransactionJournalWriter;
+import org.example.metrics.TransferMetrics;
 import org.example.models.Transaction;
+import org.example.models.TransferOutcome;
+import org.example.money.MinorUnits;
 import org.example.repositories.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -28,6 +40,23 @@ class TransactionServiceImplTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Spy
+    private TransferProperties transferProperties = new TransferProperties();
+
+    @Mock
+    private TransactionJournalWriter transactionJournalWriter;
+
+    @Mock
+    private AccountStripingService accountStripingService;
+
+    @Mock
+    private AccountBalanceCache accountBalanceCache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TransferMetrics transferMetrics = new TransferMetrics(meterRegistry);
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
@@ -37,13 +66,13 @@ class TransactionServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        transferProperties.setLockingMode(TransferProperties.LockingMode.SEQUENTIAL);
+
         sourceAccount = new AccountEntity()
-                .setId(1L)
                 .setAccountId(1001L)
                 .setBalance(new BigDecimal("1000.00"));
 
         destinationAccount = new AccountEntity()
-                .setId(2L)
                 .setAccountId(1002L)
                 .setBalance(new BigDecimal("500.00"));
 
@@ -72,6 +101,7 @@ class TransactionServiceImplTest {
         verify(accountRepository).findByAccountIdForUpdate(1001L);
         verify(accountRepository).findByAccountIdForUpdate(1002L);
         verify(accountRepository, times(2)).save(any(AccountEntity.class));
+        verify(transactionJournalWriter).recordOnCompletion(transaction);
     }
 
     @Test
@@ -260,4 +290,525 @@ class TransactionServiceImplTest {
         verify(accountRepository, times(2)).findByAccountIdForUpdate(1001L);
         verify(accountRepository, times(2)).save(any(AccountEntity.class));
     }
+
+    @Test
+    @DisplayName("Should lock both accounts with a single query in ordered locking mode")
+    void shouldLockBothAccountsWithSingleQueryInOrderedMode() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ORDERED);
+        when(accountRepository.findAllByAccountIdInForUpdate(List.of(1001L, 1002L)))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
+        when(accountRepository.save(any(AccountEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        transactionService.transferAmount(transaction);
+
+        // Then
+        assertThat(sourceAccount.getBalance()).isEqualByComparingTo(new BigDecimal("900.00"));
+        assertThat(destinationAccount.getBalance()).isEqualByComparingTo(new BigDecimal("600.00"));
+
+        verify(accountRepository).findAllByAccountIdInForUpdate(List.of(1001L, 1002L));
+        verify(accountRepository, never()).findByAccountIdForUpdate(any());
+        verify(accountRepository, times(2)).save(any(AccountEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException in ordered locking mode when source account not found")
+    void shouldThrowExceptionInOrderedModeWhenSourceAccountNotFound() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ORDERED);
+        when(accountRepository.findAllByAccountIdInForUpdate(List.of(1001L, 1002L)))
+                .thenReturn(List.of(destinationAccount));
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transferAmount(transaction))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Source account not found: 1001");
+
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException in ordered locking mode when destination account not found")
+    void shouldThrowExceptionInOrderedModeWhenDestinationAccountNotFound() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ORDERED);
+        when(accountRepository.findAllByAccountIdInForUpdate(List.of(1001L, 1002L)))
+                .thenReturn(List.of(sourceAccount));
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transferAmount(transaction))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Destination account not found: 1002");
+
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should handle self-transfer in ordered locking mode")
+    void shouldHandleSelfTransferInOrderedMode() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ORDERED);
+        Transaction selfTransferTransaction = Transaction.builder()
+                .sourceAccountId(1001L)
+                .destinationAccountId(1001L)
+                .amount(new BigDecimal("100.00"))
+                .build();
+
+        when(accountRepository.findAllByAccountIdInForUpdate(List.of(1001L, 1001L)))
+                .thenReturn(List.of(sourceAccount));
+        when(accountRepository.save(any(AccountEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        transactionService.transferAmount(selfTransferTransaction);
+
+        // Then
+        assertThat(sourceAccount.getBalance()).isEqualByComparingTo(new BigDecimal("1000.00"));
+    }
+
+    @Test
+    @DisplayName("Should reject an amount finer than a minor unit before locking")
+    void shouldRejectAmountFinerThanMinorUnit() {
+        // Given
+        Transaction fineTransaction = Transaction.builder()
+                .sourceAccountId(1001L)
+                .destinationAccountId(1002L)
+                .amount(new BigDecimal("0.000001"))
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transferAmount(fineTransaction))
+                .isInstanceOf(AmountOutOfRangeException.class);
+
+        verify(accountRepository, never()).findByAccountIdForUpdate(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a credit that would overflow the destination balance")
+    void shouldRejectCreditThatOverflowsBalance() {
+        // Given
+        destinationAccount.setBalance(MinorUnits.toBigDecimal(Long.MAX_VALUE));
+        when(accountRepository.findByAccountIdForUpdate(1001L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.findByAccountIdForUpdate(1002L)).thenReturn(Optional.of(destinationAccount));
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transferAmount(transaction))
+                .isInstanceOf(AmountOutOfRangeException.class);
+
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should net a batch per account and lock each account once")
+    void shouldNetBatchPerAccount() {
+        // Given
+        AccountEntity thirdAccount = new AccountEntity()
+                .setAccountId(1003L)
+                .setBalance(new BigDecimal("0.00"));
+        List<Transaction> batch = List.of(
+                Transaction.builder().sourceAccountId(1001L).destinationAccountId(1002L).amount(new BigDecimal("300.00")).build(),
+                Transaction.builder().sourceAccountId(1002L).destinationAccountId(1001L).amount(new BigDecimal("100.00")).build(),
+                Transaction.builder().sourceAccountId(1002L).destinationAccountId(1003L).amount(new BigDecimal("50.00")).build());
+
+        when(accountRepository.findAllByAccountIdInForUpdate(any()))
+                .thenReturn(List.of(sourceAccount, destinationAccount, thirdAccount));
+
+        // When
+        transactionService.transferBatch(batch);
+
+        // Then
+        assertThat(sourceAccount.getBalance()).isEqualByComparingTo(new BigDecimal("800.00"));
+        assertThat(destinationAccount.getBalance()).isEqualByComparingTo(new BigDecimal("650.00"));
+        assertThat(thirdAccount.getBalance()).isEqualByComparingTo(new BigDecimal("50.00"));
+
+        verify(accountRepository, times(1)).findAllByAccountIdInForUpdate(any());
+        verify(accountRepository, never()).findByAccountIdForUpdate(any());
+        verify(accountRepository).saveAll(List.of(sourceAccount, destinationAccount, thirdAccount));
+        verify(transactionJournalWriter).recordOnCompletion(batch);
+    }
+
+    @Test
+    @DisplayName("Should skip accounts whose net change in a batch is zero")
+    void shouldSkipAccountsWithZeroNetChange() {
+        // Given
+        List<Transaction> batch = List.of(
+                Transaction.builder().sourceAccountId(1001L).destinationAccountId(1002L).amount(new BigDecimal("100.00")).build(),
+                Transaction.builder().sourceAccountId(1002L).destinationAccountId(1001L).amount(new BigDecimal("100.00")).build());
+
+        when(accountRepository.findAllByAccountIdInForUpdate(any()))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
+
+        // When
+        transactionService.transferBatch(batch);
+
+        // Then
+        assertThat(sourceAccount.getBalance()).isEqualByComparingTo(new BigDecimal("1000.00"));
+        assertThat(destinationAccount.getBalance()).isEqualByComparingTo(new BigDecimal("500.00"));
+
+        verify(accountRepository).saveAll(List.of());
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch when an account would end negative")
+    void shouldRejectBatchWhenNetBalanceIsNegative() {
+        // Given
+        List<Transaction> batch = List.of(
+                Transaction.builder().sourceAccountId(1002L).destinationAccountId(1001L).amount(new BigDecimal("400.00")).build(),
+                Transaction.builder().sourceAccountId(1002L).destinationAccountId(1001L).amount(new BigDecimal("200.00")).build());
+
+        when(accountRepository.findAllByAccountIdInForUpdate(any()))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transferBatch(batch))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessageContaining("Insufficient balance in account: 1002");
+
+        verify(accountRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch when an account does not exist")
+    void shouldRejectBatchWhenAccountNotFound() {
+        // Given
+        List<Transaction> batch = List.of(
+                Transaction.builder().sourceAccountId(1001L).destinationAccountId(1009L).amount(new BigDecimal("10.00")).build());
+
+        when(accountRepository.findAllByAccountIdInForUpdate(any()))
+                .thenReturn(List.of(sourceAccount));
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transferBatch(batch))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Account not found: 1009");
+
+        verify(accountRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch containing a non-positive amount before locking")
+    void shouldRejectBatchWithNonPositiveAmount() {
+        // Given
+        List<Transaction> batch = List.of(
+                Transaction.builder().sourceAccountId(1001L).destinationAccountId(1002L).amount(new BigDecimal("10.00")).build(),
+                Transaction.builder().sourceAccountId(1001L).destinationAccountId(1002L).amount(BigDecimal.ZERO).build());
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transferBatch(batch))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessageContaining("Transfer amount must be greater than zero");
+
+        verify(accountRepository, never()).findAllByAccountIdInForUpdate(any());
+    }
+
+    @Test
+    @DisplayName("Should check each transfer of a group on its own without netting")
+    void shouldCheckEachTransferOnItsOwn() {
+        // Given
+        sourceAccount.setBalance(new BigDecimal("50.00"));
+        destinationAccount.setBalance(BigDecimal.ZERO);
+        List<Transaction> transfers = List.of(
+                Transaction.builder().sourceAccountId(1001L).destinationAccountId(1002L).amount(new BigDecimal("100.00")).build(),
+                Transaction.builder().sourceAccountId(1002L).destinationAccountId(1001L).amount(new BigDecimal("100.00")).build(),
+                Transaction.builder().sourceAccountId(1001L).destinationAccountId(1002L).amount(new BigDecimal("30.00")).build(),
+                Transaction.builder().sourceAccountId(1002L).destinationAccountId(1001L).amount(new BigDecimal("30.00")).build());
+
+        when(accountRepository.findAllByAccountIdInForUpdate(any()))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
+
+        // When
+        List<TransferOutcome> outcomes = transactionService.transferEach(transfers);
+
+        // Then
+        assertThat(outcomes)
+                .extracting(TransferOutcome::isApplied, TransferOutcome::getCode)
+                .containsExactly(
+                        tuple(false, "AC_03"),
+                        tuple(false, "AC_03"),
+                        tuple(true, null),
+                        tuple(true, null));
+        assertThat(sourceAccount.getBalance()).isEqualByComparingTo(new BigDecimal("50.00"));
+        assertThat(destinationAccount.getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+
+        verify(accountRepository, times(1)).findAllByAccountIdInForUpdate(any());
+        verify(transactionJournalWriter).recordOnCompletion(List.of(transfers.get(2), transfers.get(3)));
+        verify(transactionJournalWriter).recordRejected(List.of(transfers.get(0), transfers.get(1)));
+    }
+
+    @Test
+    @DisplayName("Should reject a transfer of a group whose account does not exist and apply the rest")
+    void shouldRejectMissingAccountInGroup() {
+        // Given
+        List<Transaction> transfers = List.of(
+                Transaction.builder().sourceAccountId(1001L).destinationAccountId(1009L).amount(new BigDecimal("10.00")).build(),
+                Transaction.builder().sourceAccountId(1001L).destinationAccountId(1002L).amount(new BigDecimal("10.00")).build());
+
+        when(accountRepository.findAllByAccountIdInForUpdate(any()))
+                .thenReturn(List.of(sourceAccount, destinationAccount));
+
+        // When
+        List<TransferOutcome> outcomes = transactionService.transferEach(transfers);
+
+        // Then
+        assertThat(outcomes)
+                .extracting(TransferOutcome::getCode, TransferOutcome::getMessage)
+                .containsExactly(
+                        tuple("AC_01", "Destination account not found: 1009"),
+                        tuple(null, null));
+        assertThat(sourceAccount.getBalance()).isEqualByComparingTo(new BigDecimal("990.00"));
+        assertThat(destinationAccount.getBalance()).isEqualByComparingTo(new BigDecimal("510.00"));
+    }
+
+    @Test
+    @DisplayName("Should debit the stripes of a hot source account")
+    void shouldDebitStripesOfHotSourceAccount() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ORDERED);
+        when(accountRepository.findAllByAccountIdInForUpdate(List.of(1001L, 1002L)))
+                .thenReturn(List.of(destinationAccount));
+        when(accountStripingService.stripeCount(1001L)).thenReturn(4);
+        when(accountStripingService.debit(1001L, new BigDecimal("100.00"))).thenReturn(true);
+        when(accountRepository.save(any(AccountEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        transactionService.transferAmount(transaction);
+
+        // Then
+        assertThat(destinationAccount.getBalance()).isEqualByComparingTo(new BigDecimal("600.00"));
+        verify(accountStripingService).debit(1001L, new BigDecimal("100.00"));
+        verify(accountRepository).save(destinationAccount);
+    }
+
+    @Test
+    @DisplayName("Should credit a stripe of a hot destination account")
+    void shouldCreditStripeOfHotDestinationAccount() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ORDERED);
+        when(accountRepository.findAllByAccountIdInForUpdate(List.of(1001L, 1002L)))
+                .thenReturn(List.of(sourceAccount));
+        when(accountStripingService.stripeCount(1002L)).thenReturn(4);
+        when(accountRepository.save(any(AccountEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        transactionService.transferAmount(transaction);
+
+        // Then
+        assertThat(sourceAccount.getBalance()).isEqualByComparingTo(new BigDecimal("900.00"));
+        verify(accountStripingService).credit(1002L, 4, new BigDecimal("100.00"));
+        verify(accountRepository).save(sourceAccount);
+    }
+
+    @Test
+    @DisplayName("Should throw InsufficientBalanceException when the stripes of a hot source cannot cover the amount")
+    void shouldThrowExceptionWhenHotSourceStripesAreInsufficient() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ORDERED);
+        when(accountRepository.findAllByAccountIdInForUpdate(List.of(1001L, 1002L)))
+                .thenReturn(List.of(destinationAccount));
+        when(accountStripingService.stripeCount(1001L)).thenReturn(4);
+        when(accountStripingService.debit(1001L, new BigDecimal("100.00"))).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transferAmount(transaction))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessageContaining("Insufficient balance in source account: 1001");
+
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should lock stripes in account id order when both accounts are hot")
+    void shouldLockStripesInAccountIdOrderWhenBothAccountsAreHot() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.ORDERED);
+        Transaction reverseTransaction = Transaction.builder()
+                .sourceAccountId(1002L)
+                .destinationAccountId(1001L)
+                .amount(new BigDecimal("100.00"))
+                .build();
+        when(accountRepository.findAllByAccountIdInForUpdate(List.of(1002L, 1001L))).thenReturn(List.of());
+        when(accountStripingService.stripeCount(1001L)).thenReturn(4);
+        when(accountStripingService.stripeCount(1002L)).thenReturn(8);
+        when(accountStripingService.debit(1002L, new BigDecimal("100.00"))).thenReturn(true);
+
+        // When
+        transactionService.transferAmount(reverseTransaction);
+
+        // Then
+        InOrder inOrder = inOrder(accountStripingService);
+        inOrder.verify(accountStripingService).credit(1001L, 4, new BigDecimal("100.00"));
+        inOrder.verify(accountStripingService).debit(1002L, new BigDecimal("100.00"));
+    }
+
+    @Test
+    @DisplayName("Should apply the net change of a hot account in a batch to its stripes")
+    void shouldApplyNetChangeOfHotAccountInBatchToStripes() {
+        // Given
+        List<Transaction> batch = List.of(
+                Transaction.builder().sourceAccountId(1001L).destinationAccountId(1003L).amount(new BigDecimal("100.00")).build(),
+                Transaction.builder().sourceAccountId(1001L).destinationAccountId(1003L).amount(new BigDecimal("50.00")).build());
+
+        when(accountRepository.findAllByAccountIdInForUpdate(any())).thenReturn(List.of(sourceAccount));
+        when(accountStripingService.stripeCount(1003L)).thenReturn(4);
+
+        // When
+        transactionService.transferBatch(batch);
+
+        // Then
+        assertThat(sourceAccount.getBalance()).isEqualByComparingTo(new BigDecimal("850.00"));
+        verify(accountStripingService).credit(eq(1003L), eq(4), argThat(amount -> amount.compareTo(new BigDecimal("150.00")) == 0));
+        verify(accountRepository).saveAll(List.of(sourceAccount));
+    }
+
+    @Test
+    @DisplayName("Should transfer with two conditional updates without locking reads")
+    void shouldTransferWithConditionalUpdates() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.CONDITIONAL_UPDATE);
+        when(accountRepository.debitIfSufficient(1001L, new BigDecimal("100.00"))).thenReturn(1);
+        when(accountRepository.credit(1002L, new BigDecimal("100.00"))).thenReturn(1);
+
+        // When
+        transactionService.transferAmount(transaction);
+
+        // Then
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).debitIfSufficient(1001L, new BigDecimal("100.00"));
+        inOrder.verify(accountRepository).credit(1002L, new BigDecimal("100.00"));
+        verify(accountRepository, never()).findByAccountIdForUpdate(any());
+        verify(accountRepository, never()).findAllByAccountIdInForUpdate(any());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should credit first when the destination has the lower account id")
+    void shouldCreditFirstWhenDestinationHasLowerAccountId() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.CONDITIONAL_UPDATE);
+        Transaction reverseTransaction = Transaction.builder()
+                .sourceAccountId(1002L)
+                .destinationAccountId(1001L)
+                .amount(new BigDecimal("100.00"))
+                .build();
+        when(accountRepository.credit(1001L, new BigDecimal("100.00"))).thenReturn(1);
+        when(accountRepository.debitIfSufficient(1002L, new BigDecimal("100.00"))).thenReturn(1);
+
+        // When
+        transactionService.transferAmount(reverseTransaction);
+
+        // Then
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).credit(1001L, new BigDecimal("100.00"));
+        inOrder.verify(accountRepository).debitIfSufficient(1002L, new BigDecimal("100.00"));
+    }
+
+    @Test
+    @DisplayName("Should throw InsufficientBalanceException when the conditional debit matches no row")
+    void shouldThrowInsufficientBalanceWhenConditionalDebitFails() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.CONDITIONAL_UPDATE);
+        when(accountRepository.debitIfSufficient(1001L, new BigDecimal("100.00"))).thenReturn(0);
+        when(accountRepository.existsById(1001L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transferAmount(transaction))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessageContaining("Insufficient balance in source account: 1001");
+
+        verify(accountRepository, never()).credit(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException when the conditional debit finds no source account")
+    void shouldThrowAccountNotFoundWhenConditionalDebitFindsNoSource() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.CONDITIONAL_UPDATE);
+        when(accountRepository.debitIfSufficient(1001L, new BigDecimal("100.00"))).thenReturn(0);
+        when(accountRepository.existsById(1001L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transferAmount(transaction))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Source account not found: 1001");
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException when the conditional credit finds no destination account")
+    void shouldThrowAccountNotFoundWhenConditionalCreditFindsNoDestination() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.CONDITIONAL_UPDATE);
+        when(accountRepository.debitIfSufficient(1001L, new BigDecimal("100.00"))).thenReturn(1);
+        when(accountRepository.credit(1002L, new BigDecimal("100.00"))).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> transactionService.transferAmount(transaction))
+                .isInstanceOf(AccountNotFoundException.class)
+                .hasMessageContaining("Destination account not found: 1002");
+    }
+
+    @Test
+    @DisplayName("Should fall back to stripes when a conditional update hits a hot account")
+    void shouldFallBackToStripesForHotAccountWithConditionalUpdates() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.CONDITIONAL_UPDATE);
+        when(accountRepository.debitIfSufficient(1001L, new BigDecimal("100.00"))).thenReturn(1);
+        when(accountRepository.credit(1002L, new BigDecimal("100.00"))).thenReturn(0);
+        when(accountStripingService.stripeCount(1002L)).thenReturn(4);
+
+        // When
+        transactionService.transferAmount(transaction);
+
+        // Then
+        verify(accountStripingService).credit(1002L, 4, new BigDecimal("100.00"));
+    }
+
+    @Test
+    @DisplayName("Should invalidate the cached balances of both accounts after a transfer")
+    void shouldInvalidateCachedBalancesOfBothAccounts() {
+        // Given
+        transferProperties.setLockingMode(TransferProperties.LockingMode.CONDITIONAL_UPDATE);
+        when(accountRepository.debitIfSufficient(1001L, new BigDecimal("100.00"))).thenReturn(1);
+        when(accountRepository.credit(1002L, new BigDecimal("100.00"))).thenReturn(1);
+
+        // When
+        transactionService.transferAmount(transaction);
+
+        // Then
+        verify(accountBalanceCache).invalidateAfterCommit(List.of(1001L, 1002L));
+    }
+
+    @Test
+    @DisplayName("Should time a successful transfer and each lock it takes")
+    void shouldTimeSuccessfulTransferAndLocks() {
+        // Given
+        when(accountRepository.findByAccountIdForUpdate(1001L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.findByAccountIdForUpdate(1002L)).thenReturn(Optional.of(destinationAccount));
+
+        // When
+        transactionService.transferAmount(transaction);
+
+        // Then
+        assertThat(meterRegistry.get("transfer.duration").tag("outcome", "success").tag("locking_mode", "SEQUENTIAL")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("transfer.lock.wait").tag("query", "source").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("transfer.lock.wait").tag("query", "destination").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count a transfer rejected for insufficient balance")
+    void shouldCountInsufficientBalanceOutcome() {
+        // Given
+        sourceAccount.setBalance(new BigDecimal("50.00"));
+        when(accountRepository.findByAccountIdForUpdate(1001L)).thenReturn(Optional.of(sourceAccount));
+        when(accountRepository.findByAccountIdForUpdate(1002L)).thenReturn(Optional.of(destinationAccount));
+
+        // When
+        assertThatThrownBy(() -> transactionService.transferAmount(transaction))
+                .isInstanceOf(InsufficientBalanceException.class);
+
+        // Then
+        assertThat(meterRegistry.get("transfer.duration").tag("outcome", "insufficient_balance").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find("transfer.duration").tag("outcome", "success").timer()).isNull();
+    }
 }